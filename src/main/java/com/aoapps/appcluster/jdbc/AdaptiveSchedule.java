@@ -0,0 +1,113 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.cron.Schedule;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skips the minutes of a synchronize schedule based on the recent synchronizations.  The interval between
+ * synchronizations is halved each time differences are found and doubled each time none are found, staying within the
+ * configured bounds.
+ *
+ * @see  JdbcResource#getAdaptiveMinInterval()
+ * @see  JdbcResource#getAdaptiveMaxInterval()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class AdaptiveSchedule implements Schedule {
+
+  /**
+   * The interval is kept at least this many times the duration of the last synchronization, so no more than a fraction
+   * of the time is spent synchronizing.
+   */
+  private static final int COST_FACTOR = 10;
+
+  private final Schedule schedule;
+  private final int minInterval;
+  private final int maxInterval;
+
+  /**
+   * The current interval, in minutes.
+   */
+  private int interval;
+
+  /**
+   * The time the last synchronization started or {@link Long#MIN_VALUE} before the first synchronization.
+   */
+  private long lastStart = Long.MIN_VALUE;
+
+  /**
+   * @param  schedule     the configured schedule, matched at most once per interval
+   * @param  minInterval  the minimum interval, in minutes
+   * @param  maxInterval  the maximum interval, in minutes
+   */
+  AdaptiveSchedule(Schedule schedule, int minInterval, int maxInterval) {
+    this.schedule = schedule;
+    this.minInterval = minInterval;
+    this.maxInterval = maxInterval;
+    this.interval = minInterval;
+  }
+
+  @Override
+  public synchronized boolean isCronJobScheduled(int minute, int hour, int dayOfMonth, int month, int dayOfWeek, int year) {
+    if (!schedule.isCronJobScheduled(minute, hour, dayOfMonth, month, dayOfWeek, year)) {
+      return false;
+    }
+    if (lastStart == Long.MIN_VALUE) {
+      return true;
+    }
+    // Rounded to the nearest minute, since each run starts a few seconds into its minute
+    long minutes = (System.currentTimeMillis() - lastStart + TimeUnit.SECONDS.toMillis(30)) / TimeUnit.MINUTES.toMillis(1);
+    return minutes >= interval;
+  }
+
+  /**
+   * Gets the current interval, in minutes.
+   */
+  synchronized int getInterval() {
+    return interval;
+  }
+
+  /**
+   * Adapts the interval to the result of a synchronization.
+   *
+   * @param  changes  the number of rows changed on the slave or {@code -1} when the synchronization failed
+   */
+  synchronized void finished(long startTime, long endTime, long changes) {
+    lastStart = startTime;
+    if (changes < 0) {
+      // Retried soon
+      interval = minInterval;
+    } else if (changes > 0) {
+      interval = Math.max(minInterval, interval / 2);
+    } else {
+      interval = (int) Math.min(maxInterval, interval * 2L);
+    }
+    long cost = (endTime - startTime) * COST_FACTOR / TimeUnit.MINUTES.toMillis(1);
+    if (cost > interval) {
+      interval = (int) Math.min(maxInterval, cost);
+    }
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.ExtraRowException;
+import com.aoapps.dbc.NoRowException;
+import com.aoapps.dbc.meta.Column;
+import com.aoapps.dbc.meta.DatabaseMetaData;
+import com.aoapps.dbc.meta.Table;
+import com.aoapps.lang.util.ErrorPrinter;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Captures the primary keys of changed master rows by trigger into a change log, which is replayed by the following
+ * synchronization.  Requires PostgreSQL 9.6 or newer.
+ *
+ * @see  JdbcResource#getCaptureSchema()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class ChangeCapture {
+
+  /** Make no instances. */
+  private ChangeCapture() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The name of the trigger on each capturing table.
+   */
+  private static final String TRIGGER_NAME = "appcluster_capture";
+
+  /**
+   * The setting that disables capture for the current transaction.  This is set while applying changes to the slave,
+   * which still has the triggers from when it was the master.
+   */
+  private static final String DISABLED_SETTING = "appcluster.capture_disabled";
+
+  /**
+   * Gets the statements that create the change log, its consumers, and the trigger function.
+   * The trigger function is called with the names of the primary key columns as its arguments, logging the primary
+   * key of the new row and, when different, of the old row, once for each consumer of the table.
+   */
+  private static String[] getInstallSql(String captureSchema) {
+    String schema = "\"" + captureSchema + "\"";
+    return new String[]{
+        "CREATE SCHEMA IF NOT EXISTS " + schema,
+        "CREATE TABLE IF NOT EXISTS " + schema + ".change_consumer (\n"
+            + "  consumer text NOT NULL,\n"
+            + "  table_name text NOT NULL,\n"
+            + "  PRIMARY KEY (table_name, consumer)\n"
+            + ")",
+        "CREATE TABLE IF NOT EXISTS " + schema + ".change_log (\n"
+            + "  id bigserial PRIMARY KEY,\n"
+            + "  consumer text NOT NULL,\n"
+            + "  table_name text NOT NULL,\n"
+            + "  primary_key text[] NOT NULL\n"
+            + ")",
+        "CREATE INDEX IF NOT EXISTS change_log_consumer_idx ON " + schema + ".change_log (consumer, table_name, id)",
+        "CREATE OR REPLACE FUNCTION " + schema + ".capture_change() RETURNS trigger LANGUAGE plpgsql AS $$\n"
+            + "DECLARE\n"
+            + "  row_json jsonb;\n"
+            + "  new_key text[];\n"
+            + "  old_key text[];\n"
+            + "  i integer;\n"
+            + "BEGIN\n"
+            + "  IF current_setting('" + DISABLED_SETTING + "', true) = 'on' THEN\n"
+            + "    RETURN NULL;\n"
+            + "  END IF;\n"
+            + "  IF TG_OP <> 'DELETE' THEN\n"
+            + "    row_json := to_jsonb(NEW);\n"
+            + "    new_key := '{}';\n"
+            + "    FOR i IN 0 .. TG_NARGS - 1 LOOP\n"
+            + "      new_key := new_key || (row_json ->> TG_ARGV[i]);\n"
+            + "    END LOOP;\n"
+            + "    INSERT INTO " + schema + ".change_log (consumer, table_name, primary_key)\n"
+            + "    SELECT consumer, table_name, new_key FROM " + schema + ".change_consumer WHERE table_name = TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME;\n"
+            + "  END IF;\n"
+            + "  IF TG_OP <> 'INSERT' THEN\n"
+            + "    row_json := to_jsonb(OLD);\n"
+            + "    old_key := '{}';\n"
+            + "    FOR i IN 0 .. TG_NARGS - 1 LOOP\n"
+            + "      old_key := old_key || (row_json ->> TG_ARGV[i]);\n"
+            + "    END LOOP;\n"
+            + "    IF old_key IS DISTINCT FROM new_key THEN\n"
+            + "      INSERT INTO " + schema + ".change_log (consumer, table_name, primary_key)\n"
+            + "      SELECT consumer, table_name, old_key FROM " + schema + ".change_consumer WHERE table_name = TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME;\n"
+            + "    END IF;\n"
+            + "  END IF;\n"
+            + "  RETURN NULL;\n"
+            + "END\n"
+            + "$$"
+    };
+  }
+
+  /**
+   * Installs the change log, trigger function, and trigger as needed, then registers the consumer of the table.
+   * This must be committed before the master is read, so every change is either in the rows read or in the log.
+   *
+   * @param  conn      a writable connection to the master, separate from the connection the master is read from
+   * @param  consumer  identifies the slave, since each slave consumes its own copy of the log
+   *
+   * @return  {@code true} when the trigger has been installed or the consumer registered, so changes have not been
+   *          captured until now and the table must be fully synchronized
+   */
+  static boolean install(Connection conn, String captureSchema, String consumer, String schemaName, String tableName) throws SQLException {
+    conn.setReadOnly(false);
+    conn.setAutoCommit(false);
+    try {
+      boolean installed = false;
+      String currentSql = null;
+      try (Statement stmt = conn.createStatement()) {
+        if (!exists(conn, "SELECT to_regprocedure(?) IS NOT NULL", "\"" + captureSchema + "\".capture_change()")) {
+          for (String sql : getInstallSql(captureSchema)) {
+            stmt.executeUpdate(currentSql = sql);
+          }
+        }
+        if (
+            !exists(
+                conn,
+                "SELECT EXISTS (SELECT * FROM pg_catalog.pg_trigger WHERE tgrelid = to_regclass(?) AND tgname = '" + TRIGGER_NAME + "')",
+                "\"" + schemaName + "\".\"" + tableName + '"'
+            )
+        ) {
+          Table table = new DatabaseMetaData(conn).getCatalog(conn.getCatalog()).getSchema(schemaName).getTable(tableName);
+          StringBuilder sql = new StringBuilder();
+          sql.append("CREATE TRIGGER ").append(TRIGGER_NAME)
+              .append(" AFTER INSERT OR UPDATE OR DELETE ON \"").append(schemaName).append("\".\"").append(tableName)
+              .append("\" FOR EACH ROW EXECUTE PROCEDURE \"").append(captureSchema).append("\".capture_change(");
+          boolean didOne = false;
+          for (Column column : table.getPrimaryKey().getColumns()) {
+            if (didOne) {
+              sql.append(", ");
+            } else {
+              didOne = true;
+            }
+            sql.append('\'').append(column.getName().replace("'", "''")).append('\'');
+          }
+          sql.append(')');
+          stmt.executeUpdate(currentSql = sql.toString());
+          installed = true;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, currentSql);
+        throw e;
+      }
+      try (
+          PreparedStatement pstmt = conn.prepareStatement(
+              "INSERT INTO \"" + captureSchema + "\".change_consumer (consumer, table_name) VALUES (?, ?) ON CONFLICT DO NOTHING"
+          )
+          ) {
+        try {
+          pstmt.setString(1, consumer);
+          pstmt.setString(2, schemaName + '.' + tableName);
+          if (pstmt.executeUpdate() != 0) {
+            installed = true;
+          }
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, pstmt);
+          throw e;
+        }
+      }
+      conn.commit();
+      return installed;
+    } catch (Error | RuntimeException | SQLException e) {
+      conn.rollback();
+      throw e;
+    } finally {
+      conn.setAutoCommit(true);
+    }
+  }
+
+  /**
+   * Performs a query that returns a single boolean, parameterized by a single string.
+   */
+  private static boolean exists(Connection conn, String sql, String param) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      try {
+        pstmt.setString(1, param);
+        try (ResultSet results = pstmt.executeQuery()) {
+          if (!results.next()) {
+            throw new NoRowException();
+          }
+          boolean exists = results.getBoolean(1);
+          if (results.next()) {
+            throw new ExtraRowException(results);
+          }
+          return exists;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Reads the logged changes of a table for a consumer.
+   *
+   * @param  conn  the connection the master is read from, so the log is read from the same snapshot as the rows
+   * @param  ids   the ids of the log entries read are added here, to be {@linkplain #consume(java.sql.Connection, java.lang.String, java.util.List) consumed}
+   *               once applied
+   *
+   * @return  the distinct primary keys
+   */
+  static Collection<List<Object>> read(Connection conn, String captureSchema, String consumer, TablePlan plan, List<Long> ids) throws SQLException {
+    final int[] pkIndexes = plan.getPrimaryKeyIndexes();
+    Set<List<Object>> keys = new LinkedHashSet<>();
+    String sql = "SELECT id, primary_key FROM \"" + captureSchema + "\".change_log WHERE consumer = ? AND table_name = ? ORDER BY id";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      try {
+        pstmt.setString(1, consumer);
+        pstmt.setString(2, plan.getSchema() + '.' + plan.getName());
+        try (ResultSet results = pstmt.executeQuery()) {
+          while (results.next()) {
+            ids.add(results.getLong(1));
+            Array array = results.getArray(2);
+            // An array of text, which some drivers return as Object[]
+            Object[] primaryKey;
+            try {
+              primaryKey = (Object[]) array.getArray();
+            } finally {
+              array.free();
+            }
+            if (primaryKey.length != pkIndexes.length) {
+              throw new SQLException("Primary key of " + plan + " changed since " + TRIGGER_NAME + " was installed, drop the trigger to reinstall");
+            }
+            Object[] key = new Object[pkIndexes.length];
+            for (int i = 0; i < pkIndexes.length; i++) {
+              key[i] = decode(plan.getDataType(pkIndexes[i]), (String) primaryKey[i]);
+            }
+            keys.add(Collections.unmodifiableList(Arrays.asList(key)));
+          }
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Decodes a logged primary key value.  The values are logged through <code>jsonb</code>, which formats timestamps
+   * with a <code>T</code> between the date and time.
+   */
+  private static Object decode(int dataType, String value) throws SQLException {
+    if (dataType == Types.TIMESTAMP) {
+      value = value.replace('T', ' ');
+    }
+    try {
+      return StateFiles.decode(dataType, value);
+    } catch (IllegalArgumentException | UnsupportedOperationException e) {
+      throw new SQLException("Unable to decode logged primary key value: " + value, e);
+    }
+  }
+
+  /**
+   * Disables capture for the current transaction.  This must be repeated after every commit, since the setting is
+   * reset at the end of each transaction.
+   */
+  static void disable(Connection conn) throws SQLException {
+    String sql = "SET LOCAL " + DISABLED_SETTING + " = 'on'";
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate(sql);
+    } catch (Error | RuntimeException | SQLException e) {
+      ErrorPrinter.addSql(e, sql);
+      throw e;
+    }
+  }
+
+  /**
+   * Removes the log entries that have been applied to the slave.  Only the entries actually read are removed, since
+   * entries of transactions still in progress when the log was read may have lower ids.
+   *
+   * @param  conn  a writable connection to the master
+   */
+  static void consume(Connection conn, String captureSchema, List<Long> ids) throws SQLException {
+    conn.setReadOnly(false);
+    conn.setAutoCommit(true);
+    String sql = "DELETE FROM \"" + captureSchema + "\".change_log WHERE id = ANY (?)";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      try {
+        Array array = conn.createArrayOf("int8", ids.toArray());
+        try {
+          pstmt.setArray(1, array);
+          pstmt.executeUpdate();
+        } finally {
+          array.free();
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.meta.Table;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Finds the primary keys of the master rows changed since the previous synchronization, so only those rows are
+ * synchronized instead of comparing the entire table.  For each changed key, the synchronizer looks-up the current
+ * master and slave rows, then deletes, updates, or inserts the slave row as needed, in batches.
+ *
+ * <p>A change source is selected per table by
+ * {@link JdbcTableConfiguration#getChangeSource()}, and a new instance is created for each table by each
+ * synchronization.  The methods are called in order: {@link #prepare(javax.sql.DataSource)} before the master is read,
+ * {@link #readChanges(java.sql.Connection, com.aoapps.dbc.meta.Table, boolean)} from the same connection and
+ * snapshot the rows are read from, then {@link #committed(javax.sql.DataSource)} only once the slave has committed.
+ * When the synchronization fails, the change source must present the same changes again to the next
+ * synchronization.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public interface ChangeSource {
+
+  /**
+   * Always compares the entire table.  This is the default.
+   */
+  String FULL = "full";
+
+  /**
+   * Selects the keys of rows with a {@linkplain JdbcTableConfiguration#getChangeColumn() change column} value at or
+   * after the watermark persisted by the previous run.  Does not find deleted rows.
+   */
+  String WATERMARK = "watermark";
+
+  /**
+   * Replays the keys logged by trigger on the master.
+   *
+   * @see  JdbcResource#getCaptureSchema()
+   */
+  String TRIGGER = "trigger";
+
+  /**
+   * Creates the change source of a table, specified by class name as a change source.
+   * Implementations must have a public no-argument constructor.
+   */
+  @FunctionalInterface
+  interface Factory {
+
+    /**
+     * Creates a new change source for one table of one synchronization.
+     */
+    ChangeSource newChangeSource(JdbcResourceSynchronizer synchronizer, String schema, String name);
+  }
+
+  /**
+   * Prepares to read changes, such as installing any capture on the master.  This is called before the master is read,
+   * so any change made afterwards is either in the rows read or the changes read.
+   *
+   * @param  master  the master data source, for any changes to the master itself
+   *
+   * @return  {@code true} when the table must be fully synchronized, such as when changes have not been tracked until
+   *          now
+   */
+  default boolean prepare(DataSource master) throws SQLException {
+    return false;
+  }
+
+  /**
+   * Reads the changes since the previous synchronization.
+   *
+   * @param  conn             the connection the master rows are read from
+   * @param  fullSynchronize  when {@code true}, the table will be fully synchronized regardless of the return value,
+   *                          so the change source need only find its new position
+   *
+   * @return  the distinct primary keys of changed rows, each with its values in primary key column order,
+   *          or {@code null} to fully synchronize the table
+   */
+  Collection<List<Object>> readChanges(Connection conn, Table table, boolean fullSynchronize) throws SQLException, IOException;
+
+  /**
+   * Called once the changes read have been committed to the slave, to advance past them.
+   *
+   * @param  master  the master data source, for any changes to the master itself
+   */
+  default void committed(DataSource master) throws SQLException, IOException {
+    // Do nothing
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.appcluster.ResourceSynchronizationMode;
+import com.aoapps.lang.i18n.Resources;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Reports the per-row differences found during a single synchronization pass.
+ * Exact counts are always kept, but only a bounded sample of rows per table is formatted into the step output.
+ * When a difference log is configured, every difference is also streamed to the log as it is found.
+ * Every difference is also delivered to any registered {@link JdbcSynchronizationListener}.
+ *
+ * @see  JdbcResource#getDifferenceSampleSize()
+ * @see  JdbcResource#getDifferenceLog()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class DifferenceReporter {
+
+  private static final Logger logger = Logger.getLogger(DifferenceReporter.class.getName());
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, DifferenceReporter.class);
+
+  private final JdbcResourceSynchronizer synchronizer;
+  private final ResourceSynchronizationMode mode;
+  private final List<JdbcSynchronizationListener> listeners;
+  private final Resources messages;
+  private final int sampleSize;
+  private final Handler log;
+  private final String logPrefix;
+
+  /**
+   * Creates a new reporter.
+   *
+   * @param  listeners   the listeners to notify, iterated on every event so must be safe for concurrent modification
+   * @param  messages    the resources used to format each row, where every message accepts the arguments
+   *                     (schema, table, primary key values)
+   * @param  sampleSize  the maximum number of rows formatted into the output per table
+   * @param  log         the optional log that receives every difference, may be {@code null}
+   * @param  logPrefix   the prefix added to every line written to the log
+   */
+  DifferenceReporter(
+      JdbcResourceSynchronizer synchronizer,
+      ResourceSynchronizationMode mode,
+      List<JdbcSynchronizationListener> listeners,
+      Resources messages,
+      int sampleSize,
+      Handler log,
+      String logPrefix
+  ) {
+    this.synchronizer = synchronizer;
+    this.mode = mode;
+    this.listeners = listeners;
+    this.messages = messages;
+    this.sampleSize = sampleSize;
+    this.log = log;
+    this.logPrefix = logPrefix;
+  }
+
+  /**
+   * Starts the report for a single table.
+   *
+   * @param  out  where the sampled rows are written
+   */
+  TableReport forTable(TablePlan plan, StringBuilder out) {
+    return new TableReport(plan, out);
+  }
+
+  /**
+   * The differences reported for one table.
+   */
+  final class TableReport {
+
+    private final TablePlan plan;
+    private final StringBuilder out;
+    private long count;
+
+    private TableReport(TablePlan plan, StringBuilder out) {
+      this.plan = plan;
+      this.out = out;
+    }
+
+    /**
+     * Reports one row.  The message is only formatted when it is within the sample or a log is configured.
+     */
+    private void report(String messageKey, JdbcResourceSynchronizer.Row row) {
+      boolean sampled = count < sampleSize;
+      count++;
+      if (sampled || log != null) {
+        String message = messages.getMessage(messageKey, plan.getSchema(), plan.getName(), row.getPrimaryKeyValues());
+        if (sampled) {
+          out.append(message).append('\n');
+        }
+        if (log != null) {
+          log.publish(new LogRecord(Level.INFO, logPrefix + message));
+        }
+      }
+    }
+
+    /**
+     * Logs a listener failure without interrupting the synchronization.
+     */
+    private void listenerFailed(JdbcSynchronizationListener listener, RuntimeException e) {
+      logger.log(Level.WARNING, "Listener failed: " + listener, e);
+    }
+
+    /**
+     * Notifies listeners the scan of this table has begun.
+     */
+    void started() {
+      for (JdbcSynchronizationListener listener : listeners) {
+        try {
+          listener.tableStarted(synchronizer, mode, plan.getSchema(), plan.getName());
+        } catch (RuntimeException e) {
+          listenerFailed(listener, e);
+        }
+      }
+    }
+
+    /**
+     * Reports a row that exists on both the master and slave, but with differing values.
+     */
+    void modified(String messageKey, JdbcResourceSynchronizer.Row row) {
+      report(messageKey, row);
+      if (!listeners.isEmpty()) {
+        List<Object> primaryKey = row.getPrimaryKey();
+        for (JdbcSynchronizationListener listener : listeners) {
+          try {
+            listener.rowModified(synchronizer, mode, plan.getSchema(), plan.getName(), primaryKey);
+          } catch (RuntimeException e) {
+            listenerFailed(listener, e);
+          }
+        }
+      }
+    }
+
+    /**
+     * Reports a row that exists on the master, but is missing from the slave.
+     */
+    void missing(String messageKey, JdbcResourceSynchronizer.Row row) {
+      report(messageKey, row);
+      if (!listeners.isEmpty()) {
+        List<Object> primaryKey = row.getPrimaryKey();
+        for (JdbcSynchronizationListener listener : listeners) {
+          try {
+            listener.rowMissing(synchronizer, mode, plan.getSchema(), plan.getName(), primaryKey);
+          } catch (RuntimeException e) {
+            listenerFailed(listener, e);
+          }
+        }
+      }
+    }
+
+    /**
+     * Reports a row that exists on the slave, but not on the master.
+     */
+    void extra(String messageKey, JdbcResourceSynchronizer.Row row) {
+      report(messageKey, row);
+      if (!listeners.isEmpty()) {
+        List<Object> primaryKey = row.getPrimaryKey();
+        for (JdbcSynchronizationListener listener : listeners) {
+          try {
+            listener.rowExtra(synchronizer, mode, plan.getSchema(), plan.getName(), primaryKey);
+          } catch (RuntimeException e) {
+            listenerFailed(listener, e);
+          }
+        }
+      }
+    }
+
+    /**
+     * Notifies listeners a batch of changes has been applied to the slave.
+     */
+    void batchApplied(JdbcSynchronizationListener.BatchType type, int rows) {
+      for (JdbcSynchronizationListener listener : listeners) {
+        try {
+          listener.batchApplied(synchronizer, plan.getSchema(), plan.getName(), type, rows);
+        } catch (RuntimeException e) {
+          listenerFailed(listener, e);
+        }
+      }
+    }
+
+    /**
+     * Gets the total number of rows reported, including those not in the sample.
+     */
+    long getCount() {
+      return count;
+    }
+
+    /**
+     * Finishes the report, noting how many rows were not included in the sample, and notifies listeners the scan of
+     * this table has completed.
+     */
+    void finish(long matches, long modified, long missing, long extra) {
+      if (count > sampleSize) {
+        out.append(RESOURCES.getMessage("omitted", plan.getSchema(), plan.getName(), count - sampleSize)).append('\n');
+      }
+      if (log != null) {
+        log.flush();
+      }
+      for (JdbcSynchronizationListener listener : listeners) {
+        try {
+          listener.tableFinished(synchronizer, mode, plan.getSchema(), plan.getName(), matches, modified, missing, extra);
+        } catch (RuntimeException e) {
+          listenerFailed(listener, e);
+        }
+      }
+    }
+  }
+}
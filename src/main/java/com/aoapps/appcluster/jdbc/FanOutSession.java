@@ -0,0 +1,111 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.appcluster.ResourceSynchronizationResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gathers the synchronizers of a resource that start at about the same time, so the first, the leader, may synchronize
+ * every slave from a single scan of the master.  The others, the followers, wait for their results from the leader.
+ *
+ * @see  JdbcResource#getFanOutWait()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class FanOutSession {
+
+  private final JdbcResourceSynchronizer leader;
+  private final List<JdbcResourceSynchronizer> participants = new ArrayList<>();
+  private boolean open = true;
+  private Map<JdbcResourceSynchronizer, ResourceSynchronizationResult> results;
+
+  FanOutSession(JdbcResourceSynchronizer leader) {
+    this.leader = leader;
+    participants.add(leader);
+  }
+
+  JdbcResourceSynchronizer getLeader() {
+    return leader;
+  }
+
+  /**
+   * Joins this session as a follower.
+   *
+   * @return  {@code true} when joined or {@code false} when the leader has already started
+   */
+  synchronized boolean join(JdbcResourceSynchronizer follower) {
+    if (!open) {
+      return false;
+    }
+    participants.add(follower);
+    notifyAll();
+    return true;
+  }
+
+  /**
+   * Waits for the followers to join, then closes this session to any more followers.
+   *
+   * @param  wait      the maximum milliseconds to wait
+   * @param  expected  the number of participants, including the leader, that ends the wait early
+   *
+   * @return  the participants, starting with the leader
+   */
+  synchronized List<JdbcResourceSynchronizer> close(long wait, int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + wait;
+    while (participants.size() < expected) {
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0) {
+        break;
+      }
+      wait(remaining);
+    }
+    open = false;
+    return new ArrayList<>(participants);
+  }
+
+  /**
+   * Provides the results to the followers.
+   */
+  synchronized void complete(Map<JdbcResourceSynchronizer, ResourceSynchronizationResult> results) {
+    open = false;
+    this.results = Collections.unmodifiableMap(results);
+    notifyAll();
+  }
+
+  /**
+   * Waits for the leader to complete.
+   *
+   * @return  the result or {@code null} when the leader failed to produce a result for this follower
+   */
+  synchronized ResourceSynchronizationResult awaitResult(JdbcResourceSynchronizer follower) throws InterruptedException {
+    while (results == null) {
+      wait();
+    }
+    return results.get(follower);
+  }
+}
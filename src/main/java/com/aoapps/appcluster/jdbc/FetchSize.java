@@ -0,0 +1,202 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.DatabaseConnection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the fetch size of the scans of one table.  The fetch size starts from the estimated row width and is
+ * adjusted during each scan from the bytes per row and time per fetch observed, staying within the memory budget.
+ * The observed row width is kept for the next scan of the table.
+ *
+ * @see  JdbcResource#getFetchBudget()
+ * @see  JdbcTableConfiguration#getFetchSize()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class FetchSize {
+
+  /**
+   * The smallest fetch size chosen.
+   */
+  private static final int MIN_FETCH_SIZE = 10;
+
+  /**
+   * The largest fetch size chosen, even for the narrowest of rows.
+   */
+  private static final int MAX_FETCH_SIZE = 100000;
+
+  /**
+   * Fetches faster than this are dominated by round trips, so the fetch size is grown.
+   */
+  private static final long FAST_FETCH_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final Integer fixed;
+  private final int budget;
+
+  /**
+   * The average bytes per row observed, or {@code 0} when not yet observed.
+   */
+  private volatile double rowWidth;
+
+  /**
+   * @param  fixed   the fixed fetch size of the table or {@code null} when chosen
+   * @param  budget  the memory budget of each scan, in bytes, or {@code 0} to use
+   *                 {@link DatabaseConnection#FETCH_SIZE}
+   */
+  FetchSize(Integer fixed, int budget) {
+    this.fixed = fixed;
+    this.budget = budget;
+  }
+
+  private boolean isAdaptive() {
+    return fixed == null && budget != 0;
+  }
+
+  /**
+   * Gets the number of rows of the given width that fit within the budget.
+   */
+  private int getBudgetRows(double width) {
+    return (int) Math.max(MIN_FETCH_SIZE, Math.min(MAX_FETCH_SIZE, budget / Math.max(1, width)));
+  }
+
+  /**
+   * Gets the fetch size to start a scan with.
+   */
+  int getInitial(TablePlan plan) {
+    if (fixed != null) {
+      return fixed;
+    }
+    if (budget == 0) {
+      return DatabaseConnection.FETCH_SIZE;
+    }
+    double width = rowWidth;
+    if (width == 0) {
+      // The estimate may be far too small, so never start larger than the default
+      return Math.min(DatabaseConnection.FETCH_SIZE, getBudgetRows(plan.getEstimatedRowWidth()));
+    }
+    return getBudgetRows(width);
+  }
+
+  /**
+   * Uses the statistics of a previous run as the observed row width, until a scan has been observed.
+   */
+  void seed(long rows, long bytes) {
+    if (rowWidth == 0 && rows > 0 && bytes > 0) {
+      rowWidth = (double) bytes / rows;
+    }
+  }
+
+  /**
+   * Starts tracking a scan.
+   *
+   * @param  results  the results, with the fetch size of {@link #getInitial(com.aoapps.appcluster.jdbc.TablePlan)}
+   *
+   * @return  the tracker or {@code null} when the fetch size is not adjusted
+   */
+  Tracker track(ResultSet results) throws SQLException {
+    return isAdaptive() ? new Tracker(results) : null;
+  }
+
+  /**
+   * Adjusts the fetch size of one scan.  Only the calls to {@link ResultSet#next()} that fetch the next batch of rows
+   * are timed, so the time spent processing the rows, or throttled between them, is not mistaken for the fetch.
+   */
+  final class Tracker {
+
+    private final ResultSet results;
+
+    /**
+     * The fetch size of the next batch.
+     */
+    private int size;
+
+    /**
+     * The fetch size of the current batch, which was fetched before any change to {@link #size}.
+     */
+    private int batchSize;
+    private int batchRows;
+    private long rows;
+    private long bytes;
+
+    private Tracker(ResultSet results) throws SQLException {
+      this.results = results;
+      this.size = Math.max(1, results.getFetchSize());
+      this.batchSize = size;
+    }
+
+    /**
+     * Moves to the next row, timing the call when it crosses into the next batch, then adjusting the fetch size.
+     *
+     * @see  ResultSet#next()
+     */
+    boolean next() throws SQLException {
+      if (batchRows < batchSize) {
+        if (!results.next()) {
+          return false;
+        }
+        batchRows++;
+        return true;
+      }
+      long fetchStart = System.nanoTime();
+      if (!results.next()) {
+        return false;
+      }
+      long fetchNanos = System.nanoTime() - fetchStart;
+      batchSize = size;
+      batchRows = 1;
+      if (rows > 0) {
+        double width = (double) bytes / rows;
+        rowWidth = width;
+        int budgetRows = getBudgetRows(width);
+        int newSize;
+        if (size > budgetRows) {
+          newSize = budgetRows;
+        } else if (fetchNanos < FAST_FETCH_NANOS) {
+          newSize = (int) Math.min(budgetRows, size * 2L);
+        } else {
+          newSize = size;
+        }
+        if (newSize != size) {
+          results.setFetchSize(newSize);
+          size = newSize;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Called for each row read, to observe the row width.
+     *
+     * @param  rowBytes  the approximate size of the row
+     */
+    void read(long rowBytes) {
+      rows++;
+      bytes += rowBytes;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * The dialect of the H2 database, used for embedded databases.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class H2Dialect extends JdbcDialect {
+
+  /**
+   * The product name reported by the H2 driver.
+   */
+  static final String PRODUCT_NAME = "H2";
+
+  /**
+   * Character columns are converted to UTF-8 binary for ordering, which H2 compares unsigned.
+   */
+  private static boolean isConverted(int dataType) {
+    return dataType == Types.CHAR || dataType == Types.VARCHAR;
+  }
+
+  /**
+   * Converts a column to text, with binary columns in hexadecimal.
+   */
+  private static String toText(String column, boolean binary) {
+    return binary ? "RAWTOHEX(" + column + ")" : "CAST(" + column + " AS VARCHAR)";
+  }
+
+  @Override
+  public String getOrderExpression(String column, int dataType) {
+    return isConverted(dataType) ? "STRINGTOUTF8(" + column + ")" : column;
+  }
+
+  @Override
+  public String getOrderParameter(int dataType) {
+    return isConverted(dataType) ? "STRINGTOUTF8(?)" : "?";
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Text is hashed from its UTF-8 encoding, so the hexadecimal digests match those of PostgreSQL.
+   * {@link HashFunction#HASHTEXTEXTENDED} is the first eight bytes of the SHA-256 digest.</p>
+   */
+  @Override
+  public String hash(HashFunction function, String column, boolean binary) {
+    String value = binary ? column : toText(column, false);
+    switch (function) {
+      case MD5:
+        return "LOWER(RAWTOHEX(HASH('MD5', " + value + ")))";
+      case SHA256:
+        return "LOWER(RAWTOHEX(HASH('SHA-256', " + value + ")))";
+      case HASHTEXTEXTENDED:
+        return "CAST(SUBSTRING(HASH('SHA-256', " + value + ") FROM 1 FOR 8) AS BIGINT)";
+      default:
+        throw new AssertionError("Unexpected hash function: " + function);
+    }
+  }
+
+  /**
+   * Hashes the text of each column prefixed by its length, with a marker for nulls, so the combined values remain
+   * distinct.
+   */
+  @Override
+  public String hashCombined(HashFunction function, List<String> columns, boolean[] binary) {
+    StringBuilder combined = new StringBuilder();
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        combined.append(" || ");
+      }
+      String column = columns.get(i);
+      String text = toText(column, binary[i]);
+      combined.append("CASE WHEN ").append(column).append(" IS NULL THEN '-' ELSE CHAR_LENGTH(").append(text)
+          .append(") || ':' || ").append(text).append(" END");
+    }
+    return hash(function, combined.toString(), false);
+  }
+
+  /**
+   * H2 has no <code>TABLESAMPLE</code>, so the rows are sampled at random while scanning the table.
+   */
+  @Override
+  public String sampleTable(String from) {
+    return "(SELECT * FROM " + from + " WHERE RAND() * 100 < ?) AS sampled";
+  }
+
+  /**
+   * H2 has no deferrable constraints.
+   */
+  @Override
+  public boolean supportsDeferredConstraints() {
+    return false;
+  }
+
+  /**
+   * H2 has no deferrable constraints.
+   *
+   * @throws  UnsupportedOperationException  always
+   */
+  @Override
+  public String getDeferConstraintsSql() {
+    throw new UnsupportedOperationException("Deferrable constraints are not supported by H2");
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+/**
+ * The server-side functions used to compare hashed columns without retrieving their values.
+ * Each {@link JdbcDialect} builds the expression of each function for its database.
+ *
+ * @author  AO Industries, Inc.
+ *
+ * @see  JdbcResource#getHashFunction()
+ * @see  JdbcDialect#hash(com.aoapps.appcluster.jdbc.HashFunction, java.lang.String, boolean)
+ */
+public enum HashFunction {
+
+  /**
+   * The <code>md5</code> digest, as 32 hexadecimal digits.
+   */
+  MD5(32),
+
+  /**
+   * The <code>sha256</code> digest, as 64 hexadecimal digits.
+   */
+  SHA256(64),
+
+  /**
+   * A 64-bit hash, such as the PostgreSQL <code>hashtextextended</code>, which is much faster to compute but is only
+   * suitable for change detection.
+   */
+  HASHTEXTEXTENDED(Long.BYTES);
+
+  private final int width;
+
+  private HashFunction(int width) {
+    this.width = width;
+  }
+
+  /**
+   * Gets the width of each hash, as measured by {@link JdbcResourceSynchronizer.Row#getSize()}.
+   */
+  int getWidth() {
+    return width;
+  }
+}
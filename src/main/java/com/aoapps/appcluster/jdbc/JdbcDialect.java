@@ -0,0 +1,224 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The SQL that differs between databases.  The dialect is detected from the driver meta data of the master, or may be
+ * configured by class name for databases not detected.
+ *
+ * <p>The defaults follow standard SQL, so a dialect only overrides what its database does differently or faster.</p>
+ *
+ * @author  AO Industries, Inc.
+ *
+ * @see  JdbcResource#getDialect()
+ */
+public abstract class JdbcDialect {
+
+  /**
+   * Detects the dialect of a database from the driver meta data.
+   *
+   * @throws  SQLException  when the database has no known dialect
+   */
+  static JdbcDialect detect(Connection conn) throws SQLException {
+    String productName = conn.getMetaData().getDatabaseProductName();
+    if (PostgreSqlDialect.PRODUCT_NAME.equals(productName)) {
+      return new PostgreSqlDialect();
+    }
+    if (H2Dialect.PRODUCT_NAME.equals(productName)) {
+      return new H2Dialect();
+    }
+    throw new SQLException("No dialect for database, please configure the dialect class: " + productName);
+  }
+
+  /**
+   * Creates a new {@link JdbcDialect}.  Configured dialects must have a public no-argument constructor.
+   */
+  protected JdbcDialect() {
+    // Nothing to initialize
+  }
+
+  /**
+   * Quotes an identifier.
+   */
+  public String quoteIdentifier(String identifier) {
+    return '"' + identifier.replace("\"", "\"\"") + '"';
+  }
+
+  /**
+   * Gets the quoted name of a table.
+   */
+  public String getTableName(String schema, String table) {
+    return quoteIdentifier(schema) + '.' + quoteIdentifier(table);
+  }
+
+  /**
+   * Gets the expression used to order by a primary key column.  The ordering must be the same on all nodes, so should
+   * not depend on the collation settings of the database.
+   *
+   * @param  column    the quoted column name
+   * @param  dataType  the {@link java.sql.Types} of the column
+   *
+   * @see  #getOrderParameter(int)
+   */
+  public String getOrderExpression(String column, int dataType) {
+    return column;
+  }
+
+  /**
+   * Gets the parameter compared to {@link #getOrderExpression(java.lang.String, int)}.
+   *
+   * @param  dataType  the {@link java.sql.Types} of the column
+   */
+  public String getOrderParameter(int dataType) {
+    return "?";
+  }
+
+  /**
+   * Builds the expression that hashes a single column.
+   *
+   * @param  column  the quoted column name
+   * @param  binary  when {@code true}, the column is binary data, otherwise it is converted to text
+   */
+  public abstract String hash(HashFunction function, String column, boolean binary);
+
+  /**
+   * Builds the expression that hashes the combined values of several columns.  Values must remain distinct when
+   * combined, including nulls.
+   *
+   * @param  columns  the quoted column names
+   * @param  binary   for each column, when {@code true} the column is binary data, otherwise it is converted to text
+   */
+  public abstract String hashCombined(HashFunction function, List<String> columns, boolean[] binary);
+
+  /**
+   * Limits a query to a maximum number of rows, parameterized by the maximum number of rows after the parameters of
+   * the query.
+   */
+  public String limit(String sql) {
+    return sql + " FETCH FIRST ? ROWS ONLY";
+  }
+
+  /**
+   * Gets the <code>FROM</code> item that samples a percentage of the rows of a table, parameterized by the percentage.
+   * The default uses <code>TABLESAMPLE SYSTEM</code>, which reads only the sampled pages instead of scanning the
+   * table.
+   *
+   * @param  from  the quoted name of the table
+   */
+  public String sampleTable(String from) {
+    return from + " TABLESAMPLE SYSTEM (?)";
+  }
+
+  /**
+   * Builds the statement that deletes several rows by primary key at once, parameterized by the primary key of each
+   * row in turn.  The default compares the primary key to a list of row values, so each statement replaces a batch of
+   * single-row deletes.
+   *
+   * @param  from       the quoted name of the table
+   * @param  pkColumns  the quoted names of the primary key columns
+   * @param  rows       the number of rows
+   */
+  public String deleteRows(String from, List<String> pkColumns, int rows) {
+    StringBuilder key = new StringBuilder();
+    StringBuilder params = new StringBuilder();
+    for (int i = 0; i < pkColumns.size(); i++) {
+      if (i > 0) {
+        key.append(", ");
+        params.append(", ");
+      }
+      key.append(pkColumns.get(i));
+      params.append('?');
+    }
+    boolean rowValues = pkColumns.size() > 1;
+    StringBuilder sql = new StringBuilder();
+    sql.append("DELETE FROM ").append(from).append(" WHERE ");
+    if (rowValues) {
+      sql.append('(').append(key).append(')');
+    } else {
+      sql.append(key);
+    }
+    sql.append(" IN (");
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      if (rowValues) {
+        sql.append('(').append(params).append(')');
+      } else {
+        sql.append(params);
+      }
+    }
+    sql.append(')');
+    return sql.toString();
+  }
+
+  /**
+   * Checks if the database can defer the checking of constraints until commit.
+   *
+   * @see  #getDeferConstraintsSql()
+   * @see  JdbcResource#getDeferConstraints()
+   */
+  public boolean supportsDeferredConstraints() {
+    return true;
+  }
+
+  /**
+   * Gets the statement that defers the checking of all deferrable constraints until commit.  Only used when
+   * {@linkplain #supportsDeferredConstraints() supported}.
+   */
+  public String getDeferConstraintsSql() {
+    return "SET CONSTRAINTS ALL DEFERRED";
+  }
+
+  /**
+   * Gets the query of the current position in the write-ahead log of a primary, as a single value that is later
+   * passed to the {@linkplain #getReplayedSql() replayed query} of its read replica.
+   *
+   * @return  the query or {@code null} when the position cannot be queried
+   */
+  public String getLogPositionSql() {
+    return null;
+  }
+
+  /**
+   * Gets the query of whether a read replica has replayed its primary up to the position given as its only parameter,
+   * as a single boolean value that is {@code null} when not a replica.
+   *
+   * @return  the query or {@code null} when the replay of a replica cannot be checked
+   *
+   * @see  #getLogPositionSql()
+   */
+  public String getReplayedSql() {
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getName();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.appcluster.AppClusterConfigurationException;
+import com.aoapps.appcluster.AppClusterPropertiesConfiguration;
+import com.aoapps.cron.MatcherSchedule;
+import com.aoapps.cron.Schedule;
+import com.aoapps.lang.Strings;
+
+/**
+ * Parses the optional values of a properties configuration.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class JdbcProperties {
+
+  /** Make no instances. */
+  private JdbcProperties() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Gets an optional string property.
+   *
+   * @return  the trimmed value or {@code null} when not set
+   */
+  static String getString(AppClusterPropertiesConfiguration properties, String propertyName) throws AppClusterConfigurationException {
+    return Strings.trimNullIfEmpty(properties.getString(propertyName, false));
+  }
+
+  /**
+   * Gets an optional boolean property, which must be either <code>true</code> or <code>false</code>.
+   *
+   * @param  defaultValue  the value used when the property is not set
+   */
+  static boolean getBoolean(AppClusterPropertiesConfiguration properties, String propertyName, boolean defaultValue) throws AppClusterConfigurationException {
+    String value = getString(properties, propertyName);
+    if (value == null) {
+      return defaultValue;
+    }
+    if ("true".equals(value)) {
+      return true;
+    }
+    if ("false".equals(value)) {
+      return false;
+    }
+    throw new AppClusterConfigurationException("Invalid boolean for " + propertyName + ": " + value);
+  }
+
+  /**
+   * Gets an optional integer property.
+   *
+   * @param  defaultValue  the value used when the property is not set, may be {@code null}
+   * @param  minValue      the minimum allowed value
+   */
+  static Integer getInteger(AppClusterPropertiesConfiguration properties, String propertyName, Integer defaultValue, int minValue) throws AppClusterConfigurationException {
+    String value = getString(properties, propertyName);
+    if (value == null) {
+      return defaultValue;
+    }
+    int intValue;
+    try {
+      intValue = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new AppClusterConfigurationException("Invalid integer for " + propertyName + ": " + value, e);
+    }
+    if (intValue < minValue) {
+      throw new AppClusterConfigurationException("Value too small for " + propertyName + ": " + intValue + " < " + minValue);
+    }
+    return intValue;
+  }
+
+  /**
+   * Gets an optional floating-point property.
+   *
+   * @param  defaultValue  the value used when the property is not set, may be {@code null}
+   * @param  minValue      the minimum allowed value
+   * @param  maxValue      the maximum allowed value
+   */
+  static Double getDouble(AppClusterPropertiesConfiguration properties, String propertyName, Double defaultValue, double minValue, double maxValue) throws AppClusterConfigurationException {
+    String value = getString(properties, propertyName);
+    if (value == null) {
+      return defaultValue;
+    }
+    double doubleValue;
+    try {
+      doubleValue = Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      throw new AppClusterConfigurationException("Invalid number for " + propertyName + ": " + value, e);
+    }
+    if (!(doubleValue >= minValue && doubleValue <= maxValue)) {
+      throw new AppClusterConfigurationException("Value out of range for " + propertyName + ": " + doubleValue + " not in [" + minValue + ", " + maxValue + "]");
+    }
+    return doubleValue;
+  }
+
+  /**
+   * Gets an optional schedule property.
+   *
+   * @return  the schedule or {@code null} when not set
+   *
+   * @see  MatcherSchedule#parseSchedule(java.lang.String)
+   */
+  static Schedule getSchedule(AppClusterPropertiesConfiguration properties, String propertyName) throws AppClusterConfigurationException {
+    String value = getString(properties, propertyName);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return MatcherSchedule.parseSchedule(value);
+    } catch (IllegalArgumentException e) {
+      throw new AppClusterConfigurationException("Invalid schedule for " + propertyName + ": " + value, e);
+    }
+  }
+}
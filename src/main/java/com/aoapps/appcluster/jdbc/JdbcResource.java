@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2016, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2016, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,9 +29,28 @@ import com.aoapps.appcluster.CronResource;
 import com.aoapps.appcluster.ResourceConfiguration;
 import com.aoapps.appcluster.ResourceNode;
 import com.aoapps.collections.AoCollections;
+import com.aoapps.cron.Schedule;
+import com.aoapps.dbc.meta.Table;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
 
 /**
  * Resources are synchronized through JDBC.
@@ -43,8 +62,91 @@ public class JdbcResource extends CronResource<JdbcResource, JdbcResourceNode> {
   private final Set<String> schemas;
   private final Set<String> tableTypes;
   private final Set<String> excludeTables;
+  private final Set<String> excludeColumns;
+
+  /**
+   * The names of the excluded columns, keyed by schema.name.
+   */
+  private final Map<String, Set<String>> excludeColumnsByTable;
+
   private final Set<String> noWarnTables;
   private final Map<String, String> prepareSlaves;
+  private final int differenceSampleSize;
+  private final String differenceLog;
+  private final int differenceLogLimit;
+  private final int differenceLogCount;
+  private final int testMaxDifferences;
+  private final double testMaxDifferencePercent;
+  private final Schedule sampleSchedule;
+  private final double samplePercent;
+  private final int sampleRows;
+  private final String stateDirectory;
+  private final Schedule rollingSchedule;
+  private final int rollingDuration;
+  private final int chunkSize;
+  private final Schedule fullSynchronizeSchedule;
+  private final String captureSchema;
+  private final boolean deferConstraints;
+  private final boolean partialCommit;
+  private final boolean resumable;
+  private final int resumableMaxAge;
+  private final int fanOutWait;
+  private final int maxRowsPerSecond;
+  private final int maxBytesPerSecond;
+  private final int maxConcurrentScans;
+  private final String throttleProbe;
+  private final Double throttleProbeThreshold;
+  private final int throttleProbeInterval;
+  private final int throttleProbeMaxPause;
+  private final int adaptiveMinInterval;
+  private final int adaptiveMaxInterval;
+  private final String statsDirectory;
+  private final int fetchBudget;
+  private final Set<String> hashTypes;
+  private final int hashTextSize;
+  private final HashFunction hashFunction;
+  private final boolean combineHashes;
+
+  /**
+   * The configured dialect, or the dialect detected on the first connection to a master.
+   */
+  private volatile JdbcDialect dialect;
+
+  private final Map<String, JdbcTableConfiguration> tableConfigurations;
+  private final Map<String, ChangeSource.Factory> changeSourceFactories;
+  private final Throttle throttle;
+
+  /**
+   * The cached table plans, keyed by schema.name.
+   */
+  private final ConcurrentMap<String, TablePlan> tablePlans = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<String, FetchSize> fetchSizes = new ConcurrentHashMap<>();
+
+  private final List<JdbcSynchronizationListener> synchronizationListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * The difference log, shared by all synchronizers of this resource.  It is opened by the first synchronization to
+   * use it and closed once no synchronization is using it, so it is not left open once this resource is stopped or
+   * replaced by a new configuration.
+   */
+  private Handler differenceLogHandler;
+
+  /**
+   * The number of synchronizations using {@link #differenceLogHandler}.
+   */
+  private int differenceLogUsers;
+
+  private static class FanOutLock {
+    // Empty lock class to help heap profile
+  }
+
+  private final FanOutLock fanOutLock = new FanOutLock();
+
+  /**
+   * The most recent fan-out session, which may be joined while still open.
+   */
+  private FanOutSession fanOutSession;
 
   /**
    * Creates a new {@link JdbcResource}.
@@ -54,8 +156,118 @@ public class JdbcResource extends CronResource<JdbcResource, JdbcResourceNode> {
     this.schemas = AoCollections.unmodifiableCopySet(resourceConfiguration.getSchemas());
     this.tableTypes = AoCollections.unmodifiableCopySet(resourceConfiguration.getTableTypes());
     this.excludeTables = AoCollections.unmodifiableCopySet(resourceConfiguration.getExcludeTables());
+    this.excludeColumns = AoCollections.unmodifiableCopySet(resourceConfiguration.getExcludeColumns());
+    Map<String, Set<String>> newExcludeColumnsByTable = new HashMap<>();
+    for (String excludeColumn : excludeColumns) {
+      int lastDot = excludeColumn.lastIndexOf('.');
+      newExcludeColumnsByTable
+          .computeIfAbsent(excludeColumn.substring(0, lastDot), key -> new HashSet<>())
+          .add(excludeColumn.substring(lastDot + 1));
+    }
+    for (Map.Entry<String, Set<String>> entry : newExcludeColumnsByTable.entrySet()) {
+      entry.setValue(AoCollections.optimalUnmodifiableSet(entry.getValue()));
+    }
+    this.excludeColumnsByTable = AoCollections.optimalUnmodifiableMap(newExcludeColumnsByTable);
     this.noWarnTables = AoCollections.unmodifiableCopySet(resourceConfiguration.getNoWarnTables());
     this.prepareSlaves = AoCollections.unmodifiableCopyMap(resourceConfiguration.getPrepareSlaves());
+    this.differenceSampleSize = resourceConfiguration.getDifferenceSampleSize();
+    this.differenceLog = resourceConfiguration.getDifferenceLog();
+    this.differenceLogLimit = resourceConfiguration.getDifferenceLogLimit();
+    this.differenceLogCount = resourceConfiguration.getDifferenceLogCount();
+    this.testMaxDifferences = resourceConfiguration.getTestMaxDifferences();
+    this.testMaxDifferencePercent = resourceConfiguration.getTestMaxDifferencePercent();
+    this.sampleSchedule = resourceConfiguration.getSampleSchedule();
+    this.samplePercent = resourceConfiguration.getSamplePercent();
+    this.sampleRows = resourceConfiguration.getSampleRows();
+    this.stateDirectory = resourceConfiguration.getStateDirectory();
+    this.rollingSchedule = resourceConfiguration.getRollingSchedule();
+    this.rollingDuration = resourceConfiguration.getRollingDuration();
+    this.chunkSize = resourceConfiguration.getChunkSize();
+    this.fullSynchronizeSchedule = resourceConfiguration.getFullSynchronizeSchedule();
+    this.captureSchema = resourceConfiguration.getCaptureSchema();
+    this.deferConstraints = resourceConfiguration.getDeferConstraints();
+    this.partialCommit = resourceConfiguration.getPartialCommit();
+    this.resumable = resourceConfiguration.getResumable();
+    if (resumable && deferConstraints) {
+      // Deferred constraints are only checked on commit, so a table cannot be committed on its own
+      throw new AppClusterConfigurationException("resumable not supported with deferConstraints: " + resourceConfiguration.getId());
+    }
+    this.resumableMaxAge = resourceConfiguration.getResumableMaxAge();
+    this.fanOutWait = resourceConfiguration.getFanOutWait();
+    if (resumable && fanOutWait != 0) {
+      // Fan-out applies each slave in its own single transaction, without a journal
+      throw new AppClusterConfigurationException("resumable not supported with fanOutWait: " + resourceConfiguration.getId());
+    }
+    this.maxRowsPerSecond = resourceConfiguration.getMaxRowsPerSecond();
+    this.maxBytesPerSecond = resourceConfiguration.getMaxBytesPerSecond();
+    this.maxConcurrentScans = resourceConfiguration.getMaxConcurrentScans();
+    this.throttleProbe = resourceConfiguration.getThrottleProbe();
+    this.throttleProbeThreshold = resourceConfiguration.getThrottleProbeThreshold();
+    this.throttleProbeInterval = resourceConfiguration.getThrottleProbeInterval();
+    this.throttleProbeMaxPause = resourceConfiguration.getThrottleProbeMaxPause();
+    this.adaptiveMinInterval = resourceConfiguration.getAdaptiveMinInterval();
+    this.adaptiveMaxInterval = resourceConfiguration.getAdaptiveMaxInterval();
+    this.statsDirectory = resourceConfiguration.getStatsDirectory();
+    this.fetchBudget = resourceConfiguration.getFetchBudget();
+    this.hashTypes = AoCollections.unmodifiableCopySet(resourceConfiguration.getHashTypes());
+    this.hashTextSize = resourceConfiguration.getHashTextSize();
+    this.hashFunction = resourceConfiguration.getHashFunction();
+    this.combineHashes = resourceConfiguration.getCombineHashes();
+    this.dialect = newDialect(resourceConfiguration.getDialect());
+    if (deferConstraints && dialect != null && !dialect.supportsDeferredConstraints()) {
+      throw new AppClusterConfigurationException("deferConstraints not supported by dialect: " + dialect);
+    }
+    this.tableConfigurations = AoCollections.unmodifiableCopyMap(resourceConfiguration.getTableConfigurations());
+    Map<String, ChangeSource.Factory> newChangeSourceFactories = new LinkedHashMap<>();
+    for (JdbcTableConfiguration tableConfiguration : tableConfigurations.values()) {
+      ChangeSource.Factory factory = newChangeSourceFactory(tableConfiguration);
+      if (factory != null) {
+        newChangeSourceFactories.put(tableConfiguration.getName(), factory);
+      }
+    }
+    this.changeSourceFactories = AoCollections.optimalUnmodifiableMap(newChangeSourceFactories);
+    this.throttle = new Throttle(this);
+  }
+
+  /**
+   * Creates the configured dialect.
+   *
+   * @return  the dialect or {@code null} when detected from the driver meta data
+   */
+  private static JdbcDialect newDialect(String dialect) throws AppClusterConfigurationException {
+    if (dialect == null) {
+      return null;
+    }
+    try {
+      return Class.forName(dialect).asSubclass(JdbcDialect.class).getConstructor().newInstance();
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      throw new AppClusterConfigurationException("Unable to create dialect: " + dialect, e);
+    }
+  }
+
+  /**
+   * Creates the factory for the change source of a table.
+   *
+   * @return  the factory or {@code null} when the table is always fully synchronized
+   *
+   * @see  JdbcTableConfiguration#getChangeSource()
+   */
+  private static ChangeSource.Factory newChangeSourceFactory(JdbcTableConfiguration tableConfiguration) throws AppClusterConfigurationException {
+    String changeSource = tableConfiguration.getChangeSource();
+    switch (changeSource) {
+      case ChangeSource.FULL:
+        return null;
+      case ChangeSource.WATERMARK:
+        return WatermarkChangeSource::new;
+      case ChangeSource.TRIGGER:
+        return TriggerChangeSource::new;
+      default:
+        try {
+          return Class.forName(changeSource).asSubclass(ChangeSource.Factory.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+          throw new AppClusterConfigurationException("Unable to create change source of " + tableConfiguration.getName() + ": " + changeSource, e);
+        }
+    }
   }
 
   /**
@@ -90,6 +302,28 @@ public class JdbcResource extends CronResource<JdbcResource, JdbcResourceNode> {
     return excludeTables;
   }
 
+  /**
+   * Gets the set of columns that will be excluded from synchronization, in schema.table.column format.
+   * Excluded columns are neither compared nor selected, updated, or inserted, so they may differ between nodes,
+   * such as columns maintained by triggers on each node.  Primary key columns may not be excluded.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Set<String> getExcludeColumns() {
+    return excludeColumns;
+  }
+
+  /**
+   * Gets the names of the excluded columns of the given table.
+   *
+   * @param  table  the table name in schema.name format
+   *
+   * @see  #getExcludeColumns()
+   */
+  Set<String> getExcludeColumns(String table) {
+    Set<String> columns = excludeColumnsByTable.get(table);
+    return columns == null ? Collections.emptySet() : columns;
+  }
+
   /**
    * Gets the set of tables that will not cause warnings when the data is not an exact match, in schema.name format.
    */
@@ -108,6 +342,619 @@ public class JdbcResource extends CronResource<JdbcResource, JdbcResourceNode> {
     return prepareSlaves;
   }
 
+  /**
+   * Gets the maximum number of differing rows that will be listed in the output for each table.
+   * Counts are always exact, but any additional rows are summarized instead of being listed.
+   */
+  public int getDifferenceSampleSize() {
+    return differenceSampleSize;
+  }
+
+  /**
+   * Gets the file name pattern of the optional log that receives every differing row, or {@code null} when not logged.
+   * This is a {@link FileHandler} pattern, rotated based on {@link #getDifferenceLogLimit()} and
+   * {@link #getDifferenceLogCount()}.
+   */
+  public String getDifferenceLog() {
+    return differenceLog;
+  }
+
+  /**
+   * Gets the approximate maximum number of bytes written to each difference log file before rotating,
+   * or {@code 0} for no limit.
+   */
+  public int getDifferenceLogLimit() {
+    return differenceLogLimit;
+  }
+
+  /**
+   * Gets the number of difference log files to rotate through.
+   */
+  public int getDifferenceLogCount() {
+    return differenceLogCount;
+  }
+
+  /**
+   * Gets the number of differences in a table at which a test will stop scanning the table, or {@code 0} to always
+   * scan the entire table.  This may be overridden per table.
+   */
+  public int getTestMaxDifferences() {
+    return testMaxDifferences;
+  }
+
+  /**
+   * Gets the percentage of differing rows in a table at which a test will stop scanning the table, or {@code 0} to
+   * always scan the entire table.  This is only evaluated once enough rows have been scanned for the percentage to be
+   * meaningful.  This may be overridden per table.
+   */
+  public double getTestMaxDifferencePercent() {
+    return testMaxDifferencePercent;
+  }
+
+  /**
+   * Gets the schedule of sampled tests, or {@code null} when only exhaustive tests are performed.
+   * A sampled test compares a random sample of rows from each table instead of the entire table, and reports the
+   * estimated rate of differing rows with its 95% confidence interval.  Its load is low enough to run every few
+   * minutes, while the exhaustive test stays on its slower test schedule.
+   *
+   * <p>When the exhaustive or rolling test schedule also matches the same minute, that test is performed instead.</p>
+   */
+  public Schedule getSampleSchedule() {
+    return sampleSchedule;
+  }
+
+  /**
+   * Gets the percentage of the rows of each table on the master from which a sampled test chooses the random keys its
+   * seeks start from.  Only the sampled pages are read where the database supports <code>TABLESAMPLE</code>.
+   */
+  public double getSamplePercent() {
+    return samplePercent;
+  }
+
+  /**
+   * Gets the maximum number of primary keys a sampled test compares for each table, read from both sides in short
+   * ranges of consecutive keys by an indexed seek from each random start key.
+   */
+  public int getSampleRows() {
+    return sampleRows;
+  }
+
+  /**
+   * Gets the directory where state is persisted between runs, or {@code null} when no state is persisted.
+   * Each synchronizer uses its own files, named by resource and node ids.
+   */
+  public String getStateDirectory() {
+    return stateDirectory;
+  }
+
+  /**
+   * Gets the schedule of rolling tests, or {@code null} when not performed.
+   * Each rolling test verifies the next slice of primary key space for up to {@link #getRollingDuration()}, then
+   * persists its position in the {@linkplain #getStateDirectory() state directory} so the next run continues from
+   * there.  Every row is verified once per cycle, with the load spread evenly across the runs of the cycle.
+   *
+   * <p>When the exhaustive test schedule also matches the same minute, the exhaustive test is performed.
+   * A rolling test takes precedence over a sampled test.</p>
+   */
+  public Schedule getRollingSchedule() {
+    return rollingSchedule;
+  }
+
+  /**
+   * Gets the number of seconds each rolling test verifies rows before persisting its position.
+   */
+  public int getRollingDuration() {
+    return rollingDuration;
+  }
+
+  /**
+   * Gets the number of rows read from the master per query, or {@code 0} to read each table in a single query.
+   *
+   * <p>By default, the master is read in a single serializable transaction that lasts the entire run.  On PostgreSQL,
+   * this long-running snapshot holds back vacuum on the master.  When a chunk size is set, the master is instead read
+   * in keyset-paginated chunks (<code>WHERE pk &gt; ? ORDER BY pk LIMIT n</code>), each in its own short transaction,
+   * with transient failures of a chunk retried.  The slave is still read and updated in a single transaction.</p>
+   *
+   * <p>Since the master is no longer read from a single snapshot, changes made on the master during the run may only
+   * be partially applied, and are completed by the next run.</p>
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Gets the schedule of full synchronizations, or {@code null} when only the first synchronization is full.
+   *
+   * <p>A table configured with a {@linkplain JdbcTableConfiguration#getChangeSource() change source} is synchronized
+   * incrementally: only the rows of the primary keys found by the change source are deleted, updated, or inserted.
+   * With the {@link ChangeSource#WATERMARK} change source, deleted rows are not found, nor are rows committed with an
+   * earlier change column value than already seen, such as from clock skew.  A full synchronization compares every
+   * row, catching these, and sets a new position for the change source.</p>
+   *
+   * <p>A full synchronization is performed when this schedule matches.  This is combined with the synchronize schedule,
+   * so does not need to be a subset of it.</p>
+   */
+  public Schedule getFullSynchronizeSchedule() {
+    return fullSynchronizeSchedule;
+  }
+
+  /**
+   * Gets the schema on the master that holds the change log and trigger function of tables with the
+   * {@link ChangeSource#TRIGGER} change source.  Defaults to <code>appcluster</code>.
+   *
+   * <p>Before the master is read, the change log, trigger function, and a trigger on each capturing table are created
+   * as needed, using a separate writable connection to the master.  The trigger records the primary key of every
+   * inserted, updated, or deleted row, once for each slave registered as a consumer of the table.  Each synchronization
+   * then only looks-up the logged primary keys, so its cost scales with the write volume instead of the table size.
+   * Log entries are only removed once the slave has committed, and are replayed again when a run fails.  The consumers
+   * of slaves that are no longer synchronized must be removed from <code>change_consumer</code> by hand.</p>
+   *
+   * <p>A table is fully synchronized when its trigger is first installed or its consumer registered, and on the
+   * {@linkplain #getFullSynchronizeSchedule() full synchronize schedule}.  Changes are only captured on PostgreSQL.</p>
+   */
+  public String getCaptureSchema() {
+    return captureSchema;
+  }
+
+  /**
+   * Checks if constraints are deferred on the slave during synchronization.
+   *
+   * <p>By default, tables are sorted by their foreign key dependencies, then extra rows are deleted in a backward pass
+   * and modified and missing rows are updated and inserted in a forward pass, scanning most tables twice.  Cyclic
+   * foreign keys cannot be sorted, so are not supported.</p>
+   *
+   * <p>When deferred, <code>SET CONSTRAINTS ALL DEFERRED</code> is performed on the slave, then each table is
+   * synchronized in a single pass, in any order, with constraints checked on commit.  This requires every foreign key
+   * between the synchronized tables to be declared <code>DEFERRABLE</code>, and is rejected when the
+   * {@linkplain JdbcDialect#supportsDeferredConstraints() dialect does not support it}.</p>
+   */
+  public boolean getDeferConstraints() {
+    return deferConstraints;
+  }
+
+  /**
+   * Checks if the tables successfully synchronized are committed when other tables fail.
+   *
+   * <p>By default, any failure rolls-back the entire synchronization, so the next run repeats every table.  When set,
+   * each table is applied under its own savepoint.  A table that fails is rolled-back to its savepoint and reported,
+   * while the other tables are still committed.  The tables that depend on a failed table through foreign keys are
+   * skipped along with it: those referencing it in the forward pass and those it references in the backward pass.
+   * When {@linkplain #getDeferConstraints() constraints are deferred}, the other tables may already reference the rows
+   * of a failed table, so only the failure of a table without foreign keys to or from the other synchronized tables is
+   * isolated, and any other failure still rolls-back the entire synchronization.</p>
+   *
+   * <p>The changes of a skipped table are not advanced past, so are found again by the next run.</p>
+   */
+  public boolean getPartialCommit() {
+    return partialCommit;
+  }
+
+  /**
+   * Checks if an interrupted synchronization is resumed by the next run.
+   *
+   * <p>By default, a synchronization is performed in a single transaction on the slave, so a crash or timeout loses all
+   * progress.  When set, the slave is committed as each table completes each pass, which keeps the foreign keys
+   * consistent, and the completed tables are recorded in a journal in the {@linkplain #getStateDirectory() state
+   * directory}.  The next run skips the fully scanned tables already completed, as long as the same tables are
+   * synchronized with the same columns and the journal is no older than its
+   * {@linkplain #getResumableMaxAge() maximum age}.  A completed table is scanned again when any table referencing it
+   * is not yet completed, so the rows added to the master since are there for the rows inserted into the referencing
+   * tables.  A failure no longer rolls-back the tables completed before it, but a resumed synchronization that fails
+   * discards its journal, so the next run starts over.</p>
+   *
+   * <p>Requires a state directory and is not supported with {@linkplain #getDeferConstraints() deferred constraints} or
+   * {@linkplain #getFanOutWait() fan-out}.</p>
+   */
+  public boolean getResumable() {
+    return resumable;
+  }
+
+  /**
+   * Gets the maximum number of seconds since an interrupted {@linkplain #getResumable() resumable} synchronization
+   * started for it to be resumed, or {@code 0} for no limit.  An older journal is discarded, so the next run starts
+   * over.
+   */
+  public int getResumableMaxAge() {
+    return resumableMaxAge;
+  }
+
+  /**
+   * Gets the number of seconds a synchronization waits for the synchronizations to the other slaves to start, or
+   * {@code 0} to synchronize each slave independently.
+   *
+   * <p>By default, each pair of master and slave has its own synchronizer, so the master is scanned once per slave.
+   * When set, the first synchronization to start waits up to this long for those of the other slaves, then scans the
+   * master once, comparing each row to every slave at the same time.  The differences are then applied to each slave
+   * in its own transaction, with a separate result per slave.  Any synchronization starting after the wait runs on its
+   * own.  The synchronize schedule of each slave should be the same.</p>
+   *
+   * <p>The primary keys of the differing rows of every table are held in memory until applied, when their rows are
+   * read again from the master, so this is best suited to slaves that are already mostly synchronized.  Not supported
+   * with {@linkplain #getResumable() resumable} synchronizations.  Tests are not fanned-out.</p>
+   */
+  public int getFanOutWait() {
+    return fanOutWait;
+  }
+
+  /**
+   * Gets the maximum number of rows per second read by the scans of the master, or {@code 0} for no limit.
+   * This is shared by all synchronizers of this resource on this node, and applies to tests and synchronizations alike.
+   * The rows of the slave are read in step with the master, so are limited the same.
+   */
+  public int getMaxRowsPerSecond() {
+    return maxRowsPerSecond;
+  }
+
+  /**
+   * Gets the approximate maximum number of bytes per second read by the scans of the master, or {@code 0} for no limit.
+   * The size of each row is estimated from its values.
+   *
+   * @see  #getMaxRowsPerSecond()
+   */
+  public int getMaxBytesPerSecond() {
+    return maxBytesPerSecond;
+  }
+
+  /**
+   * Gets the maximum number of synchronizers of this resource on this node that read the master at the same time, or
+   * {@code 0} for no limit.  Each synchronization or test holds one scan for its duration, waiting for one to be
+   * available before connecting.  Each slave is only written by the synchronizer from its master, so is not limited.
+   */
+  public int getMaxConcurrentScans() {
+    return maxConcurrentScans;
+  }
+
+  /**
+   * Gets the optional SQL query run on the master to measure its load, such as the number of active backends or the
+   * replication lag, or {@code null} when not probed.  The query must return one row, with a number in the first
+   * column.  The probe is run at most once per {@linkplain #getThrottleProbeInterval() interval} while scanning.
+   * While its value is above the {@linkplain #getThrottleProbeThreshold() threshold}, all scans of this resource are
+   * paused, probing again after each interval, for up to the {@linkplain #getThrottleProbeMaxPause() maximum pause}.
+   */
+  public String getThrottleProbe() {
+    return throttleProbe;
+  }
+
+  /**
+   * Gets the value of the {@linkplain #getThrottleProbe() probe} above which the scans are paused, or {@code null} when
+   * not probed.
+   */
+  public Double getThrottleProbeThreshold() {
+    return throttleProbeThreshold;
+  }
+
+  /**
+   * Gets the number of seconds between runs of the {@linkplain #getThrottleProbe() probe}.
+   */
+  public int getThrottleProbeInterval() {
+    return throttleProbeInterval;
+  }
+
+  /**
+   * Gets the maximum number of seconds a scan is paused by the {@linkplain #getThrottleProbe() probe}, or {@code 0} to
+   * pause without limit.  A scan still paused after this long fails, and is retried by the next synchronization.
+   */
+  public int getThrottleProbeMaxPause() {
+    return throttleProbeMaxPause;
+  }
+
+  /**
+   * Gets the minimum number of minutes between synchronizations when the schedule is
+   * {@linkplain #getAdaptiveMaxInterval() adaptive}.
+   */
+  public int getAdaptiveMinInterval() {
+    return adaptiveMinInterval;
+  }
+
+  /**
+   * Gets the maximum number of minutes between synchronizations when the schedule is adaptive, or {@code 0} to always
+   * synchronize on the synchronize schedule.
+   *
+   * <p>When adaptive, the synchronize schedule is the most often each slave is synchronized, and should typically match
+   * every minute.  The interval between synchronizations starts at the minimum, is halved each time rows are changed on
+   * the slave, and is doubled each time no rows are changed, up to the maximum.  A failed synchronization returns to
+   * the minimum.  The interval is also kept at least ten times the duration of the last synchronization.  The interval
+   * is per slave, and starts over when restarted.</p>
+   *
+   * <p>The {@linkplain #getFullSynchronizeSchedule() full synchronize schedule} is not adaptive.</p>
+   */
+  public int getAdaptiveMaxInterval() {
+    return adaptiveMaxInterval;
+  }
+
+  /**
+   * Gets the directory where the statistics of each synchronization are recorded, or {@code null} when not recorded.
+   *
+   * <p>Each synchronizer appends to its own file, named by resource and node ids, with one tab-separated line per table
+   * per synchronization: the time, the table, the number of rows compared, matched, updated, inserted, and deleted, the
+   * milliseconds spent, and the approximate bytes scanned from the master.  The history shows the drift of each table
+   * over time, and is also used to tune later synchronizations.  The file is only appended to, so may be rotated or
+   * truncated at any time.</p>
+   */
+  public String getStatsDirectory() {
+    return statsDirectory;
+  }
+
+  /**
+   * Gets the memory budget of the rows fetched at once by each scan, in bytes, or {@code 0} to always fetch
+   * {@link com.aoapps.dbc.DatabaseConnection#FETCH_SIZE} rows at once.
+   *
+   * <p>When set, the fetch size of each table is chosen from its estimated row width, then adjusted during the scan
+   * from the bytes per row observed.  The fetch size is reduced whenever the rows fetched at once would exceed the
+   * budget, and is increased while each fetch is fast enough to be dominated by round trips.  The row width observed
+   * is kept for the next scan, and is also read from the {@linkplain #getStatsDirectory() statistics} of the previous
+   * runs.  A table may instead have a fixed fetch size.</p>
+   *
+   * @see  JdbcTableConfiguration#getFetchSize()
+   */
+  public int getFetchBudget() {
+    return fetchBudget;
+  }
+
+  /**
+   * Gets the database type names, such as <code>text</code> or <code>jsonb</code>, of the columns that are compared by
+   * hash instead of by value, in addition to binary columns which are always hashed.
+   *
+   * <p>Only the hash of a hashed column is selected by the scans, and the real value is only retrieved for the rows
+   * that are inserted or updated.  Primary key columns are never hashed.</p>
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Set<String> getHashTypes() {
+    return hashTypes;
+  }
+
+  /**
+   * Gets the size above which character columns are compared by hash instead of by value, or {@code 0} to not hash
+   * character columns by size.  Character columns of unknown or unlimited size are hashed when this is set.
+   *
+   * @see  #getHashTypes()
+   */
+  public int getHashTextSize() {
+    return hashTextSize;
+  }
+
+  /**
+   * Gets the server-side function used to hash the hashed columns, which must be the same on all nodes.
+   * Defaults to {@link HashFunction#MD5}.
+   */
+  public HashFunction getHashFunction() {
+    return hashFunction;
+  }
+
+  /**
+   * When {@code true}, all the hashed columns of each row are compared by a single hash of their combined values,
+   * computing one hash per row instead of one per column.  The real values of all hashed columns are retrieved for
+   * any row that differs in either case.
+   */
+  public boolean getCombineHashes() {
+    return combineHashes;
+  }
+
+  /**
+   * Gets the SQL dialect of the databases, which is either configured by class name or detected from the driver meta
+   * data on the first connection to a master.
+   *
+   * @return  the dialect or {@code null} when not yet detected
+   */
+  public JdbcDialect getDialect() {
+    return dialect;
+  }
+
+  /**
+   * Gets the dialect, detecting it from the given connection to a master when not configured.
+   * The dialect is detected before any table plan is built.
+   *
+   * @throws  SQLException  when the detected dialect does not support {@linkplain #getDeferConstraints() deferred constraints}
+   *                        and they are enabled
+   */
+  JdbcDialect getDialect(Connection conn) throws SQLException {
+    JdbcDialect current = dialect;
+    if (current == null) {
+      current = JdbcDialect.detect(conn);
+      if (deferConstraints && !current.supportsDeferredConstraints()) {
+        throw new SQLException("deferConstraints not supported by dialect: " + current);
+      }
+      dialect = current;
+    }
+    return current;
+  }
+
+  /**
+   * Gets the throttle shared by all synchronizers of this resource.
+   */
+  Throttle getThrottle() {
+    return throttle;
+  }
+
+  /**
+   * Joins the open fan-out session or starts a new session with the given synchronizer as its leader.
+   *
+   * @see  #getFanOutWait()
+   */
+  FanOutSession joinFanOutSession(JdbcResourceSynchronizer synchronizer) {
+    synchronized (fanOutLock) {
+      if (fanOutSession == null || !fanOutSession.join(synchronizer)) {
+        fanOutSession = new FanOutSession(synchronizer);
+      }
+      return fanOutSession;
+    }
+  }
+
+  /**
+   * Gets the factories of the tables that are not always fully synchronized, keyed by table name in schema.name
+   * format.
+   *
+   * @see  JdbcTableConfiguration#getChangeSource()
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  Map<String, ChangeSource.Factory> getChangeSourceFactories() {
+    return changeSourceFactories;
+  }
+
+  /**
+   * Gets the per-table overrides, keyed by table name in schema.name format.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Map<String, JdbcTableConfiguration> getTableConfigurations() {
+    return tableConfigurations;
+  }
+
+  /**
+   * Gets the number of differences at which a test will stop scanning the given table.
+   *
+   * @param  table  the table name in schema.name format
+   *
+   * @see  #getTestMaxDifferences()
+   */
+  int getTestMaxDifferences(String table) {
+    JdbcTableConfiguration tableConfiguration = tableConfigurations.get(table);
+    Integer value = tableConfiguration == null ? null : tableConfiguration.getTestMaxDifferences();
+    return value == null ? testMaxDifferences : value;
+  }
+
+  /**
+   * Gets the percentage of differing rows at which a test will stop scanning the given table.
+   *
+   * @param  table  the table name in schema.name format
+   *
+   * @see  #getTestMaxDifferencePercent()
+   */
+  double getTestMaxDifferencePercent(String table) {
+    JdbcTableConfiguration tableConfiguration = tableConfigurations.get(table);
+    Double value = tableConfiguration == null ? null : tableConfiguration.getTestMaxDifferencePercent();
+    return value == null ? testMaxDifferencePercent : value;
+  }
+
+  /**
+   * Gets the change-tracking column of the given table.
+   *
+   * @param  table  the table name in schema.name format
+   *
+   * @return  the column name or {@code null} when the table is always fully synchronized
+   *
+   * @see  JdbcTableConfiguration#getChangeColumn()
+   */
+  String getChangeColumn(String table) {
+    JdbcTableConfiguration tableConfiguration = tableConfigurations.get(table);
+    return tableConfiguration == null ? null : tableConfiguration.getChangeColumn();
+  }
+
+  /**
+   * Gets the filter of the given table.
+   *
+   * @param  table  the table name in schema.name format
+   *
+   * @return  the SQL condition or {@code null} when all rows are synchronized
+   *
+   * @see  JdbcTableConfiguration#getFilter()
+   */
+  String getFilter(String table) {
+    JdbcTableConfiguration tableConfiguration = tableConfigurations.get(table);
+    return tableConfiguration == null ? null : tableConfiguration.getFilter();
+  }
+
+  /**
+   * Gets the priority of the given table.
+   *
+   * @param  table  the table name in schema.name format
+   *
+   * @see  JdbcTableConfiguration#getPriority()
+   */
+  int getPriority(String table) {
+    JdbcTableConfiguration tableConfiguration = tableConfigurations.get(table);
+    Integer value = tableConfiguration == null ? null : tableConfiguration.getPriority();
+    return value == null ? 0 : value;
+  }
+
+  /**
+   * Gets the handler for the difference log, opening it as needed.  Each handler returned must be released by
+   * {@link #releaseDifferenceLogHandler()}.
+   *
+   * @return  the handler or {@code null} when no difference log is configured
+   */
+  synchronized Handler acquireDifferenceLogHandler() throws IOException {
+    if (differenceLog == null) {
+      return null;
+    }
+    if (differenceLogHandler == null) {
+      FileHandler newHandler = new FileHandler(differenceLog, differenceLogLimit, differenceLogCount, true);
+      newHandler.setEncoding(StandardCharsets.UTF_8.name());
+      newHandler.setFormatter(
+          new Formatter() {
+            @Override
+            public String format(LogRecord logRecord) {
+              return Instant.ofEpochMilli(logRecord.getMillis()) + " " + logRecord.getMessage() + System.lineSeparator();
+            }
+          }
+      );
+      differenceLogHandler = newHandler;
+    }
+    differenceLogUsers++;
+    return differenceLogHandler;
+  }
+
+  /**
+   * Releases a handler from {@link #acquireDifferenceLogHandler()}, closing the difference log once no longer used.
+   */
+  synchronized void releaseDifferenceLogHandler() {
+    if (--differenceLogUsers == 0) {
+      differenceLogHandler.close();
+      differenceLogHandler = null;
+    }
+  }
+
+  /**
+   * Registers a listener to receive the differences found by all synchronizers of this resource.
+   */
+  public void addSynchronizationListener(JdbcSynchronizationListener listener) {
+    synchronizationListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener previously added by {@link #addSynchronizationListener(JdbcSynchronizationListener)}.
+   */
+  public void removeSynchronizationListener(JdbcSynchronizationListener listener) {
+    synchronizationListeners.remove(listener);
+  }
+
+  /**
+   * Gets the listeners, which may be iterated while listeners are concurrently added or removed.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Only used internally, never modified
+  List<JdbcSynchronizationListener> getSynchronizationListeners() {
+    return synchronizationListeners;
+  }
+
+  /**
+   * Gets the plan for the given table.  The plan is built once and then reused for the lifetime of this resource,
+   * only being rebuilt when the table meta data changes.
+   */
+  TablePlan getTablePlan(Table table) throws SQLException {
+    String key = table.getSchema().getName() + '.' + table.getName();
+    TablePlan plan = tablePlans.get(key);
+    if (plan == null || !plan.matches(table)) {
+      JdbcDialect current = dialect;
+      if (current == null) {
+        throw new IllegalStateException("Dialect not yet detected");
+      }
+      plan = new TablePlan(current, table, getExcludeColumns(key), getFilter(key), hashTypes, hashTextSize, hashFunction, combineHashes, getFetchSize(key));
+      tablePlans.put(key, plan);
+    }
+    return plan;
+  }
+
+  /**
+   * Gets the fetch size of the given table, which is kept for the lifetime of this resource.
+   *
+   * @param  table  the table name in schema.name format
+   */
+  FetchSize getFetchSize(String table) {
+    return fetchSizes.computeIfAbsent(table, key -> {
+      JdbcTableConfiguration tableConfiguration = tableConfigurations.get(key);
+      return new FetchSize(tableConfiguration == null ? null : tableConfiguration.getFetchSize(), fetchBudget);
+    });
+  }
+
   @Override
   protected JdbcResourceSynchronizer newResourceSynchronizer(
       JdbcResourceNode localResourceNode,
@@ -115,11 +962,27 @@ public class JdbcResource extends CronResource<JdbcResource, JdbcResourceNode> {
       ResourceConfiguration<JdbcResource, JdbcResourceNode> resourceConfiguration
   ) throws AppClusterConfigurationException {
     JdbcResourceConfiguration jdbcResourceConfiguration = (JdbcResourceConfiguration) resourceConfiguration;
+    Schedule synchronizeSchedule = jdbcResourceConfiguration.getSynchronizeSchedule(localResourceNode, remoteResourceNode);
+    int maxInterval = jdbcResourceConfiguration.getAdaptiveMaxInterval();
+    if (synchronizeSchedule != null && maxInterval != 0) {
+      synchronizeSchedule = new AdaptiveSchedule(synchronizeSchedule, jdbcResourceConfiguration.getAdaptiveMinInterval(), maxInterval);
+    }
+    Map<String, Schedule> tableSchedules = new LinkedHashMap<>();
+    for (JdbcTableConfiguration tableConfiguration : jdbcResourceConfiguration.getTableConfigurations().values()) {
+      Schedule tableSchedule = tableConfiguration.getSchedule();
+      if (tableSchedule != null) {
+        tableSchedules.put(tableConfiguration.getName(), tableSchedule);
+      }
+    }
     return new JdbcResourceSynchronizer(
         localResourceNode,
         remoteResourceNode,
-        jdbcResourceConfiguration.getSynchronizeSchedule(localResourceNode, remoteResourceNode),
-        jdbcResourceConfiguration.getTestSchedule(localResourceNode, remoteResourceNode)
+        synchronizeSchedule,
+        jdbcResourceConfiguration.getFullSynchronizeSchedule(),
+        jdbcResourceConfiguration.getTestSchedule(localResourceNode, remoteResourceNode),
+        jdbcResourceConfiguration.getSampleSchedule(),
+        jdbcResourceConfiguration.getRollingSchedule(),
+        tableSchedules
     );
   }
 }
@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2016, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2011, 2016, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -27,6 +27,7 @@ import com.aoapps.appcluster.AppCluster;
 import com.aoapps.appcluster.AppClusterConfigurationException;
 import com.aoapps.appcluster.CronResourceConfiguration;
 import com.aoapps.appcluster.ResourceNode;
+import com.aoapps.cron.Schedule;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +54,11 @@ public interface JdbcResourceConfiguration extends CronResourceConfiguration<Jdb
    */
   Collection<String> getExcludeTables();
 
+  /**
+   * See {@link JdbcResource#getExcludeColumns()}.
+   */
+  Collection<String> getExcludeColumns();
+
   /**
    * See {@link JdbcResource#getNoWarnTables()}.
    */
@@ -63,6 +69,192 @@ public interface JdbcResourceConfiguration extends CronResourceConfiguration<Jdb
    */
   Map<String, String> getPrepareSlaves();
 
+  /**
+   * See {@link JdbcResource#getDifferenceSampleSize()}.
+   */
+  int getDifferenceSampleSize();
+
+  /**
+   * See {@link JdbcResource#getDifferenceLog()}.
+   */
+  String getDifferenceLog();
+
+  /**
+   * See {@link JdbcResource#getDifferenceLogLimit()}.
+   */
+  int getDifferenceLogLimit();
+
+  /**
+   * See {@link JdbcResource#getDifferenceLogCount()}.
+   */
+  int getDifferenceLogCount();
+
+  /**
+   * See {@link JdbcResource#getTestMaxDifferences()}.
+   */
+  int getTestMaxDifferences();
+
+  /**
+   * See {@link JdbcResource#getTestMaxDifferencePercent()}.
+   */
+  double getTestMaxDifferencePercent();
+
+  /**
+   * See {@link JdbcResource#getSampleSchedule()}.
+   */
+  Schedule getSampleSchedule();
+
+  /**
+   * See {@link JdbcResource#getSamplePercent()}.
+   */
+  double getSamplePercent();
+
+  /**
+   * See {@link JdbcResource#getSampleRows()}.
+   */
+  int getSampleRows();
+
+  /**
+   * See {@link JdbcResource#getStateDirectory()}.
+   */
+  String getStateDirectory();
+
+  /**
+   * See {@link JdbcResource#getRollingSchedule()}.
+   */
+  Schedule getRollingSchedule();
+
+  /**
+   * See {@link JdbcResource#getRollingDuration()}.
+   */
+  int getRollingDuration();
+
+  /**
+   * See {@link JdbcResource#getFullSynchronizeSchedule()}.
+   */
+  Schedule getFullSynchronizeSchedule();
+
+  /**
+   * See {@link JdbcResource#getChunkSize()}.
+   */
+  int getChunkSize();
+
+  /**
+   * See {@link JdbcResource#getCaptureSchema()}.
+   */
+  String getCaptureSchema();
+
+  /**
+   * See {@link JdbcResource#getDeferConstraints()}.
+   */
+  boolean getDeferConstraints();
+
+  /**
+   * See {@link JdbcResource#getPartialCommit()}.
+   */
+  boolean getPartialCommit();
+
+  /**
+   * See {@link JdbcResource#getResumable()}.
+   */
+  boolean getResumable();
+
+  /**
+   * See {@link JdbcResource#getResumableMaxAge()}.
+   */
+  int getResumableMaxAge();
+
+  /**
+   * See {@link JdbcResource#getFanOutWait()}.
+   */
+  int getFanOutWait();
+
+  /**
+   * See {@link JdbcResource#getMaxRowsPerSecond()}.
+   */
+  int getMaxRowsPerSecond();
+
+  /**
+   * See {@link JdbcResource#getMaxBytesPerSecond()}.
+   */
+  int getMaxBytesPerSecond();
+
+  /**
+   * See {@link JdbcResource#getMaxConcurrentScans()}.
+   */
+  int getMaxConcurrentScans();
+
+  /**
+   * See {@link JdbcResource#getThrottleProbe()}.
+   */
+  String getThrottleProbe();
+
+  /**
+   * See {@link JdbcResource#getThrottleProbeThreshold()}.
+   */
+  Double getThrottleProbeThreshold();
+
+  /**
+   * See {@link JdbcResource#getThrottleProbeInterval()}.
+   */
+  int getThrottleProbeInterval();
+
+  /**
+   * See {@link JdbcResource#getThrottleProbeMaxPause()}.
+   */
+  int getThrottleProbeMaxPause();
+
+  /**
+   * See {@link JdbcResource#getAdaptiveMinInterval()}.
+   */
+  int getAdaptiveMinInterval();
+
+  /**
+   * See {@link JdbcResource#getAdaptiveMaxInterval()}.
+   */
+  int getAdaptiveMaxInterval();
+
+  /**
+   * See {@link JdbcResource#getStatsDirectory()}.
+   */
+  String getStatsDirectory();
+
+  /**
+   * See {@link JdbcResource#getFetchBudget()}.
+   */
+  int getFetchBudget();
+
+  /**
+   * See {@link JdbcResource#getHashTypes()}.
+   */
+  Collection<String> getHashTypes();
+
+  /**
+   * See {@link JdbcResource#getHashTextSize()}.
+   */
+  int getHashTextSize();
+
+  /**
+   * See {@link JdbcResource#getHashFunction()}.
+   */
+  HashFunction getHashFunction();
+
+  /**
+   * See {@link JdbcResource#getCombineHashes()}.
+   */
+  boolean getCombineHashes();
+
+  /**
+   * Gets the class name of the {@link JdbcDialect}, or {@code null} to detect the dialect from the driver meta data.
+   * See {@link JdbcResource#getDialect()}.
+   */
+  String getDialect();
+
+  /**
+   * See {@link JdbcResource#getTableConfigurations()}.
+   */
+  Map<String, ? extends JdbcTableConfiguration> getTableConfigurations();
+
   @Override
   Set<? extends JdbcResourceNodeConfiguration> getResourceNodeConfigurations() throws AppClusterConfigurationException;
 
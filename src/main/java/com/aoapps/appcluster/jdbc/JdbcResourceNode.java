@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2016, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2016, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -36,6 +36,8 @@ import com.aoapps.appcluster.Node;
 public class JdbcResourceNode extends CronResourceNode<JdbcResource, JdbcResourceNode> {
 
   private final String dataSource;
+  private final String readDataSource;
+  private final int readMaxLag;
 
   /**
    * Creates a new {@link JdbcResourceNode}.
@@ -43,6 +45,8 @@ public class JdbcResourceNode extends CronResourceNode<JdbcResource, JdbcResourc
   protected JdbcResourceNode(Node node, JdbcResourceNodeConfiguration resourceNodeConfiguration) {
     super(node, resourceNodeConfiguration);
     this.dataSource = resourceNodeConfiguration.getDataSource();
+    this.readDataSource = resourceNodeConfiguration.getReadDataSource();
+    this.readMaxLag = resourceNodeConfiguration.getReadMaxLag();
   }
 
   /**
@@ -51,4 +55,29 @@ public class JdbcResourceNode extends CronResourceNode<JdbcResource, JdbcResourc
   public String getDataSource() {
     return dataSource;
   }
+
+  /**
+   * Gets the data source JNDI name to a read replica of this node, such as a hot standby, or {@code null} when none.
+   *
+   * <p>While this node is the master, the bulk scans of each table are read from the replica instead, moving this I/O
+   * off the master.  When synchronizing, the rows that differ between the replica and the slave are then read from the
+   * master by primary key, so only the master is applied to the slave.  The replica is first waited on until it has
+   * replayed every change visible on the master, so no change is missed.  Tests compare the replica directly to the
+   * slave.</p>
+   *
+   * @see  #getReadMaxLag()
+   */
+  public String getReadDataSource() {
+    return readDataSource;
+  }
+
+  /**
+   * Gets the maximum number of seconds to wait for the {@linkplain #getReadDataSource() read replica} to replay the
+   * changes of this node, or {@code 0} to only use a replica that is already caught up.  The replay is checked with
+   * the PostgreSQL write-ahead log positions.  When the replica does not catch up in time, or is not a hot standby,
+   * the master is read instead.
+   */
+  public int getReadMaxLag() {
+    return readMaxLag;
+  }
 }
@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2016, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2011, 2016, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -39,6 +39,16 @@ public interface JdbcResourceNodeConfiguration extends CronResourceNodeConfigura
    */
   String getDataSource();
 
+  /**
+   * See {@link JdbcResourceNode#getReadDataSource()}.
+   */
+  String getReadDataSource();
+
+  /**
+   * See {@link JdbcResourceNode#getReadMaxLag()}.
+   */
+  int getReadMaxLag();
+
   @Override
   JdbcResourceNode newResourceNode(Node node) throws AppClusterConfigurationException;
 }
@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2016, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2016, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -36,6 +36,8 @@ import com.aoapps.appcluster.Node;
 public class JdbcResourceNodePropertiesConfiguration extends CronResourceNodePropertiesConfiguration<JdbcResource, JdbcResourceNode> implements JdbcResourceNodeConfiguration {
 
   private final String dataSource;
+  private final String readDataSource;
+  private final int readMaxLag;
 
   /**
    * Creates a new {@link JdbcResourceNodePropertiesConfiguration}.
@@ -43,6 +45,8 @@ public class JdbcResourceNodePropertiesConfiguration extends CronResourceNodePro
   protected JdbcResourceNodePropertiesConfiguration(AppClusterPropertiesConfiguration properties, String resourceId, String nodeId, String type) throws AppClusterConfigurationException {
     super(properties, resourceId, nodeId);
     this.dataSource = properties.getString("appcluster.resource." + resourceId + ".node." + nodeId + "." + type + ".dataSource", true);
+    this.readDataSource = JdbcProperties.getString(properties, "appcluster.resource." + resourceId + ".node." + nodeId + "." + type + ".readDataSource");
+    this.readMaxLag = JdbcProperties.getInteger(properties, "appcluster.resource." + resourceId + ".node." + nodeId + "." + type + ".readMaxLag", 60, 0);
   }
 
   @Override
@@ -50,6 +54,16 @@ public class JdbcResourceNodePropertiesConfiguration extends CronResourceNodePro
     return dataSource;
   }
 
+  @Override
+  public String getReadDataSource() {
+    return readDataSource;
+  }
+
+  @Override
+  public int getReadMaxLag() {
+    return readMaxLag;
+  }
+
   @Override
   public JdbcResourceNode newResourceNode(Node node) throws AppClusterConfigurationException {
     return new JdbcResourceNode(node, this);
@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2015, 2016, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2015, 2016, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,8 +29,10 @@ import com.aoapps.appcluster.AppClusterPropertiesConfiguration;
 import com.aoapps.appcluster.CronResourcePropertiesConfiguration;
 import com.aoapps.appcluster.ResourceNode;
 import com.aoapps.collections.AoCollections;
+import com.aoapps.cron.Schedule;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,8 +46,46 @@ public class JdbcResourcePropertiesConfiguration extends CronResourcePropertiesC
   private final Set<String> schemas;
   private final Set<String> tableTypes;
   private final Set<String> excludeTables;
+  private final Set<String> excludeColumns;
   private final Set<String> noWarnTables;
   private final Map<String, String> prepareSlaves;
+  private final int differenceSampleSize;
+  private final String differenceLog;
+  private final int differenceLogLimit;
+  private final int differenceLogCount;
+  private final int testMaxDifferences;
+  private final double testMaxDifferencePercent;
+  private final Schedule sampleSchedule;
+  private final double samplePercent;
+  private final int sampleRows;
+  private final String stateDirectory;
+  private final Schedule rollingSchedule;
+  private final int rollingDuration;
+  private final int chunkSize;
+  private final Schedule fullSynchronizeSchedule;
+  private final String captureSchema;
+  private final boolean deferConstraints;
+  private final boolean partialCommit;
+  private final boolean resumable;
+  private final int resumableMaxAge;
+  private final int fanOutWait;
+  private final int maxRowsPerSecond;
+  private final int maxBytesPerSecond;
+  private final int maxConcurrentScans;
+  private final String throttleProbe;
+  private final Double throttleProbeThreshold;
+  private final int throttleProbeInterval;
+  private final int throttleProbeMaxPause;
+  private final int adaptiveMinInterval;
+  private final int adaptiveMaxInterval;
+  private final String statsDirectory;
+  private final int fetchBudget;
+  private final Set<String> hashTypes;
+  private final int hashTextSize;
+  private final HashFunction hashFunction;
+  private final boolean combineHashes;
+  private final String dialect;
+  private final Map<String, JdbcTablePropertiesConfiguration> tableConfigurations;
 
   /**
    * Creates a new {@link JdbcResourcePropertiesConfiguration}.
@@ -55,6 +95,13 @@ public class JdbcResourcePropertiesConfiguration extends CronResourcePropertiesC
     this.schemas = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".schemas", true);
     this.tableTypes = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".tableTypes", true);
     this.excludeTables = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".excludeTables", false);
+    this.excludeColumns = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".excludeColumns", false);
+    for (String excludeColumn : excludeColumns) {
+      int lastDot = excludeColumn.lastIndexOf('.');
+      if (lastDot <= 0 || excludeColumn.lastIndexOf('.', lastDot - 1) <= 0 || lastDot == excludeColumn.length() - 1) {
+        throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".excludeColumns must be in schema.table.column format: " + excludeColumn);
+      }
+    }
     this.noWarnTables = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".noWarnTables", false);
     Set<String> prepareSlaveNames = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".prepareSlaves", false);
     if (prepareSlaveNames.isEmpty()) {
@@ -69,6 +116,92 @@ public class JdbcResourcePropertiesConfiguration extends CronResourcePropertiesC
       }
       this.prepareSlaves = AoCollections.optimalUnmodifiableMap(newPrepareSlaves);
     }
+    this.differenceSampleSize = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".differenceSampleSize", 100, 0);
+    this.differenceLog = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".differenceLog");
+    this.differenceLogLimit = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".differenceLogLimit", 10 * 1024 * 1024, 0);
+    this.differenceLogCount = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".differenceLogCount", 10, 1);
+    this.testMaxDifferences = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".testMaxDifferences", 0, 0);
+    this.testMaxDifferencePercent = JdbcProperties.getDouble(properties, "appcluster.resource." + id + "." + type + ".testMaxDifferencePercent", 0d, 0, 100);
+    this.sampleSchedule = JdbcProperties.getSchedule(properties, "appcluster.resource." + id + "." + type + ".sampleSchedule");
+    this.samplePercent = JdbcProperties.getDouble(properties, "appcluster.resource." + id + "." + type + ".samplePercent", 1d, Double.MIN_VALUE, 100);
+    this.sampleRows = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".sampleRows", 100, 1);
+    this.stateDirectory = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".stateDirectory");
+    this.rollingSchedule = JdbcProperties.getSchedule(properties, "appcluster.resource." + id + "." + type + ".rollingSchedule");
+    this.rollingDuration = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".rollingDuration", 300, 1);
+    if (rollingSchedule != null && stateDirectory == null) {
+      throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".stateDirectory required for rollingSchedule");
+    }
+    this.chunkSize = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".chunkSize", 0, 0);
+    this.fullSynchronizeSchedule = JdbcProperties.getSchedule(properties, "appcluster.resource." + id + "." + type + ".fullSynchronizeSchedule");
+    String newCaptureSchema = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".captureSchema");
+    this.captureSchema = newCaptureSchema == null ? "appcluster" : newCaptureSchema;
+    this.deferConstraints = JdbcProperties.getBoolean(properties, "appcluster.resource." + id + "." + type + ".deferConstraints", false);
+    this.partialCommit = JdbcProperties.getBoolean(properties, "appcluster.resource." + id + "." + type + ".partialCommit", false);
+    this.fanOutWait = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".fanOutWait", 0, 0);
+    this.resumable = JdbcProperties.getBoolean(properties, "appcluster.resource." + id + "." + type + ".resumable", false);
+    this.resumableMaxAge = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".resumableMaxAge", 86400, 0);
+    if (resumable) {
+      if (stateDirectory == null) {
+        throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".stateDirectory required for resumable");
+      }
+      if (deferConstraints) {
+        throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".resumable not supported with deferConstraints");
+      }
+      if (fanOutWait != 0) {
+        throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".resumable not supported with fanOutWait");
+      }
+    }
+    this.maxRowsPerSecond = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".maxRowsPerSecond", 0, 0);
+    this.maxBytesPerSecond = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".maxBytesPerSecond", 0, 0);
+    this.maxConcurrentScans = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".maxConcurrentScans", 0, 0);
+    this.throttleProbe = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".throttleProbe");
+    this.throttleProbeThreshold = JdbcProperties.getDouble(properties, "appcluster.resource." + id + "." + type + ".throttleProbeThreshold", null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    this.throttleProbeInterval = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".throttleProbeInterval", 10, 1);
+    this.throttleProbeMaxPause = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".throttleProbeMaxPause", 600, 0);
+    if (throttleProbe != null && throttleProbeThreshold == null) {
+      throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".throttleProbeThreshold required for throttleProbe");
+    }
+    this.adaptiveMinInterval = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".adaptiveMinInterval", 1, 1);
+    this.adaptiveMaxInterval = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".adaptiveMaxInterval", 0, 0);
+    if (adaptiveMaxInterval != 0 && adaptiveMaxInterval < adaptiveMinInterval) {
+      throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".adaptiveMaxInterval less than adaptiveMinInterval: " + adaptiveMaxInterval + " < " + adaptiveMinInterval);
+    }
+    this.statsDirectory = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".statsDirectory");
+    this.fetchBudget = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".fetchBudget", 0, 0);
+    this.hashTypes = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".hashTypes", false);
+    this.hashTextSize = JdbcProperties.getInteger(properties, "appcluster.resource." + id + "." + type + ".hashTextSize", 0, 0);
+    String hashFunctionName = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".hashFunction");
+    if (hashFunctionName == null) {
+      this.hashFunction = HashFunction.MD5;
+    } else {
+      try {
+        this.hashFunction = HashFunction.valueOf(hashFunctionName.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new AppClusterConfigurationException("Invalid hash function for appcluster.resource." + id + "." + type + ".hashFunction: " + hashFunctionName, e);
+      }
+    }
+    this.combineHashes = JdbcProperties.getBoolean(properties, "appcluster.resource." + id + "." + type + ".combineHashes", false);
+    this.dialect = JdbcProperties.getString(properties, "appcluster.resource." + id + "." + type + ".dialect");
+    Set<String> tableNames = properties.getUniqueStrings("appcluster.resource." + id + "." + type + ".tables", false);
+    if (tableNames.isEmpty()) {
+      this.tableConfigurations = Collections.emptyMap();
+    } else {
+      Map<String, JdbcTablePropertiesConfiguration> newTableConfigurations = AoCollections.newLinkedHashMap(tableNames.size());
+      for (String tableName : tableNames) {
+        newTableConfigurations.put(
+            tableName,
+            new JdbcTablePropertiesConfiguration(properties, id, type, tableName)
+        );
+      }
+      this.tableConfigurations = AoCollections.optimalUnmodifiableMap(newTableConfigurations);
+    }
+    if (stateDirectory == null) {
+      for (JdbcTablePropertiesConfiguration tableConfiguration : tableConfigurations.values()) {
+        if (ChangeSource.WATERMARK.equals(tableConfiguration.getChangeSource())) {
+          throw new AppClusterConfigurationException("appcluster.resource." + id + "." + type + ".stateDirectory required for changeSource " + ChangeSource.WATERMARK + " of " + tableConfiguration.getName());
+        }
+      }
+    }
   }
 
   @Override
@@ -89,6 +222,12 @@ public class JdbcResourcePropertiesConfiguration extends CronResourcePropertiesC
     return excludeTables;
   }
 
+  @Override
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Set<String> getExcludeColumns() {
+    return excludeColumns;
+  }
+
   @Override
   @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
   public Set<String> getNoWarnTables() {
@@ -101,6 +240,193 @@ public class JdbcResourcePropertiesConfiguration extends CronResourcePropertiesC
     return prepareSlaves;
   }
 
+  @Override
+  public int getDifferenceSampleSize() {
+    return differenceSampleSize;
+  }
+
+  @Override
+  public String getDifferenceLog() {
+    return differenceLog;
+  }
+
+  @Override
+  public int getDifferenceLogLimit() {
+    return differenceLogLimit;
+  }
+
+  @Override
+  public int getDifferenceLogCount() {
+    return differenceLogCount;
+  }
+
+  @Override
+  public int getTestMaxDifferences() {
+    return testMaxDifferences;
+  }
+
+  @Override
+  public double getTestMaxDifferencePercent() {
+    return testMaxDifferencePercent;
+  }
+
+  @Override
+  public Schedule getSampleSchedule() {
+    return sampleSchedule;
+  }
+
+  @Override
+  public double getSamplePercent() {
+    return samplePercent;
+  }
+
+  @Override
+  public int getSampleRows() {
+    return sampleRows;
+  }
+
+  @Override
+  public String getStateDirectory() {
+    return stateDirectory;
+  }
+
+  @Override
+  public Schedule getRollingSchedule() {
+    return rollingSchedule;
+  }
+
+  @Override
+  public int getRollingDuration() {
+    return rollingDuration;
+  }
+
+  @Override
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  @Override
+  public Schedule getFullSynchronizeSchedule() {
+    return fullSynchronizeSchedule;
+  }
+
+  @Override
+  public String getCaptureSchema() {
+    return captureSchema;
+  }
+
+  @Override
+  public boolean getDeferConstraints() {
+    return deferConstraints;
+  }
+
+  @Override
+  public boolean getPartialCommit() {
+    return partialCommit;
+  }
+
+  @Override
+  public boolean getResumable() {
+    return resumable;
+  }
+
+  @Override
+  public int getResumableMaxAge() {
+    return resumableMaxAge;
+  }
+
+  @Override
+  public int getFanOutWait() {
+    return fanOutWait;
+  }
+
+  @Override
+  public int getMaxRowsPerSecond() {
+    return maxRowsPerSecond;
+  }
+
+  @Override
+  public int getMaxBytesPerSecond() {
+    return maxBytesPerSecond;
+  }
+
+  @Override
+  public int getMaxConcurrentScans() {
+    return maxConcurrentScans;
+  }
+
+  @Override
+  public String getThrottleProbe() {
+    return throttleProbe;
+  }
+
+  @Override
+  public Double getThrottleProbeThreshold() {
+    return throttleProbeThreshold;
+  }
+
+  @Override
+  public int getThrottleProbeInterval() {
+    return throttleProbeInterval;
+  }
+
+  @Override
+  public int getThrottleProbeMaxPause() {
+    return throttleProbeMaxPause;
+  }
+
+  @Override
+  public int getAdaptiveMinInterval() {
+    return adaptiveMinInterval;
+  }
+
+  @Override
+  public int getAdaptiveMaxInterval() {
+    return adaptiveMaxInterval;
+  }
+
+  @Override
+  public String getStatsDirectory() {
+    return statsDirectory;
+  }
+
+  @Override
+  public int getFetchBudget() {
+    return fetchBudget;
+  }
+
+  @Override
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Set<String> getHashTypes() {
+    return hashTypes;
+  }
+
+  @Override
+  public int getHashTextSize() {
+    return hashTextSize;
+  }
+
+  @Override
+  public HashFunction getHashFunction() {
+    return hashFunction;
+  }
+
+  @Override
+  public boolean getCombineHashes() {
+    return combineHashes;
+  }
+
+  @Override
+  public String getDialect() {
+    return dialect;
+  }
+
+  @Override
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Map<String, JdbcTablePropertiesConfiguration> getTableConfigurations() {
+    return tableConfigurations;
+  }
+
   @Override
   public Set<? extends JdbcResourceNodePropertiesConfiguration> getResourceNodeConfigurations() throws AppClusterConfigurationException {
     String resourceId = getId();
@@ -1,6 +1,6 @@
 /*
  * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
- * Copyright (C) 2011, 2012, 2015, 2016, 2019, 2020, 2021, 2022, 2023, 2024, 2025  AO Industries, Inc.
+ * Copyright (C) 2011, 2012, 2015, 2016, 2019, 2020, 2021, 2022, 2023, 2024, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -31,8 +31,8 @@ import com.aoapps.appcluster.ResourceSynchronizationMode;
 import com.aoapps.appcluster.ResourceSynchronizationResult;
 import com.aoapps.appcluster.ResourceSynchronizationResultStep;
 import com.aoapps.collections.AoArrays;
+import com.aoapps.collections.AoCollections;
 import com.aoapps.cron.Schedule;
-import com.aoapps.dbc.DatabaseConnection;
 import com.aoapps.dbc.ExtraRowException;
 import com.aoapps.dbc.NoRowException;
 import com.aoapps.dbc.meta.Catalog;
@@ -50,6 +50,8 @@ import com.aoapps.sql.SQLUtility;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -59,19 +61,34 @@ import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
 import javax.naming.Context;
 import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.sql.DataSource;
 
 /**
@@ -80,7 +97,8 @@ import javax.sql.DataSource;
  * Also, assumes that updating a non-primary key value will have no affect on other data.
  * Primary keys themselves are never updated, rows will be deleted and then inserted in this case.
  * For table dependencies, only uses primary keys and foreign keys that go to primary keys.
- * There must not be any cycle in the dependency graph.
+ * There must not be any cycle in the dependency graph, unless {@linkplain JdbcResource#getDeferConstraints() constraints
+ * are deferred}, in which case the foreign keys of a cycle must be declared <code>DEFERRABLE</code>.
  *
  * <p>TODO: Verify permissions?
  * TODO: Verify indexes?</p>
@@ -91,11 +109,276 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
 
   private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, JdbcResourceSynchronizer.class);
 
+  /**
+   * Combines schedules, matching when any of the given schedules match.
+   *
+   * @param  schedules  the schedules, any of which may be {@code null}
+   *
+   * @return  the combined schedule or {@code null} when all schedules are {@code null}
+   */
+  private static Schedule combineSchedules(Schedule ... schedules) {
+    List<Schedule> nonNull = new ArrayList<>(schedules.length);
+    for (Schedule schedule : schedules) {
+      if (schedule != null) {
+        nonNull.add(schedule);
+      }
+    }
+    if (nonNull.isEmpty()) {
+      return null;
+    }
+    if (nonNull.size() == 1) {
+      return nonNull.get(0);
+    }
+    return (minute, hour, dayOfMonth, month, dayOfWeek, year) -> {
+      for (Schedule schedule : nonNull) {
+        if (schedule.isCronJobScheduled(minute, hour, dayOfMonth, month, dayOfWeek, year)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Combines the schedules that start synchronizations.  The table schedules are only used when synchronization is
+   * scheduled at all, so a pair of nodes that is never synchronized remains so.
+   */
+  private static Schedule combineSynchronizeSchedules(Schedule synchronizeSchedule, Schedule fullSynchronizeSchedule, Map<String, Schedule> tableSchedules) {
+    if (synchronizeSchedule == null) {
+      return fullSynchronizeSchedule;
+    }
+    List<Schedule> schedules = new ArrayList<>(2 + tableSchedules.size());
+    schedules.add(synchronizeSchedule);
+    schedules.add(fullSynchronizeSchedule);
+    schedules.addAll(tableSchedules.values());
+    return combineSchedules(schedules.toArray(new Schedule[schedules.size()]));
+  }
+
+  /**
+   * Checks if a schedule matches the minute of the given time.
+   *
+   * @param  schedule  the schedule, may be {@code null}
+   */
+  private static boolean isScheduled(Schedule schedule, Calendar cal) {
+    return
+        schedule != null
+            && schedule.isCronJobScheduled(
+                cal.get(Calendar.MINUTE),
+                cal.get(Calendar.HOUR_OF_DAY),
+                cal.get(Calendar.DAY_OF_MONTH),
+                cal.get(Calendar.MONTH) - Calendar.JANUARY + 1,
+                cal.get(Calendar.DAY_OF_WEEK) - Calendar.SUNDAY,
+                cal.get(Calendar.YEAR)
+            );
+  }
+
+  /**
+   * The kinds of tests performed as {@link ResourceSynchronizationMode#TEST_ONLY}.
+   */
+  private enum TestType {
+    /**
+     * Compares every row of every table.
+     */
+    EXHAUSTIVE,
+
+    /**
+     * Compares the next slice of primary key space.
+     *
+     * @see  JdbcResource#getRollingSchedule()
+     */
+    ROLLING,
+
+    /**
+     * Compares a random sample of rows.
+     *
+     * @see  JdbcResource#getSampleSchedule()
+     */
+    SAMPLED
+  }
+
+  private final Schedule synchronizeSchedule;
+  private final AdaptiveSchedule adaptiveSchedule;
+  private final Map<String, Schedule> tableSchedules;
+
+  /**
+   * Set once the fetch sizes have been seeded from the statistics of previous runs.
+   */
+  private volatile boolean fetchSizesSeeded;
+  private final Schedule fullSynchronizeSchedule;
+  private final Schedule exhaustiveTestSchedule;
+  private final Schedule sampleSchedule;
+  private final Schedule rollingSchedule;
+
   /**
    * Creates a new {@link JdbcResourceSynchronizer}.
    */
   protected JdbcResourceSynchronizer(JdbcResourceNode localResourceNode, JdbcResourceNode remoteResourceNode, Schedule synchronizeSchedule, Schedule testSchedule) {
-    super(localResourceNode, remoteResourceNode, synchronizeSchedule, testSchedule);
+    this(localResourceNode, remoteResourceNode, synchronizeSchedule, null, testSchedule, null, null);
+  }
+
+  /**
+   * Creates a new {@link JdbcResourceSynchronizer}.
+   *
+   * @param  synchronizeSchedule      the schedule of synchronizations, which is adapted to the recent synchronizations
+   *                                  when an {@link AdaptiveSchedule}
+   * @param  fullSynchronizeSchedule  the optional schedule of full synchronizations, see {@link JdbcResource#getFullSynchronizeSchedule()}
+   * @param  sampleSchedule           the optional schedule of sampled tests, see {@link JdbcResource#getSampleSchedule()}
+   * @param  rollingSchedule          the optional schedule of rolling tests, see {@link JdbcResource#getRollingSchedule()}
+   */
+  protected JdbcResourceSynchronizer(
+      JdbcResourceNode localResourceNode,
+      JdbcResourceNode remoteResourceNode,
+      Schedule synchronizeSchedule,
+      Schedule fullSynchronizeSchedule,
+      Schedule testSchedule,
+      Schedule sampleSchedule,
+      Schedule rollingSchedule
+  ) {
+    this(localResourceNode, remoteResourceNode, synchronizeSchedule, fullSynchronizeSchedule, testSchedule, sampleSchedule, rollingSchedule, Collections.emptyMap());
+  }
+
+  /**
+   * Creates a new {@link JdbcResourceSynchronizer}.
+   *
+   * @param  synchronizeSchedule      the schedule of synchronizations, which is adapted to the recent synchronizations
+   *                                  when an {@link AdaptiveSchedule}
+   * @param  fullSynchronizeSchedule  the optional schedule of full synchronizations, see {@link JdbcResource#getFullSynchronizeSchedule()}
+   * @param  sampleSchedule           the optional schedule of sampled tests, see {@link JdbcResource#getSampleSchedule()}
+   * @param  rollingSchedule          the optional schedule of rolling tests, see {@link JdbcResource#getRollingSchedule()}
+   * @param  tableSchedules           the schedules of the tables synchronized on their own schedule, keyed by table name
+   *                                  in schema.name format, see {@link JdbcTableConfiguration#getSchedule()}
+   */
+  protected JdbcResourceSynchronizer(
+      JdbcResourceNode localResourceNode,
+      JdbcResourceNode remoteResourceNode,
+      Schedule synchronizeSchedule,
+      Schedule fullSynchronizeSchedule,
+      Schedule testSchedule,
+      Schedule sampleSchedule,
+      Schedule rollingSchedule,
+      Map<String, Schedule> tableSchedules
+  ) {
+    super(
+        localResourceNode,
+        remoteResourceNode,
+        combineSynchronizeSchedules(synchronizeSchedule, fullSynchronizeSchedule, tableSchedules),
+        combineSchedules(testSchedule, sampleSchedule, rollingSchedule)
+    );
+    this.synchronizeSchedule = synchronizeSchedule;
+    this.adaptiveSchedule = synchronizeSchedule instanceof AdaptiveSchedule ? (AdaptiveSchedule) synchronizeSchedule : null;
+    this.fullSynchronizeSchedule = fullSynchronizeSchedule;
+    this.exhaustiveTestSchedule = testSchedule;
+    this.sampleSchedule = sampleSchedule;
+    this.rollingSchedule = rollingSchedule;
+    this.tableSchedules = AoCollections.unmodifiableCopyMap(tableSchedules);
+  }
+
+  /**
+   * Gets the kind of test to perform for a test starting now.  The exhaustive test is performed unless the current
+   * minute matches only the rolling or sample schedules, with rolling taking precedence over sampled.
+   */
+  private TestType getTestType() {
+    if (sampleSchedule == null && rollingSchedule == null) {
+      return TestType.EXHAUSTIVE;
+    }
+    Calendar cal = new GregorianCalendar();
+    if (isScheduled(exhaustiveTestSchedule, cal)) {
+      return TestType.EXHAUSTIVE;
+    }
+    if (isScheduled(rollingSchedule, cal)) {
+      return TestType.ROLLING;
+    }
+    if (isScheduled(sampleSchedule, cal)) {
+      return TestType.SAMPLED;
+    }
+    return TestType.EXHAUSTIVE;
+  }
+
+  /**
+   * Checks if a synchronization starting now should be full, comparing every row of tables that are otherwise
+   * synchronized incrementally.
+   *
+   * @see  JdbcResource#getFullSynchronizeSchedule()
+   */
+  private boolean isFullSynchronize() {
+    return isScheduled(fullSynchronizeSchedule, new GregorianCalendar());
+  }
+
+  /**
+   * Adapts the synchronize schedule, if adaptive, to the result of a synchronization.
+   *
+   * @param  changes  the number of rows changed on the slave or {@code -1} when the synchronization failed
+   *
+   * @see  JdbcResource#getAdaptiveMaxInterval()
+   */
+  private void adaptSchedule(long startTime, long changes) {
+    if (adaptiveSchedule != null) {
+      adaptiveSchedule.finished(startTime, System.currentTimeMillis(), changes);
+    }
+  }
+
+  /**
+   * Gets the resource being synchronized.
+   */
+  JdbcResource getJdbcResource() {
+    return localResourceNode.getResource();
+  }
+
+  /**
+   * Gets the identifier of this synchronizer, which is unique per resource and pair of nodes.
+   */
+  String getSynchronizerId() {
+    return localResourceNode.getResource().getId() + '.' + localResourceNode.getNode().getId() + '-' + remoteResourceNode.getNode().getId();
+  }
+
+  /**
+   * Gets a file in the state directory that is specific to this synchronizer.
+   *
+   * @param  suffix  the suffix that identifies the kind of state
+   *
+   * @return  the file or {@code null} when no state directory is configured
+   *
+   * @see  JdbcResource#getStateDirectory()
+   */
+  Path getStateFile(JdbcResource resource, String suffix) {
+    String stateDirectory = resource.getStateDirectory();
+    if (stateDirectory == null) {
+      return null;
+    }
+    return Paths.get(stateDirectory, getSynchronizerId() + suffix);
+  }
+
+  /**
+   * Seeds the fetch sizes of the resource from the statistics of the previous runs of this synchronizer, once per
+   * synchronizer.
+   *
+   * @see  JdbcResource#getFetchBudget()
+   */
+  private void seedFetchSizes(JdbcResource resource) throws IOException {
+    if (!fetchSizesSeeded) {
+      fetchSizesSeeded = true;
+      SyncStats stats = getStats(resource);
+      if (stats != null && resource.getFetchBudget() != 0) {
+        for (SyncStats.Entry entry : stats.readLatest().values()) {
+          resource.getFetchSize(entry.getTable()).seed(entry.getRows(), entry.getBytes());
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the statistics of this synchronizer.
+   *
+   * @return  the statistics or {@code null} when no statistics directory is configured
+   *
+   * @see  JdbcResource#getStatsDirectory()
+   */
+  SyncStats getStats(JdbcResource resource) {
+    String statsDirectory = resource.getStatsDirectory();
+    if (statsDirectory == null) {
+      return null;
+    }
+    return new SyncStats(Paths.get(statsDirectory, getSynchronizerId() + ".stats.tsv"));
   }
 
   /*
@@ -125,6 +408,190 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     }
   }
 
+  /**
+   * Creates and prepares the change source of each table that is not always fully synchronized.
+   * This must be called before the master is first read, so every change is either read or tracked.
+   *
+   * @param  changeSources  the change sources are added here, keyed by table name in schema.name format
+   * @param  fullTables     the tables that must be fully synchronized, as requested by their change sources, are
+   *                        added here
+   */
+  private void prepareChangeSources(
+      JdbcResource resource,
+      DataSource fromDataSource,
+      Map<String, ChangeSource> changeSources,
+      Set<String> fullTables,
+      StringBuilder stepOutput
+  ) throws SQLException {
+    for (Map.Entry<String, ChangeSource.Factory> entry : resource.getChangeSourceFactories().entrySet()) {
+      String table = entry.getKey();
+      int dot = table.indexOf('.');
+      if (dot == -1) {
+        throw new SQLException("Table not in schema.name format: " + table);
+      }
+      ChangeSource changeSource = entry.getValue().newChangeSource(this, table.substring(0, dot), table.substring(dot + 1));
+      if (changeSource.prepare(fromDataSource)) {
+        fullTables.add(table);
+        stepOutput.append(RESOURCES.getMessage("synchronize.changeSourceFull", table)).append('\n');
+      }
+      changeSources.put(table, changeSource);
+    }
+  }
+
+  /**
+   * Runs one of the {@linkplain JdbcResource#getPrepareSlaves() preparation statements} on the slave.
+   */
+  private static void prepareSlave(Connection toConn, String name, String sql, StringBuilder stepOutput) throws SQLException {
+    try (Statement stmt = toConn.createStatement()) {
+      int updateCount = stmt.executeUpdate(sql);
+      stepOutput.append(
+          RESOURCES.getMessage(
+              "synchronize.step.prepareSlave.updateCount",
+              name,
+              updateCount
+          )
+      );
+    } catch (Error | RuntimeException | SQLException e) {
+      ErrorPrinter.addSql(e, sql);
+      throw e;
+    }
+  }
+
+  /**
+   * Changes applied to the slave are not captured by any triggers remaining from when it was the master.
+   */
+  private static void disableChangeCapture(Connection toConn, Map<String, ChangeSource> changeSources) throws SQLException {
+    for (ChangeSource changeSource : changeSources.values()) {
+      if (changeSource instanceof TriggerChangeSource) {
+        ChangeCapture.disable(toConn);
+        break;
+      }
+    }
+  }
+
+  /**
+   * The number of milliseconds between checks of whether a read replica has caught up to the master.
+   */
+  private static final long READ_REPLAY_POLL = 100;
+
+  /**
+   * Connects to the {@linkplain JdbcResourceNode#getReadDataSource() read replica} of the master, with the same
+   * settings as the connection to the master.  The replica is only used once it has replayed the master up to its
+   * position at the start of the transaction of {@code fromConn}, so every change visible on the master is also
+   * visible on the replica.  This must be called before any other statement on {@code fromConn}.
+   *
+   * @return  the connection or {@code null} when there is no read replica or it does not catch up in time
+   */
+  private static Connection getReadConnection(
+      JdbcResource resource,
+      JdbcResourceNode fromNode,
+      Context envCtx,
+      Connection fromConn,
+      StringBuilder stepOutput,
+      StringBuilder stepWarning
+  ) throws NamingException, SQLException {
+    String readDataSourceName = fromNode.getReadDataSource();
+    if (readDataSourceName == null) {
+      return null;
+    }
+    stepOutput.append("readDataSourceName: ").append(readDataSourceName).append('\n');
+    DataSource readDataSource = (DataSource) envCtx.lookup(readDataSourceName);
+    if (readDataSource == null) {
+      throw new NullPointerException("readDataSource is null");
+    }
+    Connection readConn = readDataSource.getConnection();
+    try {
+      stepOutput.append("readConn..........: ").append(readConn).append('\n');
+      readConn.setReadOnly(true);
+      final String logPositionSql = resource.getDialect(fromConn).getLogPositionSql();
+      final String replayedSql = resource.getDialect(readConn).getReplayedSql();
+      if (logPositionSql == null || replayedSql == null) {
+        stepWarning.append(RESOURCES.getMessage("getReadConnection.replayUnknown", readDataSourceName)).append('\n');
+        readConn.close();
+        return null;
+      }
+      // In a serializable transaction, also begins the snapshot of the master, so the position includes every change it sees
+      String logPosition;
+      try (
+          Statement stmt = fromConn.createStatement();
+          ResultSet results = stmt.executeQuery(logPositionSql)
+          ) {
+        if (!results.next()) {
+          throw new NoRowException();
+        }
+        logPosition = results.getString(1);
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, logPositionSql);
+        throw e;
+      }
+      stepOutput.append("logPosition.......: ").append(logPosition).append('\n');
+      // Polled in auto-commit, so the snapshot of the replica begins only once caught up
+      final int readMaxLag = fromNode.getReadMaxLag();
+      final long waitStart = System.currentTimeMillis();
+      try (PreparedStatement pstmt = readConn.prepareStatement(replayedSql)) {
+        pstmt.setString(1, logPosition);
+        while (true) {
+          Boolean replayed;
+          try (ResultSet results = pstmt.executeQuery()) {
+            if (!results.next()) {
+              throw new NoRowException();
+            }
+            boolean value = results.getBoolean(1);
+            replayed = results.wasNull() ? null : value;
+          }
+          if (replayed == null) {
+            stepWarning.append(RESOURCES.getMessage("getReadConnection.notStandby", readDataSourceName)).append('\n');
+            readConn.close();
+            return null;
+          }
+          if (replayed) {
+            break;
+          }
+          if (System.currentTimeMillis() - waitStart >= readMaxLag * 1000L) {
+            stepWarning.append(RESOURCES.getMessage("getReadConnection.lag", readDataSourceName, readMaxLag)).append('\n');
+            readConn.close();
+            return null;
+          }
+          try {
+            Thread.sleep(READ_REPLAY_POLL);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for read replica", e);
+          }
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, replayedSql);
+        throw e;
+      }
+      stepOutput.append("readWait..........: ").append(System.currentTimeMillis() - waitStart).append(" ms\n");
+      if (resource.getChunkSize() == 0) {
+        readConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        readConn.setAutoCommit(false);
+      } else {
+        readConn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        readConn.setAutoCommit(true);
+      }
+      return readConn;
+    } catch (Error | RuntimeException | SQLException e) {
+      readConn.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Closes a connection from {@link #getReadConnection(com.aoapps.appcluster.jdbc.JdbcResource, com.aoapps.appcluster.jdbc.JdbcResourceNode, javax.naming.Context, java.sql.Connection, java.lang.StringBuilder, java.lang.StringBuilder)}.
+   */
+  private static void closeReadConnection(Connection readConn) throws SQLException {
+    try {
+      if (!readConn.getAutoCommit()) {
+        readConn.rollback(); // Is read-only, this should always be OK and preferred to commit of accidental changes
+        readConn.setAutoCommit(true);
+      }
+    } finally {
+      readConn.close();
+    }
+  }
+
   /**
    * Gets the catalog.
    */
@@ -140,6 +607,9 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
   @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
   protected ResourceSynchronizationResult synchronize(ResourceSynchronizationMode mode, ResourceNodeDnsResult localDnsResult, ResourceNodeDnsResult remoteDnsResult) {
     final JdbcResource resource = localResourceNode.getResource();
+    if (mode == ResourceSynchronizationMode.SYNCHRONIZE && resource.getFanOutWait() != 0) {
+      return fanOut(resource, mode);
+    }
 
     List<ResourceSynchronizationResultStep> steps = new ArrayList<>();
 
@@ -151,9 +621,14 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     StringBuilder stepWarning = new StringBuilder();
     StringBuilder stepError = new StringBuilder();
 
+    final long startTime = stepStartTime;
+    final Throttle throttle = resource.getThrottle();
+    boolean scanAcquired = false;
+    Handler differenceLog = null;
+    long changes = -1;
     try {
       // Will always synchronize or test from master to slave
-      String fromDataSourceName;
+      JdbcResourceNode fromNode;
       String toDataSourceName;
       NodeDnsStatus localDnsStatus = localDnsResult.getNodeStatus();
       NodeDnsStatus remoteDnsStatus = remoteDnsResult.getNodeStatus();
@@ -164,7 +639,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
                 localDnsStatus == NodeDnsStatus.MASTER
                     && remoteDnsStatus == NodeDnsStatus.SLAVE
             ) {
-              fromDataSourceName = localResourceNode.getDataSource();
+              fromNode = localResourceNode;
               toDataSourceName = remoteResourceNode.getDataSource();
             } else {
               throw new AssertionError();
@@ -177,13 +652,13 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
                 localDnsStatus == NodeDnsStatus.MASTER
                     && remoteDnsStatus == NodeDnsStatus.SLAVE
             ) {
-              fromDataSourceName = localResourceNode.getDataSource();
+              fromNode = localResourceNode;
               toDataSourceName = remoteResourceNode.getDataSource();
             } else if (
                 localDnsStatus == NodeDnsStatus.SLAVE
                     && remoteDnsStatus == NodeDnsStatus.MASTER
             ) {
-              fromDataSourceName = remoteResourceNode.getDataSource();
+              fromNode = remoteResourceNode;
               toDataSourceName = localResourceNode.getDataSource();
             } else {
               throw new AssertionError();
@@ -193,8 +668,24 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
         default:
           throw new AssertionError("Unexpected mode: " + mode);
       }
+      String fromDataSourceName = fromNode.getDataSource();
       stepOutput.append("fromDataSourceName: ").append(fromDataSourceName).append('\n');
       stepOutput.append("toDataSourceName..: ").append(toDataSourceName).append('\n');
+      if (mode == ResourceSynchronizationMode.SYNCHRONIZE && adaptiveSchedule != null) {
+        stepOutput.append("adaptiveInterval..: ").append(adaptiveSchedule.getInterval()).append('\n');
+      }
+
+      // Differences are sampled into the step output, optionally streamed to the difference log, and sent to any listeners
+      differenceLog = resource.acquireDifferenceLogHandler();
+      DifferenceReporter reporter = new DifferenceReporter(
+          this,
+          mode,
+          resource.getSynchronizationListeners(),
+          RESOURCES,
+          resource.getDifferenceSampleSize(),
+          differenceLog,
+          fromDataSourceName + " -> " + toDataSourceName + ": "
+      );
 
       // Lookup the data sources
       Context ic = new InitialContext();
@@ -208,13 +699,27 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
         throw new NullPointerException("toDataSource is null");
       }
 
-      // Step #1: Connect to the data sources
+      seedFetchSizes(resource);
+
+      // Step #1: Connect to the data sources, once another scan of the master is allowed
+      Throttle.Meter meter = throttle.newMeter(fromDataSource, resource.getStatsDirectory() != null);
+      throttle.acquireScan();
+      scanAcquired = true;
       Connection fromConn = fromDataSource.getConnection();
+      Connection readConn = null;
       try {
         stepOutput.append("fromConn..........: ").append(fromConn).append('\n');
+        stepOutput.append("dialect...........: ").append(resource.getDialect(fromConn)).append('\n');
         fromConn.setReadOnly(true);
-        fromConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
-        fromConn.setAutoCommit(false);
+        if (resource.getChunkSize() == 0) {
+          fromConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+          fromConn.setAutoCommit(false);
+        } else {
+          // Each query is its own short transaction, so no long-running snapshot is held on the master
+          fromConn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+          fromConn.setAutoCommit(true);
+        }
+        readConn = getReadConnection(resource, fromNode, envCtx, fromConn, stepOutput, stepWarning);
 
         Connection toConn = toDataSource.getConnection();
         try {
@@ -223,8 +728,25 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
           toConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
           toConn.setAutoCommit(false);
 
+          // Change sources are prepared before the master is first read, so every change is either read or tracked
+          Map<String, ChangeSource> changeSources = new LinkedHashMap<>();
+          Set<String> fullTables = new HashSet<>();
+          if (mode == ResourceSynchronizationMode.SYNCHRONIZE) {
+            prepareChangeSources(resource, fromDataSource, changeSources, fullTables, stepOutput);
+          }
+
           // Connection successful
-          steps.add(new ResourceSynchronizationResultStep(stepStartTime, System.currentTimeMillis(), ResourceStatus.HEALTHY, step, stepOutput, stepWarning, stepError));
+          steps.add(
+              new ResourceSynchronizationResultStep(
+                  stepStartTime,
+                  System.currentTimeMillis(),
+                  stepWarning.length() != 0 ? ResourceStatus.WARNING : ResourceStatus.HEALTHY,
+                  step,
+                  stepOutput,
+                  stepWarning,
+                  stepError
+              )
+          );
 
           // Step #2 Compare meta data
           stepStartTime = System.currentTimeMillis();
@@ -239,7 +761,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
           final Set<String> schemas = resource.getSchemas();
           final Set<String> tableTypes = resource.getTableTypes();
           final Set<String> excludeTables = resource.getExcludeTables();
-          compareSchemas(fromCatalog, toCatalog, schemas, tableTypes, excludeTables, stepError);
+          compareSchemas(fromCatalog, toCatalog, schemas, tableTypes, excludeTables, resource.getExcludeColumns(), stepError);
 
           steps.add(
               new ResourceSynchronizationResultStep(
@@ -258,13 +780,30 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
           // Only continue if all meta data is compatible
           if (stepError.length() == 0) {
             if (mode == ResourceSynchronizationMode.TEST_ONLY) {
+              // Tests compare the read replica directly to the slave
+              Connection scanConn = readConn != null ? readConn : fromConn;
+              TestType testType = getTestType();
               stepStartTime = System.currentTimeMillis();
-              step = RESOURCES.getMessage("synchronize.step.compareData");
               stepOutput.setLength(0);
               stepWarning.setLength(0);
               stepError.setLength(0);
 
-              testSchemasData(fromConn, toConn, resource.getTestTimeout(), fromCatalog, toCatalog, schemas, tableTypes, excludeTables, resource.getNoWarnTables(), stepOutput, stepWarning);
+              switch (testType) {
+                case EXHAUSTIVE:
+                  step = RESOURCES.getMessage("synchronize.step.compareData");
+                  testSchemasData(resource, reporter, scanConn, toConn, meter, resource.getTestTimeout(), fromCatalog, toCatalog, schemas, tableTypes, excludeTables, resource.getNoWarnTables(), stepOutput, stepWarning, stepError);
+                  break;
+                case ROLLING:
+                  step = RESOURCES.getMessage("synchronize.step.rollingData");
+                  rollingSchemasData(resource, reporter, scanConn, toConn, meter, resource.getTestTimeout(), fromCatalog, toCatalog, schemas, tableTypes, excludeTables, resource.getNoWarnTables(), getStateFile(resource, ".rolling.properties"), stepOutput, stepWarning, stepError);
+                  break;
+                case SAMPLED:
+                  step = RESOURCES.getMessage("synchronize.step.sampleData");
+                  sampleSchemasData(resource, reporter, scanConn, toConn, fromCatalog, toCatalog, schemas, tableTypes, excludeTables, resource.getNoWarnTables(), stepOutput, stepWarning);
+                  break;
+                default:
+                  throw new AssertionError("Unexpected test type: " + testType);
+              }
               steps.add(
                   new ResourceSynchronizationResultStep(
                       stepStartTime,
@@ -291,20 +830,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
                 stepWarning.setLength(0);
                 stepError.setLength(0);
                 try {
-                  String currentSql = null;
-                  try (Statement stmt = toConn.createStatement()) {
-                    int updateCount = stmt.executeUpdate(currentSql = prepareSlave.getValue());
-                    stepOutput.append(
-                        RESOURCES.getMessage(
-                            "synchronize.step.prepareSlave.updateCount",
-                            prepareSlave.getKey(),
-                            updateCount
-                        )
-                    );
-                  } catch (Error | RuntimeException | SQLException e) {
-                    ErrorPrinter.addSql(e, currentSql);
-                    throw e;
-                  }
+                  prepareSlave(toConn, prepareSlave.getKey(), prepareSlave.getValue(), stepOutput);
                 } catch (ThreadDeath td) {
                   throw td;
                 } catch (Throwable t) {
@@ -335,7 +861,36 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
                 stepWarning.setLength(0);
                 stepError.setLength(0);
 
-                synchronizeData(fromConn, toConn, resource.getSynchronizeTimeout(), fromCatalog, schemas, tableTypes, excludeTables, stepOutput);
+                disableChangeCapture(toConn, changeSources);
+                boolean fullSynchronize = isFullSynchronize();
+                Set<Table> tables = getScheduledTables(getSynchronizeTables(resource, fromCatalog, schemas, tableTypes, excludeTables), fullSynchronize, stepOutput);
+                RunJournal journal = null;
+                if (resource.getResumable()) {
+                  List<TablePlan> plans = new ArrayList<>(tables.size());
+                  for (Table table : tables) {
+                    plans.add(resource.getTablePlan(table));
+                  }
+                  journal = RunJournal.open(
+                      getStateFile(resource, ".journal.properties"),
+                      plans,
+                      fullSynchronize,
+                      TimeUnit.SECONDS.toMillis(resource.getResumableMaxAge())
+                  );
+                  if (journal.isResumed()) {
+                    stepOutput.append(RESOURCES.getMessage("synchronize.resumed", Instant.ofEpochMilli(journal.getStarted()), journal.getCompletedCount())).append('\n');
+                  }
+                }
+                List<SyncStats.Entry> statsEntries = new ArrayList<>();
+                long synchronizeChanges;
+                try {
+                  synchronizeChanges = synchronizeData(resource, reporter, fromConn, readConn, toConn, meter, resource.getSynchronizeTimeout(), fromCatalog, tables, tableTypes, fullSynchronize, changeSources, fullTables, journal, statsEntries, startTime, stepOutput, stepWarning);
+                } catch (Error | RuntimeException | SQLException | IOException e) {
+                  if (journal != null && journal.isResumed()) {
+                    // The next run starts over, instead of resuming into the same failure
+                    journal.delete();
+                  }
+                  throw e;
+                }
                 steps.add(
                     new ResourceSynchronizationResultStep(
                         stepStartTime,
@@ -353,6 +908,18 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
                 // Commit/rollback based on errors
                 if (stepError.length() == 0) {
                   toConn.commit();
+                  if (journal != null) {
+                    journal.delete();
+                  }
+                  SyncStats stats = getStats(resource);
+                  if (stats != null) {
+                    stats.append(statsEntries);
+                  }
+                  // Only advanced once committed, so any changes not applied are found again by the next run
+                  for (ChangeSource changeSource : changeSources.values()) {
+                    changeSource.committed(fromDataSource);
+                  }
+                  changes = synchronizeChanges;
                 } else {
                   toConn.rollback();
                 }
@@ -376,9 +943,17 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
           toConn.close();
         }
       } finally {
-        fromConn.rollback(); // Is read-only, this should always be OK and preferred to commit of accidental changes
-        fromConn.setAutoCommit(true);
-        fromConn.close();
+        try {
+          if (readConn != null) {
+            closeReadConnection(readConn);
+          }
+        } finally {
+          if (!fromConn.getAutoCommit()) {
+            fromConn.rollback(); // Is read-only, this should always be OK and preferred to commit of accidental changes
+            fromConn.setAutoCommit(true);
+          }
+          fromConn.close();
+        }
       }
     } catch (ThreadDeath td) {
       throw td;
@@ -396,6 +971,16 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
               stepError
           )
       );
+    } finally {
+      if (scanAcquired) {
+        throttle.releaseScan();
+      }
+      if (differenceLog != null) {
+        resource.releaseDifferenceLogHandler();
+      }
+    }
+    if (mode == ResourceSynchronizationMode.SYNCHRONIZE) {
+      adaptSchedule(startTime, changes);
     }
 
     return new ResourceSynchronizationResult(
@@ -406,42 +991,788 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     );
   }
 
-  private static void compareSchemas(
-      Catalog fromCatalog,
-      Catalog toCatalog,
-      Set<String> schemas,
-      Set<String> tableTypes,
-      Set<String> excludeTables,
-      StringBuilder stepError
-  ) throws SQLException {
-    for (String schema : schemas) {
-      compareSchema(fromCatalog.getSchema(schema), toCatalog.getSchema(schema), tableTypes, excludeTables, stepError);
+  /**
+   * Synchronizes as part of a {@linkplain JdbcResource#getFanOutWait() fan-out session}.  The first synchronizer to
+   * start leads the session, synchronizing every participant from a single scan of the master, while the others wait
+   * for their results.
+   */
+  private ResourceSynchronizationResult fanOut(JdbcResource resource, ResourceSynchronizationMode mode) {
+    final long startTime = System.currentTimeMillis();
+    FanOutSession session = resource.joinFanOutSession(this);
+    ResourceSynchronizationResult result;
+    try {
+      if (session.getLeader() == this) {
+        Map<JdbcResourceSynchronizer, ResourceSynchronizationResult> results = Collections.emptyMap();
+        try {
+          List<JdbcResourceSynchronizer> participants = session.close(
+              resource.getFanOutWait() * 1000L,
+              // One synchronizer from this node to each other node
+              resource.getResourceNodes().size() - 1
+          );
+          results = fanOutSynchronize(resource, mode, participants);
+        } finally {
+          session.complete(results);
+        }
+        result = results.get(this);
+      } else {
+        result = session.awaitResult(this);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      StringBuilder stepError = new StringBuilder();
+      ErrorPrinter.printStackTraces(e, stepError);
+      stepError.append('\n');
+      return newFanOutErrorResult(mode, startTime, stepError);
+    }
+    if (result == null) {
+      return newFanOutErrorResult(mode, startTime, new StringBuilder(RESOURCES.getMessage("fanOut.noResult")));
     }
+    return result;
   }
 
-  private static void compareSchema(
-      Schema fromSchema,
-      Schema toSchema,
-      Set<String> tableTypes,
-      Set<String> excludeTables,
-      StringBuilder stepError
-  ) throws SQLException {
-    SortedMap<String, Table> fromTables = fromSchema.getTables();
-    SortedMap<String, Table> toTables = toSchema.getTables();
+  /**
+   * Creates the result for when the fan-out session ended without synchronizing this slave.
+   */
+  private ResourceSynchronizationResult newFanOutErrorResult(ResourceSynchronizationMode mode, long startTime, StringBuilder stepError) {
+    return new ResourceSynchronizationResult(
+        localResourceNode,
+        remoteResourceNode,
+        mode,
+        Collections.singletonList(
+            new ResourceSynchronizationResultStep(
+                startTime,
+                System.currentTimeMillis(),
+                ResourceStatus.ERROR,
+                RESOURCES.getMessage("synchronize.step.fanOut"),
+                new StringBuilder(),
+                new StringBuilder(),
+                stepError
+            )
+        )
+    );
+  }
 
-    // Get the union of all table names of included types that are not excluded
-    SortedSet<String> allTableNames = new TreeSet<>(DatabaseMetaData.getCollator());
-    for (Table table : fromTables.values()) {
-      String tableName = table.getName();
-      if (
-          !excludeTables.contains(fromSchema.getName() + '.' + tableName)
-              && tableTypes.contains(table.getTableType())
-      ) {
-        allTableNames.add(tableName);
-      }
+  /**
+   * Synchronizes every participant of a fan-out session from a single connection to the master.  Each table fully
+   * synchronized is scanned once on the master, merged against every slave at the same time.  Only the primary keys of
+   * the differing rows are held until all tables are scanned, then the rows are read again from the master by primary
+   * key as they are applied to each slave in its own transaction.
+   *
+   * <p>A failure of a single slave only ends the synchronization of that slave, while a failure of the master ends the
+   * synchronization of every slave.</p>
+   *
+   * @return  the result of every participant
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch", "deprecation"})
+  private static Map<JdbcResourceSynchronizer, ResourceSynchronizationResult> fanOutSynchronize(
+      JdbcResource resource,
+      ResourceSynchronizationMode mode,
+      List<JdbcResourceSynchronizer> participants
+  ) {
+    final long startTime = System.currentTimeMillis();
+    List<FanOutSlave> slaves = new ArrayList<>(participants.size());
+    for (JdbcResourceSynchronizer participant : participants) {
+      slaves.add(new FanOutSlave(participant));
     }
-    for (Table table : toTables.values()) {
-      String tableName = table.getName();
+    final Throttle throttle = resource.getThrottle();
+    boolean scanAcquired = false;
+    Handler differenceLog = null;
+    try {
+      // Step #1: Connect to the master once, then to each slave
+      String fromDataSourceName = participants.get(0).localResourceNode.getDataSource();
+      Context ic = new InitialContext();
+      Context envCtx = (Context) ic.lookup("java:comp/env");
+      DataSource fromDataSource = (DataSource) envCtx.lookup(fromDataSourceName);
+      if (fromDataSource == null) {
+        throw new NullPointerException("fromDataSource is null");
+      }
+      for (JdbcResourceSynchronizer participant : participants) {
+        participant.seedFetchSizes(resource);
+      }
+      Throttle.Meter meter = throttle.newMeter(fromDataSource, resource.getStatsDirectory() != null);
+      throttle.acquireScan();
+      scanAcquired = true;
+      Connection fromConn = fromDataSource.getConnection();
+      Connection readConn = null;
+      try {
+        // Detects the dialect before any table plan is built
+        resource.getDialect(fromConn);
+        fromConn.setReadOnly(true);
+        if (resource.getChunkSize() == 0) {
+          fromConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+          fromConn.setAutoCommit(false);
+        } else {
+          // Each query is its own short transaction, so no long-running snapshot is held on the master
+          fromConn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+          fromConn.setAutoCommit(true);
+        }
+        StringBuilder readOutput = new StringBuilder();
+        StringBuilder readWarning = new StringBuilder();
+        readConn = getReadConnection(resource, participants.get(0).localResourceNode, envCtx, fromConn, readOutput, readWarning);
+        try {
+          differenceLog = resource.acquireDifferenceLogHandler();
+          for (FanOutSlave slave : slaves) {
+            try {
+              slave.connect(resource, mode, envCtx, fromDataSourceName, fromDataSource, fromConn, differenceLog, slaves.size());
+              slave.stepOutput.append(readOutput);
+              slave.stepWarning.append(readWarning);
+              slave.end();
+            } catch (ThreadDeath td) {
+              throw td;
+            } catch (Throwable t) {
+              slave.fail(t);
+            }
+          }
+
+          // Step #2 Compare meta data, reading the master catalog once
+          for (FanOutSlave slave : slaves) {
+            if (!slave.failed) {
+              slave.begin(RESOURCES.getMessage("synchronize.step.compareMetaData"));
+            }
+          }
+          Catalog fromCatalog = getCatalog(fromConn);
+          final Set<String> schemas = resource.getSchemas();
+          final Set<String> tableTypes = resource.getTableTypes();
+          final Set<String> excludeTables = resource.getExcludeTables();
+          for (FanOutSlave slave : slaves) {
+            if (!slave.failed) {
+              try {
+                compareSchemas(fromCatalog, getCatalog(slave.toConn), schemas, tableTypes, excludeTables, resource.getExcludeColumns(), slave.stepError);
+                slave.end();
+              } catch (ThreadDeath td) {
+                throw td;
+              } catch (Throwable t) {
+                slave.fail(t);
+              }
+            }
+          }
+
+          // Run any preparation steps
+          for (FanOutSlave slave : slaves) {
+            for (Map.Entry<String, String> prepareSlave : resource.getPrepareSlaves().entrySet()) {
+              if (slave.failed) {
+                break;
+              }
+              slave.begin(RESOURCES.getMessage("synchronize.step.prepareSlave", prepareSlave.getKey()));
+              try {
+                prepareSlave(slave.toConn, prepareSlave.getKey(), prepareSlave.getValue(), slave.stepOutput);
+              } catch (ThreadDeath td) {
+                throw td;
+              } catch (Throwable t) {
+                ErrorPrinter.printStackTraces(t, slave.stepError);
+              }
+              slave.end();
+            }
+          }
+
+          // Find the differences of every slave
+          for (FanOutSlave slave : slaves) {
+            if (!slave.failed) {
+              slave.begin(RESOURCES.getMessage("synchronize.step.synchronizeData"));
+            }
+          }
+          Set<Table> tables = getSynchronizeTables(resource, fromCatalog, schemas, tableTypes, excludeTables);
+          for (FanOutSlave slave : slaves) {
+            if (!slave.failed) {
+              try {
+                boolean fullSynchronize = slave.synchronizer.isFullSynchronize();
+                slave.tables = slave.synchronizer.getScheduledTables(tables, fullSynchronize, slave.stepOutput);
+                disableChangeCapture(slave.toConn, slave.changeSources);
+                slave.changedKeys = readChangedKeys(resource, fromConn, slave.tables, fullSynchronize, slave.changeSources, slave.fullTables);
+              } catch (ThreadDeath td) {
+                throw td;
+              } catch (Throwable t) {
+                slave.fail(t);
+              }
+            }
+          }
+          final int chunkSize = resource.getChunkSize();
+          // The time and bytes of each shared scan, for the statistics of each slave
+          Map<Table, Long> scanNanos = new HashMap<>();
+          Map<Table, Long> scanBytes = new HashMap<>();
+          for (Table table : tables) {
+            List<FanOutSlave> scanSlaves = new ArrayList<>(slaves.size());
+            for (FanOutSlave slave : slaves) {
+              if (!slave.failed && slave.tables.contains(table) && !slave.changedKeys.containsKey(table)) {
+                scanSlaves.add(slave);
+              }
+            }
+            if (!scanSlaves.isEmpty()) {
+              long scanStart = System.nanoTime();
+              long scanStartBytes = meter == null ? 0 : meter.getBytesRead();
+              scanTable(readConn == null ? fromConn : readConn, meter, chunkSize, table, resource.getTablePlan(table), scanSlaves);
+              // Only the differing keys are kept, their rows are read from the master when applied
+              for (FanOutSlave slave : scanSlaves) {
+                if (!slave.failed) {
+                  TableDiff diff = slave.tableDiffs.remove(table);
+                  slave.changedKeys.put(table, diff.getKeys());
+                  slave.scanMatches.put(table, diff.matches);
+                }
+              }
+              scanNanos.put(table, System.nanoTime() - scanStart);
+              if (meter != null) {
+                scanBytes.put(table, meter.getBytesRead() - scanStartBytes);
+              }
+            }
+          }
+
+          // Apply the differences to each slave
+          List<Table> sortedTables;
+          if (resource.getDeferConstraints()) {
+            sortedTables = null;
+          } else {
+            // Topological sort based on foreign key dependencies
+            sortedTables = sortTables(fromCatalog, tableTypes, tables);
+          }
+          for (FanOutSlave slave : slaves) {
+            if (!slave.failed) {
+              try {
+                try {
+                  slave.apply(resource, fromConn, sortedTables, startTime, scanNanos, scanBytes);
+                } finally {
+                  printSynchronizeTable(slave.tables, slave.matches, slave.updates, slave.inserts, slave.deletes, slave.stepOutput);
+                }
+                slave.end();
+                // Commit/rollback based on errors
+                if (!slave.failed) {
+                  slave.toConn.commit();
+                  slave.committed = true;
+                  SyncStats stats = slave.synchronizer.getStats(resource);
+                  if (stats != null) {
+                    stats.append(slave.statsEntries);
+                  }
+                  // Only advanced once committed, so any changes not applied are found again by the next run
+                  for (ChangeSource changeSource : slave.changeSources.values()) {
+                    changeSource.committed(fromDataSource);
+                  }
+                  slave.changes = countChanges(slave.updates, slave.inserts, slave.deletes);
+                }
+              } catch (ThreadDeath td) {
+                throw td;
+              } catch (Throwable t) {
+                slave.fail(t);
+              }
+            }
+          }
+        } finally {
+          for (FanOutSlave slave : slaves) {
+            try {
+              slave.close();
+            } catch (ThreadDeath td) {
+              throw td;
+            } catch (Throwable t) {
+              slave.fail(t);
+            }
+          }
+        }
+      } finally {
+        try {
+          if (readConn != null) {
+            closeReadConnection(readConn);
+          }
+        } finally {
+          if (!fromConn.getAutoCommit()) {
+            fromConn.rollback(); // Is read-only, this should always be OK and preferred to commit of accidental changes
+            fromConn.setAutoCommit(true);
+          }
+          fromConn.close();
+        }
+      }
+    } catch (ThreadDeath td) {
+      throw td;
+    } catch (Throwable t) {
+      // The master failed, which ends every slave still being synchronized
+      for (FanOutSlave slave : slaves) {
+        if (!slave.failed) {
+          slave.fail(t);
+        }
+      }
+    } finally {
+      if (scanAcquired) {
+        throttle.releaseScan();
+      }
+      if (differenceLog != null) {
+        resource.releaseDifferenceLogHandler();
+      }
+    }
+
+    Map<JdbcResourceSynchronizer, ResourceSynchronizationResult> results = AoCollections.newHashMap(slaves.size());
+    for (FanOutSlave slave : slaves) {
+      slave.synchronizer.adaptSchedule(startTime, slave.changes);
+      results.put(
+          slave.synchronizer,
+          new ResourceSynchronizationResult(
+              slave.synchronizer.localResourceNode,
+              slave.synchronizer.remoteResourceNode,
+              mode,
+              slave.steps
+          )
+      );
+    }
+    return results;
+  }
+
+  /**
+   * Scans a table once on the master, or its read replica, merging each row against every slave.
+   * A slave that fails is removed from the scan, while the scan continues for the others.
+   */
+  private static void scanTable(
+      Connection fromConn,
+      Throttle.Meter meter,
+      int chunkSize,
+      Table table,
+      TablePlan plan,
+      List<FanOutSlave> slaves
+  ) throws SQLException {
+    Map<TableDiff, FanOutSlave> diffs = new LinkedHashMap<>();
+    try {
+      try (PreparedStatement fromStmt = prepareFromSelect(fromConn, plan, null, chunkSize)) {
+        try (ResultSet fromResults = fromStmt == null ? null : fromStmt.executeQuery()) {
+          for (FanOutSlave slave : slaves) {
+            try {
+              TableDiff diff = new TableDiff(slave.toConn, plan);
+              diffs.put(diff, slave);
+              slave.tableDiffs.put(table, diff);
+            } catch (RuntimeException | SQLException e) {
+              slave.fail(e);
+            }
+          }
+          RowIterator fromIter = newFromIterator(fromConn, plan, fromResults, null, chunkSize, meter);
+          while (!diffs.isEmpty()) {
+            Row fromRow = fromIter.peek();
+            Iterator<Map.Entry<TableDiff, FanOutSlave>> diffIter = diffs.entrySet().iterator();
+            while (diffIter.hasNext()) {
+              Map.Entry<TableDiff, FanOutSlave> entry = diffIter.next();
+              TableDiff diff = entry.getKey();
+              try {
+                if (fromRow != null) {
+                  diff.accept(fromRow);
+                } else {
+                  // All master rows done, the remaining slave rows are extra
+                  diff.finish();
+                  diffIter.remove();
+                }
+              } catch (RuntimeException | SQLException e) {
+                diffIter.remove();
+                ErrorPrinter.addSql(e, plan.getSelectSql());
+                try {
+                  diff.close();
+                } catch (RuntimeException | SQLException e2) {
+                  e.addSuppressed(e2);
+                }
+                entry.getValue().fail(e);
+              }
+            }
+            if (fromRow == null) {
+              break;
+            }
+            fromIter.remove();
+          }
+        } catch (Error | RuntimeException | SQLException e) {
+          if (fromStmt != null) {
+            ErrorPrinter.addSql(e, fromStmt);
+          }
+          throw e;
+        }
+      }
+    } finally {
+      for (TableDiff diff : diffs.keySet()) {
+        diff.close();
+      }
+    }
+  }
+
+  /**
+   * The state of one slave in a {@linkplain #fanOutSynchronize(com.aoapps.appcluster.jdbc.JdbcResource, com.aoapps.appcluster.ResourceSynchronizationMode, java.util.List) fan-out synchronization}.
+   */
+  private static final class FanOutSlave {
+
+    private final JdbcResourceSynchronizer synchronizer;
+    private final List<ResourceSynchronizationResultStep> steps = new ArrayList<>();
+
+    private long stepStartTime;
+    private String step;
+    private final StringBuilder stepOutput = new StringBuilder();
+    private final StringBuilder stepWarning = new StringBuilder();
+    private final StringBuilder stepError = new StringBuilder();
+    private boolean failed;
+
+    private DifferenceReporter reporter;
+    private Connection toConn;
+    private boolean committed;
+
+    /**
+     * The number of rows changed on the slave once committed or {@code -1} when not committed.
+     */
+    private long changes = -1;
+    private final Map<String, ChangeSource> changeSources = new LinkedHashMap<>();
+    private final Set<String> fullTables = new HashSet<>();
+    private Set<Table> tables;
+    private Map<Table, List<Row>> changedKeys;
+    private final Map<Table, TableDiff> tableDiffs = new HashMap<>();
+
+    /**
+     * The rows matched by the shared scan of each table, which are not among the changed keys.
+     */
+    private final Map<Table, Long> scanMatches = new HashMap<>();
+
+    private final Map<Table, Long> matches = new HashMap<>();
+    private final Map<Table, Long> updates = new HashMap<>();
+    private final Map<Table, Long> inserts = new HashMap<>();
+    private final Map<Table, Long> deletes = new HashMap<>();
+
+    /**
+     * The statistics of the tables applied, appended once committed.
+     */
+    private final List<SyncStats.Entry> statsEntries = new ArrayList<>();
+
+    private FanOutSlave(JdbcResourceSynchronizer synchronizer) {
+      this.synchronizer = synchronizer;
+      begin(RESOURCES.getMessage("synchronize.step.connect"));
+    }
+
+    /**
+     * Starts a new step.
+     */
+    private void begin(String step) {
+      this.stepStartTime = System.currentTimeMillis();
+      this.step = step;
+      stepOutput.setLength(0);
+      stepWarning.setLength(0);
+      stepError.setLength(0);
+    }
+
+    /**
+     * Ends the current step, failing this slave when the step has any error.
+     */
+    private void end() {
+      steps.add(
+          new ResourceSynchronizationResultStep(
+              stepStartTime,
+              System.currentTimeMillis(),
+              stepError.length() != 0 ? ResourceStatus.ERROR
+                  : stepWarning.length() != 0 ? ResourceStatus.WARNING
+                  : ResourceStatus.HEALTHY,
+              step,
+              stepOutput,
+              stepWarning,
+              stepError
+          )
+      );
+      if (stepError.length() != 0) {
+        failed = true;
+      }
+    }
+
+    /**
+     * Ends the current step in error.
+     */
+    private void fail(Throwable t) {
+      ErrorPrinter.printStackTraces(t, stepError);
+      stepError.append('\n');
+      steps.add(
+          new ResourceSynchronizationResultStep(
+              stepStartTime,
+              System.currentTimeMillis(),
+              ResourceStatus.ERROR,
+              step,
+              stepOutput,
+              stepWarning,
+              stepError
+          )
+      );
+      failed = true;
+      tableDiffs.clear();
+    }
+
+    /**
+     * Connects to the slave and prepares its change sources.
+     *
+     * @param  differenceLog  the difference log shared by all slaves, or {@code null} when none
+     */
+    private void connect(
+        JdbcResource resource,
+        ResourceSynchronizationMode mode,
+        Context envCtx,
+        String fromDataSourceName,
+        DataSource fromDataSource,
+        Connection fromConn,
+        Handler differenceLog,
+        int slaveCount
+    ) throws NamingException, SQLException, IOException {
+      String toDataSourceName = synchronizer.remoteResourceNode.getDataSource();
+      stepOutput.append("fromDataSourceName: ").append(fromDataSourceName).append('\n');
+      stepOutput.append("toDataSourceName..: ").append(toDataSourceName).append('\n');
+      stepOutput.append("fanOutSlaves......: ").append(slaveCount).append('\n');
+      if (synchronizer.adaptiveSchedule != null) {
+        stepOutput.append("adaptiveInterval..: ").append(synchronizer.adaptiveSchedule.getInterval()).append('\n');
+      }
+
+      reporter = new DifferenceReporter(
+          synchronizer,
+          mode,
+          resource.getSynchronizationListeners(),
+          RESOURCES,
+          resource.getDifferenceSampleSize(),
+          differenceLog,
+          fromDataSourceName + " -> " + toDataSourceName + ": "
+      );
+
+      DataSource toDataSource = (DataSource) envCtx.lookup(toDataSourceName);
+      if (toDataSource == null) {
+        throw new NullPointerException("toDataSource is null");
+      }
+      stepOutput.append("fromConn..........: ").append(fromConn).append('\n');
+      toConn = toDataSource.getConnection();
+      stepOutput.append("toConn............: ").append(toConn).append('\n');
+      toConn.setReadOnly(false);
+      toConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+      toConn.setAutoCommit(false);
+
+      // Change sources are prepared before the master is first read, so every change is either read or tracked
+      synchronizer.prepareChangeSources(resource, fromDataSource, changeSources, fullTables, stepOutput);
+    }
+
+    /**
+     * Applies the differences to this slave.
+     *
+     * @param  sortedTables  all tables in foreign key order or {@code null} when constraints are deferred
+     * @param  scanNanos     the nanoseconds spent by the shared scan of each table
+     * @param  scanBytes     the bytes read by the shared scan of each table
+     */
+    private void apply(
+        JdbcResource resource,
+        Connection fromConn,
+        List<Table> sortedTables,
+        long startTime,
+        Map<Table, Long> scanNanos,
+        Map<Table, Long> scanBytes
+    ) throws SQLException, IOException {
+      TableSavepoints savepoints = new TableSavepoints(resource, toConn, tables, updates, inserts, deletes, null);
+      if (sortedTables == null) {
+        // Constraints are only checked on commit, so each table is synchronized in a single pass in any order
+        deferConstraints(resource, toConn);
+        for (Table table : tables) {
+          TablePlan plan = resource.getTablePlan(table);
+          List<Row> keys = changedKeys.get(table);
+          savepoints.apply(table, false, () -> {
+            final DifferenceReporter.TableReport report = reporter.forTable(plan, stepOutput);
+            report.started();
+            // Deleted first, so a row inserted with the same unique values as a deleted row does not conflict
+            List<Row> rows = deleteChangedRows(fromConn, toConn, table, plan, keys, report, stepOutput, deletes);
+            synchronizeChangedRows(fromConn, toConn, table, plan, rows, report, matches, updates, inserts);
+            addScanMatches(table);
+            finish(table, report, matches, updates, inserts, deletes);
+          });
+        }
+      } else {
+        // Only the tables scheduled for this slave
+        sortedTables = new ArrayList<>(sortedTables);
+        sortedTables.retainAll(tables);
+
+        // The current master rows of the changed keys that still exist
+        Map<Table, List<Row>> changedRows = new HashMap<>();
+
+        // Each table is reported once, from the start of the backward pass to the end of the forward pass
+        Map<Table, DifferenceReporter.TableReport> reports = new HashMap<>();
+
+        // Delete extra rows from each table backwards
+        for (int i = sortedTables.size() - 1; i >= 0; i--) {
+          Table table = sortedTables.get(i);
+          TablePlan plan = resource.getTablePlan(table);
+          List<Row> keys = changedKeys.get(table);
+          savepoints.apply(table, true, () -> {
+            final DifferenceReporter.TableReport report = reporter.forTable(plan, stepOutput);
+            report.started();
+            reports.put(table, report);
+            changedRows.put(
+                table,
+                deleteChangedRows(fromConn, toConn, table, plan, keys, report, stepOutput, deletes)
+            );
+          });
+        }
+
+        // Update/insert forwards
+        for (Table table : sortedTables) {
+          TablePlan plan = resource.getTablePlan(table);
+          List<Row> rows = changedRows.get(table);
+          savepoints.apply(table, false, () -> {
+            final DifferenceReporter.TableReport report = reports.get(table);
+            synchronizeChangedRows(fromConn, toConn, table, plan, rows, report, matches, updates, inserts);
+            addScanMatches(table);
+            finish(table, report, matches, updates, inserts, deletes);
+          });
+        }
+      }
+      savepoints.report(stepWarning);
+      // The changes of skipped tables are found again by the next run
+      changeSources.keySet().removeAll(savepoints.getSkippedTables());
+      addStats(statsEntries, startTime, tables, matches, updates, inserts, deletes, savepoints, scanNanos, scanBytes);
+    }
+
+    /**
+     * Adds the rows matched by the shared scan of a table to the rows matched among its changed keys.
+     */
+    private void addScanMatches(Table table) {
+      Long scanned = scanMatches.get(table);
+      if (scanned != null) {
+        matches.merge(table, scanned, Long::sum);
+      }
+    }
+
+    /**
+     * Rolls-back anything not committed and closes the connection to the slave.
+     */
+    private void close() throws SQLException {
+      if (toConn != null) {
+        try {
+          if (!committed) {
+            toConn.rollback();
+          }
+          toConn.setAutoCommit(true);
+        } finally {
+          toConn.close();
+          toConn = null;
+        }
+      }
+    }
+  }
+
+  /**
+   * The differences between the master, or its read replica, and one slave for a table, found while the master is
+   * scanned.
+   */
+  private static final class TableDiff implements AutoCloseable {
+
+    private final PreparedStatement toStmt;
+    private final ResultSet toResults;
+    private final RowIterator toIter;
+    private boolean closed;
+
+    private long matches;
+
+    /**
+     * The primary keys of the extra, modified, and missing rows, so memory is bounded by the differences and not by
+     * the size of the rows.
+     */
+    private final List<Row> keys = new ArrayList<>();
+
+    private TableDiff(Connection toConn, TablePlan plan) throws SQLException {
+      toStmt = prepareSelect(toConn, plan);
+      try {
+        toResults = toStmt.executeQuery();
+        toIter = new RowIterator(plan, toResults);
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, plan.getSelectSql());
+        toStmt.close();
+        throw e;
+      }
+    }
+
+    /**
+     * Merges the next master row, in primary key order, with the slave rows.
+     */
+    private void accept(Row fromRow) throws SQLException {
+      while (true) {
+        Row toRow = toIter.peek();
+        if (toRow == null) {
+          // Missing
+          keys.add(newKeyRow(fromRow));
+          return;
+        }
+        int primaryKeyDiff = fromRow.compareTo(toRow);
+        if (primaryKeyDiff == 0) {
+          // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
+          if (fromRow.equalsNonPrimaryKey(toRow)) {
+            matches++;
+          } else {
+            keys.add(newKeyRow(fromRow));
+          }
+          toIter.remove();
+          return;
+        } else if (primaryKeyDiff < 0) {
+          // Missing
+          keys.add(newKeyRow(fromRow));
+          return;
+        } else {
+          assert primaryKeyDiff > 0;
+          // Extra
+          keys.add(newKeyRow(toRow));
+          toIter.remove();
+        }
+      }
+    }
+
+    /**
+     * Once all master rows are merged, any remaining slave rows are extra.
+     */
+    private void finish() throws SQLException {
+      Row toRow;
+      while ((toRow = toIter.peek()) != null) {
+        keys.add(newKeyRow(toRow));
+        toIter.remove();
+      }
+      close();
+    }
+
+    /**
+     * Gets the primary keys of every row that differs, as rows with only the primary key columns set.
+     */
+    private List<Row> getKeys() {
+      return keys;
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (!closed) {
+        closed = true;
+        try {
+          toResults.close();
+        } finally {
+          toStmt.close();
+        }
+      }
+    }
+  }
+
+  private static void compareSchemas(
+      Catalog fromCatalog,
+      Catalog toCatalog,
+      Set<String> schemas,
+      Set<String> tableTypes,
+      Set<String> excludeTables,
+      Set<String> excludeColumns,
+      StringBuilder stepError
+  ) throws SQLException {
+    for (String schema : schemas) {
+      compareSchema(fromCatalog.getSchema(schema), toCatalog.getSchema(schema), tableTypes, excludeTables, excludeColumns, stepError);
+    }
+  }
+
+  private static void compareSchema(
+      Schema fromSchema,
+      Schema toSchema,
+      Set<String> tableTypes,
+      Set<String> excludeTables,
+      Set<String> excludeColumns,
+      StringBuilder stepError
+  ) throws SQLException {
+    SortedMap<String, Table> fromTables = fromSchema.getTables();
+    SortedMap<String, Table> toTables = toSchema.getTables();
+
+    // Get the union of all table names of included types that are not excluded
+    SortedSet<String> allTableNames = new TreeSet<>(DatabaseMetaData.getCollator());
+    for (Table table : fromTables.values()) {
+      String tableName = table.getName();
+      if (
+          !excludeTables.contains(fromSchema.getName() + '.' + tableName)
+              && tableTypes.contains(table.getTableType())
+      ) {
+        allTableNames.add(tableName);
+      }
+    }
+    for (Table table : toTables.values()) {
+      String tableName = table.getName();
       if (
           !excludeTables.contains(toSchema.getName() + '.' + tableName)
               && tableTypes.contains(table.getTableType())
@@ -456,7 +1787,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       if (fromTable != null) {
         if (toTable != null) {
           // Exists in both, continue on to check columns
-          compareTable(fromTable, toTable, stepError);
+          compareTable(fromTable, toTable, excludeColumns, stepError);
         } else {
           stepError.append(RESOURCES.getMessage("compareSchema.missingTable", toSchema.getCatalog(), toSchema, tableName)).append('\n');
         }
@@ -470,7 +1801,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     }
   }
 
-  private static void compareTable(Table fromTable, Table toTable, StringBuilder stepError) throws SQLException {
+  private static void compareTable(Table fromTable, Table toTable, Set<String> excludeColumns, StringBuilder stepError) throws SQLException {
     assert fromTable.equals(toTable);
     if (!fromTable.getTableType().equals(toTable.getTableType())) {
       stepError.append(
@@ -489,13 +1820,19 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       SortedSet<String> allColumnNames = new TreeSet<>(DatabaseMetaData.getCollator());
       allColumnNames.addAll(fromColumns.keySet());
       allColumnNames.addAll(toColumns.keySet());
+      // Excluded columns may differ between nodes
+      String tablePrefix = fromTable.getSchema().getName() + '.' + fromTable.getName() + '.';
+      allColumnNames.removeIf(columnName -> excludeColumns.contains(tablePrefix + columnName));
+      // Positions are compared among the columns not excluded, so an excluded column does not shift the others
+      Map<String, Integer> fromPositions = getPositions(fromTable, tablePrefix, excludeColumns);
+      Map<String, Integer> toPositions = getPositions(toTable, tablePrefix, excludeColumns);
       for (String columnName : allColumnNames) {
         Column fromColumn = fromColumns.get(columnName);
         Column toColumn = toColumns.get(columnName);
         if (fromColumn != null) {
           if (toColumn != null) {
             // Exists in both, continue on to check column detail
-            compareColumn(fromColumn, toColumn, stepError);
+            compareColumn(fromColumn, toColumn, fromPositions.get(columnName), toPositions.get(columnName), stepError);
           } else {
             stepError.append(RESOURCES.getMessage("compareTable.missingColumn", toTable.getSchema().getCatalog(), toTable.getSchema(), toTable, columnName)).append('\n');
           }
@@ -528,7 +1865,25 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     }
   }
 
-  private static void compareColumn(Column fromColumn, Column toColumn, StringBuilder stepError) {
+  /**
+   * Gets the position of each column of a table among the columns not excluded, starting at {@code 1}.
+   */
+  private static Map<String, Integer> getPositions(Table table, String tablePrefix, Set<String> excludeColumns) throws SQLException {
+    Map<String, Integer> positions = new HashMap<>();
+    int position = 0;
+    for (Column column : table.getColumns()) {
+      if (!excludeColumns.contains(tablePrefix + column.getName())) {
+        positions.put(column.getName(), ++position);
+      }
+    }
+    return positions;
+  }
+
+  /**
+   * @param  fromPosition  the position of the column on the master among the columns not excluded
+   * @param  toPosition    the position of the column on the slave among the columns not excluded
+   */
+  private static void compareColumn(Column fromColumn, Column toColumn, int fromPosition, int toPosition, StringBuilder stepError) {
     String schema = fromColumn.getTable().getSchema().getName();
     String table = fromColumn.getTable().getName();
     String column = fromColumn.getName();
@@ -624,15 +1979,15 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       ).append('\n');
     }
     // int ordinalPosition
-    if (fromColumn.getOrdinalPosition() != toColumn.getOrdinalPosition()) {
+    if (fromPosition != toPosition) {
       stepError.append(
           RESOURCES.getMessage(
               "compareColumn.mismatch.ordinalPosition",
               schema,
               table,
               column,
-              fromColumn.getOrdinalPosition(),
-              toColumn.getOrdinalPosition()
+              fromPosition,
+              toPosition
           )
       ).append('\n');
     }
@@ -713,10 +2068,12 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     }
   }
 
-  @SuppressWarnings("deprecation")
   private static void testSchemasData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
       Connection fromConn,
       Connection toConn,
+      Throttle.Meter meter,
       int timeout,
       Catalog fromCatalog,
       Catalog toCatalog,
@@ -725,49 +2082,188 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       Set<String> excludeTables,
       Set<String> noWarnTables,
       StringBuilder stepOutput,
-      StringBuilder stepWarning
+      StringBuilder stepWarning,
+      StringBuilder stepError
   ) throws SQLException {
     List<Object> outputTable = new ArrayList<>();
     try {
       for (String schema : schemas) {
-        testSchemaData(fromConn, toConn, timeout, fromCatalog.getSchema(schema), toCatalog.getSchema(schema), tableTypes, excludeTables, noWarnTables, outputTable, stepOutput, stepWarning);
+        testSchemaData(resource, reporter, fromConn, toConn, meter, timeout, fromCatalog.getSchema(schema), toCatalog.getSchema(schema), tableTypes, excludeTables, noWarnTables, outputTable, stepOutput, stepWarning, stepError);
       }
     } finally {
-      try {
-        // Insert the table before any other output
-        String currentOut = stepOutput.toString();
-        stepOutput.setLength(0);
-        SQLUtility.printTable(
-            new String[]{
-                RESOURCES.getMessage("testSchemasData.column.schema"),
-                RESOURCES.getMessage("testSchemasData.column.table"),
-                RESOURCES.getMessage("testSchemasData.column.matches"),
-                RESOURCES.getMessage("testSchemasData.column.modified"),
-                RESOURCES.getMessage("testSchemasData.column.missing"),
-                RESOURCES.getMessage("testSchemasData.column.extra"),
-            },
-            outputTable.toArray(),
-            stepOutput,
-            true,
-            new boolean[]{
-                false,
-                false,
-                true,
-                true,
-                true,
-                true
-            }
+      printTestTable(outputTable, stepOutput);
+    }
+  }
+
+  /**
+   * Inserts the per-table counts of a test before any other output.
+   */
+  @SuppressWarnings("deprecation")
+  private static void printTestTable(List<Object> outputTable, StringBuilder stepOutput) {
+    try {
+      String currentOut = stepOutput.toString();
+      stepOutput.setLength(0);
+      SQLUtility.printTable(
+          new String[]{
+              RESOURCES.getMessage("testSchemasData.column.schema"),
+              RESOURCES.getMessage("testSchemasData.column.table"),
+              RESOURCES.getMessage("testSchemasData.column.matches"),
+              RESOURCES.getMessage("testSchemasData.column.modified"),
+              RESOURCES.getMessage("testSchemasData.column.missing"),
+              RESOURCES.getMessage("testSchemasData.column.extra"),
+          },
+          outputTable.toArray(),
+          stepOutput,
+          true,
+          new boolean[]{
+              false,
+              false,
+              true,
+              true,
+              true,
+              true
+          }
+      );
+      stepOutput.append(currentOut);
+    } catch (IOException exc) {
+      throw new AssertionError(exc);
+    }
+  }
+
+  /**
+   * Verifies the next slice of primary key space, continuing from the checkpoint of the previous run.
+   * Tables are verified in schema then table name order.  When the time box is reached, the last primary key
+   * compared is saved as the new checkpoint.  When the last table is completed, the cycle is completed and the next
+   * run starts over at the first table.
+   *
+   * <p>The checkpoint is only saved once this slice has been verified, so a failed run is repeated by the next run.</p>
+   *
+   * @see  JdbcResource#getRollingSchedule()
+   */
+  private static void rollingSchemasData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
+      Connection fromConn,
+      Connection toConn,
+      Throttle.Meter meter,
+      int timeout,
+      Catalog fromCatalog,
+      Catalog toCatalog,
+      Set<String> schemas,
+      Set<String> tableTypes,
+      Set<String> excludeTables,
+      Set<String> noWarnTables,
+      Path checkpointFile,
+      StringBuilder stepOutput,
+      StringBuilder stepWarning,
+      StringBuilder stepError
+  ) throws SQLException, IOException {
+    // Find all tables, in order
+    List<Table> fromTables = new ArrayList<>();
+    List<Table> toTables = new ArrayList<>();
+    for (String schema : schemas) {
+      SortedMap<String, Table> fromSchemaTables = fromCatalog.getSchema(schema).getTables();
+      SortedMap<String, Table> toSchemaTables = toCatalog.getSchema(schema).getTables();
+      assert fromSchemaTables.keySet().equals(toSchemaTables.keySet()) : "This should have been caught by the meta data checks";
+      for (Map.Entry<String, Table> entry : fromSchemaTables.entrySet()) {
+        String tableName = entry.getKey();
+        Table fromTable = entry.getValue();
+        String tableType = fromTable.getTableType();
+        if (
+            !excludeTables.contains(schema + '.' + tableName)
+                && tableTypes.contains(tableType)
+        ) {
+          if ("TABLE".equals(tableType)) {
+            fromTables.add(fromTable);
+            toTables.add(toSchemaTables.get(tableName));
+          } else {
+            throw new SQLException("Unimplemented table type: " + tableType);
+          }
+        }
+      }
+    }
+    RollingCheckpoint checkpoint = RollingCheckpoint.load(checkpointFile);
+    // Find the table to resume at, starting over when it no longer exists
+    int start = 0;
+    String checkpointTable = checkpoint.getTable();
+    if (checkpointTable != null) {
+      for (int i = 0; i < fromTables.size(); i++) {
+        Table table = fromTables.get(i);
+        if (checkpointTable.equals(table.getSchema().getName() + '.' + table.getName())) {
+          start = i;
+          break;
+        }
+      }
+    }
+    final long deadline = System.currentTimeMillis() + resource.getRollingDuration() * 1000L;
+    List<Object> outputTable = new ArrayList<>();
+    StringBuilder ranges = new StringBuilder();
+    try {
+      RollingCheckpoint newCheckpoint = null;
+      for (int i = start; i < fromTables.size(); i++) {
+        Table fromTable = fromTables.get(i);
+        String schemaTable = fromTable.getSchema().getName() + '.' + fromTable.getName();
+        TablePlan plan = resource.getTablePlan(fromTable);
+        Object[] after = i == start && checkpointTable != null && checkpointTable.equals(schemaTable) ? checkpoint.getKey(plan) : null;
+        List<Object> stoppedAt = testTableData(
+            resource,
+            reporter,
+            fromConn,
+            toConn,
+            meter,
+            timeout,
+            fromTable,
+            toTables.get(i),
+            noWarnTables,
+            0,
+            0,
+            after,
+            deadline,
+            outputTable,
+            stepOutput,
+            stepWarning,
+            stepError
         );
-        stepOutput.append(currentOut);
-      } catch (IOException exc) {
-        throw new AssertionError(exc);
+        ranges.append(
+            RESOURCES.getMessage(
+                "rollingSchemasData.range",
+                schemaTable,
+                after == null ? RESOURCES.getMessage("rollingSchemasData.range.start") : Arrays.asList(after),
+                stoppedAt == null ? RESOURCES.getMessage("rollingSchemasData.range.end") : stoppedAt
+            )
+        ).append('\n');
+        if (stoppedAt != null) {
+          newCheckpoint = checkpoint.resumeAt(plan, schemaTable, stoppedAt);
+          break;
+        }
+        if (System.currentTimeMillis() >= deadline && (i + 1) < fromTables.size()) {
+          Table nextTable = fromTables.get(i + 1);
+          newCheckpoint = checkpoint.resumeAt(plan, nextTable.getSchema().getName() + '.' + nextTable.getName(), null);
+          break;
+        }
+      }
+      if (newCheckpoint == null) {
+        newCheckpoint = checkpoint.completeCycle();
+        ranges.append(
+            RESOURCES.getMessage(
+                "rollingSchemasData.cycleCompleted",
+                Instant.ofEpochMilli(checkpoint.getCycleStarted())
+            )
+        ).append('\n');
       }
+      newCheckpoint.save(checkpointFile);
+    } finally {
+      stepOutput.insert(0, ranges);
+      printTestTable(outputTable, stepOutput);
     }
   }
 
   private static void testSchemaData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
       Connection fromConn,
       Connection toConn,
+      Throttle.Meter meter,
       int timeout,
       Schema fromSchema,
       Schema toSchema,
@@ -776,7 +2272,8 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       Set<String> noWarnTables,
       List<Object> outputTable,
       StringBuilder stepOutput,
-      StringBuilder stepWarning
+      StringBuilder stepWarning,
+      StringBuilder stepError
   ) throws SQLException {
     assert fromSchema.equals(toSchema);
 
@@ -795,7 +2292,26 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
               && tableTypes.contains(tableType)
       ) {
         if ("TABLE".equals(tableType)) {
-          testTableData(fromConn, toConn, timeout, fromTable, toTable, noWarnTables, outputTable, stepOutput, stepWarning);
+          String schemaTable = fromSchema.getName() + '.' + tableName;
+          testTableData(
+              resource,
+              reporter,
+              fromConn,
+              toConn,
+              meter,
+              timeout,
+              fromTable,
+              toTable,
+              noWarnTables,
+              resource.getTestMaxDifferences(schemaTable),
+              resource.getTestMaxDifferencePercent(schemaTable),
+              null,
+              Long.MAX_VALUE,
+              outputTable,
+              stepOutput,
+              stepWarning,
+              stepError
+          );
         } else {
           throw new SQLException("Unimplemented table type: " + tableType);
         }
@@ -845,13 +2361,11 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
    */
   static class Row implements Comparable<Row> {
 
-    private final Column[] primaryKeyColumns;
-    private final Column[] nonPrimaryKeyColumns;
+    private final TablePlan plan;
     private final Object[] values;
 
-    Row(Column[] primaryKeyColumns, Column[] nonPrimaryKeyColumns, Object[] values) {
-      this.primaryKeyColumns = primaryKeyColumns;
-      this.nonPrimaryKeyColumns = nonPrimaryKeyColumns;
+    Row(TablePlan plan, Object[] values) {
+      this.plan = plan;
       this.values = values;
     }
 
@@ -864,12 +2378,11 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
      */
     @Override
     public int compareTo(Row other) {
-      for (Column primaryKeyColumn : primaryKeyColumns) {
-        int index = primaryKeyColumn.getOrdinalPosition() - 1;
+      for (int index : plan.getPrimaryKeyIndexes()) {
         Object val = values[index];
         Object otherVal = other.values[index];
         int diff;
-        int dataType = primaryKeyColumn.getDataType();
+        int dataType = plan.getDataType(index);
         try {
           switch (dataType) {
             case Types.BIGINT:
@@ -909,7 +2422,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
               diff = ((Timestamp) val).compareTo((Timestamp) otherVal);
               break;
             default:
-              throw new UnsupportedOperationException("Type comparison not implemented: " + primaryKeyColumn.getDataType());
+              throw new UnsupportedOperationException("Type comparison not implemented: " + dataType);
           }
         } catch (ClassCastException e) {
           ClassCastException newE = new ClassCastException(e.getMessage() + ": dataType=" + dataType + ", otherVal.class.name=" + otherVal.getClass().getName());
@@ -925,8 +2438,7 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     }
 
     boolean equalsNonPrimaryKey(Row other) {
-      for (Column nonPrimaryKeyColumn : nonPrimaryKeyColumns) {
-        int index = nonPrimaryKeyColumn.getOrdinalPosition() - 1;
+      for (int index : plan.getNonPrimaryKeyIndexes()) {
         if (
             !Objects.equals(
                 values[index],
@@ -939,6 +2451,47 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       return true;
     }
 
+    /**
+     * Gets the value of the given column, which is the hash for any hashed column, or {@code null} for the hashed
+     * columns after the first when hashes are combined.
+     *
+     * @see  TablePlan#isHashed(int)
+     */
+    Object getValue(int index) {
+      return values[index];
+    }
+
+    /**
+     * Gets the primary key values of this row, in primary key order.
+     */
+    List<Object> getPrimaryKey() {
+      int[] pkIndexes = plan.getPrimaryKeyIndexes();
+      Object[] primaryKey = new Object[pkIndexes.length];
+      for (int i = 0; i < pkIndexes.length; i++) {
+        primaryKey[i] = values[pkIndexes[i]];
+      }
+      return Collections.unmodifiableList(Arrays.asList(primaryKey));
+    }
+
+    /**
+     * Gets the approximate number of bytes of the values of this row.
+     */
+    long getSize() {
+      long size = 0;
+      for (Object value : values) {
+        if (value == null) {
+          size++;
+        } else if (value instanceof byte[]) {
+          size += ((byte[]) value).length;
+        } else if (value instanceof String) {
+          size += ((String) value).length();
+        } else {
+          size += Long.BYTES;
+        }
+      }
+      return size;
+    }
+
     /**
      * Gets a string representation of the primary key values of this row.
      * This is only meant to be human readable, not for sending to SQL directly.
@@ -947,50 +2500,170 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
       StringBuilder sb = new StringBuilder();
       sb.append('(');
       boolean didOne = false;
-      for (Column primaryKeyColumn : primaryKeyColumns) {
+      for (int index : plan.getPrimaryKeyIndexes()) {
         if (didOne) {
           sb.append(", ");
         } else {
           didOne = true;
         }
-        appendValue(sb, primaryKeyColumn.getDataType(), values[primaryKeyColumn.getOrdinalPosition() - 1]);
+        appendValue(sb, plan.getDataType(index), values[index]);
       }
       sb.append(')');
       return sb.toString();
     }
   }
 
-  private static Column[] getNonPrimaryKeyColumns(List<Column> columns, List<Column> pkColumns) {
-    Column[] nonPrimaryKeyColumns = new Column[columns.size() - pkColumns.size()];
-    int index = 0;
-    for (Column column : columns) {
-      if (!pkColumns.contains(column)) {
-        nonPrimaryKeyColumns[index++] = column;
+  /**
+   * Reads the current row of results selected by one of the {@link TablePlan} queries.
+   */
+  private static Row readRow(TablePlan plan, ResultSet results) throws SQLException {
+    Object[] values = new Object[plan.getColumnCount()];
+    for (int index = 0; index < values.length; index++) {
+      values[index] = results.getObject(index + 1);
+    }
+    return new Row(plan, values);
+  }
+
+  /**
+   * The maximum number of attempts to read each page of rows.
+   */
+  private static final int PAGE_ATTEMPTS = 3;
+
+  /**
+   * Checks if a failure is transient and the statement may be retried.  This includes serialization failures,
+   * deadlocks, and queries canceled by conflicts with recovery on a standby server.
+   */
+  private static boolean isTransient(SQLException e) {
+    String sqlState = e.getSQLState();
+    return sqlState != null && sqlState.startsWith("40");
+  }
+
+  /**
+   * Reads all rows of a table in keyset-paginated pages.  Each page is read by a single query, which is its own short
+   * transaction when the connection is in auto-commit mode.  A page that fails transiently is read again.
+   *
+   * @see  JdbcResource#getChunkSize()
+   */
+  static class PagedRows {
+    private final TablePlan plan;
+    private final Connection conn;
+    private final int pageSize;
+    private Object[] after;
+    private List<Row> page = Collections.emptyList();
+    private int pagePos;
+    private boolean lastPage;
+
+    /**
+     * @param  after  only read the rows after this primary key, in primary key order, or {@code null} to read from the
+     *                beginning of the table
+     */
+    PagedRows(TablePlan plan, Connection conn, int pageSize, Object[] after) {
+      this.plan = plan;
+      this.conn = conn;
+      this.pageSize = pageSize;
+      this.after = after;
+    }
+
+    /**
+     * Gets the next row, reading the next page as needed.
+     *
+     * @return  the next row or <code>null</code> when all rows have been read.
+     */
+    Row next() throws SQLException {
+      if (pagePos >= page.size()) {
+        if (lastPage) {
+          return null;
+        }
+        page = readPage();
+        pagePos = 0;
+        lastPage = page.size() < pageSize;
+        if (page.isEmpty()) {
+          return null;
+        }
+        Row lastRow = page.get(page.size() - 1);
+        int[] pkIndexes = plan.getPrimaryKeyIndexes();
+        after = new Object[pkIndexes.length];
+        for (int i = 0; i < pkIndexes.length; i++) {
+          after[i] = lastRow.getValue(pkIndexes[i]);
+        }
       }
+      return page.get(pagePos++);
     }
-    if (index != nonPrimaryKeyColumns.length) {
-      throw new AssertionError();
+
+    private List<Row> readPage() throws SQLException {
+      String sql = after == null ? plan.getSelectFirstPageSql() : plan.getSelectPageSql();
+      for (int attempt = 1; ; attempt++) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+          try {
+            int pos = 1;
+            if (after != null) {
+              for (Object value : after) {
+                pstmt.setObject(pos++, value);
+              }
+            }
+            pstmt.setInt(pos, pageSize);
+            List<Row> rows = new ArrayList<>(pageSize);
+            try (ResultSet results = pstmt.executeQuery()) {
+              while (results.next()) {
+                rows.add(readRow(plan, results));
+              }
+            }
+            return rows;
+          } catch (SQLException e) {
+            if (attempt < PAGE_ATTEMPTS && isTransient(e)) {
+              if (!conn.getAutoCommit()) {
+                conn.rollback();
+              }
+              continue;
+            }
+            ErrorPrinter.addSql(e, pstmt);
+            throw e;
+          } catch (Error | RuntimeException e) {
+            ErrorPrinter.addSql(e, pstmt);
+            throw e;
+          }
+        }
+      }
     }
-    return nonPrimaryKeyColumns;
   }
 
   /**
    * Iterates rows from a result set, ensuring that each row is properly ordered after the previous.
    */
   static class RowIterator {
-    private final Column[] columns;
-    private final Column[] primaryKeyColumns;
-    private final Column[] nonPrimaryKeyColumns;
+    private final TablePlan plan;
     private final ResultSet results;
+    private final PagedRows pages;
+    private final Throttle.Meter meter;
+    private final FetchSize.Tracker fetchTracker;
     private Row previousRow;
     private Row nextRow;
 
-    RowIterator(List<Column> columns, Index primaryKey, ResultSet results) throws SQLException {
-      this.columns = columns.toArray(new Column[columns.size()]);
-      List<Column> pkColumns = primaryKey.getColumns();
-      this.primaryKeyColumns = pkColumns.toArray(new Column[pkColumns.size()]);
-      this.nonPrimaryKeyColumns = getNonPrimaryKeyColumns(columns, pkColumns);
+    /**
+     * @param  meter  the meter of the rows read or {@code null} when not throttled
+     */
+    RowIterator(TablePlan plan, ResultSet results, Throttle.Meter meter) throws SQLException {
+      this.plan = plan;
       this.results = results;
+      this.pages = null;
+      this.meter = meter;
+      this.fetchTracker = plan.getFetchSize().track(results);
+      this.nextRow = getNextRow();
+    }
+
+    RowIterator(TablePlan plan, ResultSet results) throws SQLException {
+      this(plan, results, null);
+    }
+
+    /**
+     * @param  meter  the meter of the rows read or {@code null} when not throttled
+     */
+    RowIterator(TablePlan plan, PagedRows pages, Throttle.Meter meter) throws SQLException {
+      this.plan = plan;
+      this.results = null;
+      this.pages = pages;
+      this.meter = meter;
+      this.fetchTracker = null;
       this.nextRow = getNextRow();
     }
 
@@ -998,15 +2671,24 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
      * Gest the next row from the results.
      */
     private Row getNextRow() throws SQLException {
-      if (results.next()) {
-        Object[] values = new Object[columns.length];
-        for (int index = 0; index < values.length; index++) {
-          values[index] = results.getObject(index + 1);
-        }
-        return new Row(primaryKeyColumns, nonPrimaryKeyColumns, values);
+      Row row;
+      if (pages != null) {
+        row = pages.next();
+      } else if (fetchTracker != null ? fetchTracker.next() : results.next()) {
+        row = readRow(plan, results);
       } else {
-        return null;
+        row = null;
       }
+      if (row != null && (meter != null || fetchTracker != null)) {
+        long size = row.getSize();
+        if (meter != null) {
+          meter.read(size);
+        }
+        if (fetchTracker != null) {
+          fetchTracker.read(size);
+        }
+      }
+      return row;
     }
 
     /**
@@ -1033,80 +2715,494 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
         nextRow = null;
         return null;
       }
-      if (previousRow != null) {
-        // Make sure this row is after the previous
-        if (newNextRow.compareTo(previousRow) <= 0) {
-          throw new SQLException("Rows out of order: " + previousRow.getPrimaryKeyValues() + " and " + newNextRow.getPrimaryKeyValues());
+      if (previousRow != null) {
+        // Make sure this row is after the previous
+        if (newNextRow.compareTo(previousRow) <= 0) {
+          throw new SQLException("Rows out of order: " + previousRow.getPrimaryKeyValues() + " and " + newNextRow.getPrimaryKeyValues());
+        }
+      }
+      previousRow = nextRow;
+      nextRow = newNextRow;
+      return newNextRow;
+    }
+  }
+
+  /**
+   * Prepares the query used to select the entire table in primary key order.
+   *
+   * @see  TablePlan#getSelectSql()
+   */
+  private static PreparedStatement prepareSelect(Connection conn, TablePlan plan) throws SQLException {
+    PreparedStatement pstmt = conn.prepareStatement(plan.getSelectSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT);
+    try {
+      pstmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+      pstmt.setFetchSize(plan.getFetchSize().getInitial(plan));
+      return pstmt;
+    } catch (Error | RuntimeException | SQLException e) {
+      pstmt.close();
+      throw e;
+    }
+  }
+
+  /**
+   * The minimum number of rows that must be scanned before {@link JdbcResource#getTestMaxDifferencePercent()} is
+   * evaluated.
+   */
+  private static final long MAX_DIFFERENCE_PERCENT_MIN_ROWS = 1000;
+
+  /**
+   * Checks if a test has found enough differences in a table to stop scanning it.
+   *
+   * @param  maxDifferences        the number of differences to stop at, or {@code 0} for no limit
+   * @param  maxDifferencePercent  the percentage of differing rows to stop at, or {@code 0} for no limit
+   */
+  private static boolean isThresholdReached(long matches, long differences, int maxDifferences, double maxDifferencePercent) {
+    if (maxDifferences > 0 && differences >= maxDifferences) {
+      return true;
+    }
+    if (maxDifferencePercent > 0 && differences > 0) {
+      long rows = matches + differences;
+      return rows >= MAX_DIFFERENCE_PERCENT_MIN_ROWS && differences * 100.0 >= maxDifferencePercent * rows;
+    }
+    return false;
+  }
+
+  /**
+   * Prepares the query used to select all rows after the given primary key in primary key order.
+   *
+   * @param  after  the primary key values, in primary key order
+   *
+   * @see  TablePlan#getSelectAfterSql()
+   */
+  private static PreparedStatement prepareSelectAfter(Connection conn, TablePlan plan, Object[] after) throws SQLException {
+    PreparedStatement pstmt = conn.prepareStatement(plan.getSelectAfterSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT);
+    try {
+      pstmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+      pstmt.setFetchSize(plan.getFetchSize().getInitial(plan));
+      for (int i = 0; i < after.length; i++) {
+        pstmt.setObject(i + 1, after[i]);
+      }
+      return pstmt;
+    } catch (Error | RuntimeException | SQLException e) {
+      pstmt.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Prepares the query used to select rows from the master, which is only used when the master is not read in pages.
+   *
+   * @param  after     only select the rows after this primary key, in primary key order, or {@code null} to select
+   *                   from the beginning of the table
+   * @param  pageSize  the number of rows per page, or {@code 0} to read the table in a single query
+   *
+   * @return  the statement or {@code null} when the master is read in pages
+   */
+  private static PreparedStatement prepareFromSelect(Connection fromConn, TablePlan plan, Object[] after, int pageSize) throws SQLException {
+    if (pageSize != 0) {
+      return null;
+    }
+    return after == null ? prepareSelect(fromConn, plan) : prepareSelectAfter(fromConn, plan, after);
+  }
+
+  /**
+   * Iterates the rows from the master, either from the results of {@link #prepareFromSelect(java.sql.Connection, com.aoapps.appcluster.jdbc.TablePlan, java.lang.Object[], int)}
+   * or in pages.
+   *
+   * @param  fromResults  the results or {@code null} when the master is read in pages
+   * @param  meter        the meter of the rows read or {@code null} when not throttled
+   */
+  private static RowIterator newFromIterator(Connection fromConn, TablePlan plan, ResultSet fromResults, Object[] after, int pageSize, Throttle.Meter meter) throws SQLException {
+    if (fromResults != null) {
+      return new RowIterator(plan, fromResults, meter);
+    } else {
+      return new RowIterator(plan, new PagedRows(plan, fromConn, pageSize, after), meter);
+    }
+  }
+
+  /**
+   * Queries both from and to tables, sorted by each column of the primary key in ascending order.
+   * All differences are found in a single pass through the tables, with no buffering and only a single query of each result.
+   * Scanning stops early once the table has reached its configured difference threshold.
+   *
+   * @param  maxDifferences        the number of differences to stop at, or {@code 0} for no limit
+   * @param  maxDifferencePercent  the percentage of differing rows to stop at, or {@code 0} for no limit
+   * @param  after                 only compare the rows after this primary key, in primary key order, or {@code null}
+   *                               to compare from the beginning of the table
+   * @param  deadline              the time at which to stop scanning, or {@link Long#MAX_VALUE} for no limit
+   *
+   * @return  the last primary key compared when stopped at the deadline, or {@code null} when the scan completed or
+   *          stopped at a difference threshold
+   *
+   * @see  JdbcResource#getTestMaxDifferences()
+   * @see  JdbcResource#getTestMaxDifferencePercent()
+   */
+  private static List<Object> testTableData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
+      Connection fromConn,
+      Connection toConn,
+      Throttle.Meter meter,
+      int timeout,
+      Table fromTable,
+      Table toTable,
+      Set<String> noWarnTables,
+      int maxDifferences,
+      double maxDifferencePercent,
+      Object[] after,
+      long deadline,
+      List<Object> outputTable,
+      StringBuilder stepOutput,
+      StringBuilder stepWarning,
+      StringBuilder stepError
+  ) throws SQLException {
+    assert fromTable.equals(toTable);
+    final String schema = fromTable.getSchema().getName();
+    final boolean noWarn = noWarnTables.contains(schema + '.' + fromTable.getName());
+    final StringBuilder stepResults = noWarn ? stepOutput : stepWarning;
+    final TablePlan plan = resource.getTablePlan(fromTable);
+    final int chunkSize = resource.getChunkSize();
+    final String sql = after == null ? plan.getSelectSql() : plan.getSelectAfterSql();
+    final DifferenceReporter.TableReport report = reporter.forTable(plan, stepResults);
+    report.started();
+    try (PreparedStatement fromStmt = prepareFromSelect(fromConn, plan, after, chunkSize)) {
+      try {
+        try (PreparedStatement toStmt = after == null ? prepareSelect(toConn, plan) : prepareSelectAfter(toConn, plan, after)) {
+          try (
+              ResultSet fromResults = fromStmt == null ? null : fromStmt.executeQuery();
+              ResultSet toResults = toStmt.executeQuery()
+              ) {
+            long matches = 0;
+            long modified = 0;
+            long missing = 0;
+            long extra = 0;
+            List<Object> stoppedAt = null;
+            RowIterator fromIter = newFromIterator(fromConn, plan, fromResults, after, chunkSize, meter);
+            RowIterator toIter = new RowIterator(plan, toResults);
+            while (true) {
+              Row fromRow = fromIter.peek();
+              Row toRow = toIter.peek();
+              Row lastRow;
+              if (fromRow != null) {
+                if (toRow != null) {
+                  int primaryKeyDiff = fromRow.compareTo(toRow);
+                  if (primaryKeyDiff == 0) {
+                    // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
+                    if (fromRow.equalsNonPrimaryKey(toRow)) {
+                      // Exact match, remove both
+                      matches++;
+                    } else {
+                      // Modified
+                      report.modified("testTableData.modified", fromRow);
+                      modified++;
+                    }
+                    lastRow = fromRow;
+                    fromIter.remove();
+                    toIter.remove();
+                  } else if (primaryKeyDiff < 0) {
+                    // Missing
+                    report.missing("testTableData.missing", fromRow);
+                    missing++;
+                    lastRow = fromRow;
+                    fromIter.remove();
+                  } else {
+                    assert primaryKeyDiff > 0;
+                    // Extra
+                    report.extra("testTableData.extra", toRow);
+                    extra++;
+                    lastRow = toRow;
+                    toIter.remove();
+                  }
+                } else {
+                  // Missing
+                  report.missing("testTableData.missing", fromRow);
+                  missing++;
+                  lastRow = fromRow;
+                  fromIter.remove();
+                }
+              } else {
+                if (toRow != null) {
+                  // Extra
+                  report.extra("testTableData.extra", toRow);
+                  extra++;
+                  lastRow = toRow;
+                  toIter.remove();
+                } else {
+                  // All rows done
+                  break;
+                }
+              }
+              if (isThresholdReached(matches, modified + missing + extra, maxDifferences, maxDifferencePercent)) {
+                // Stop scanning this table, leaving the remaining rows unread
+                (noWarn ? stepWarning : stepError).append(
+                    RESOURCES.getMessage(
+                        "testTableData.thresholdReached",
+                        schema,
+                        fromTable.getName(),
+                        modified + missing + extra,
+                        matches + modified + missing + extra
+                    )
+                ).append('\n');
+                break;
+              }
+              if (deadline != Long.MAX_VALUE && System.currentTimeMillis() >= deadline) {
+                stoppedAt = lastRow.getPrimaryKey();
+                break;
+              }
+            }
+            report.finish(matches, modified, missing, extra);
+            outputTable.add(schema);
+            outputTable.add(fromTable.getName());
+            outputTable.add(matches);
+            outputTable.add(modified == 0 ? null : modified);
+            outputTable.add(missing == 0 ? null : missing);
+            outputTable.add(extra == 0 ? null : extra);
+            return stoppedAt;
+          }
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, sql);
+          throw e;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        if (fromStmt != null) {
+          ErrorPrinter.addSql(e, fromStmt);
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * The z-score of a two-sided 95% confidence interval.
+   */
+  private static final double CONFIDENCE_Z = 1.959964;
+
+  /**
+   * Computes the Wilson score interval of a proportion.  Unlike the normal approximation, this remains meaningful
+   * when no differences, or only a few, are found in a small sample.
+   *
+   * @return  the lower and upper bounds of the proportion, between {@code 0} and {@code 1}
+   */
+  private static double[] getConfidenceInterval(long differences, long rows) {
+    assert rows > 0;
+    double n = rows;
+    double p = differences / n;
+    double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+    double denominator = 1 + z2 / n;
+    double center = (p + z2 / (2 * n)) / denominator;
+    double halfWidth = CONFIDENCE_Z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+    return new double[]{
+        Math.max(0, center - halfWidth),
+        Math.min(1, center + halfWidth)
+    };
+  }
+
+  @SuppressWarnings("deprecation")
+  private static void sampleSchemasData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
+      Connection fromConn,
+      Connection toConn,
+      Catalog fromCatalog,
+      Catalog toCatalog,
+      Set<String> schemas,
+      Set<String> tableTypes,
+      Set<String> excludeTables,
+      Set<String> noWarnTables,
+      StringBuilder stepOutput,
+      StringBuilder stepWarning
+  ) throws SQLException {
+    List<Object> outputTable = new ArrayList<>();
+    try {
+      for (String schema : schemas) {
+        Schema fromSchema = fromCatalog.getSchema(schema);
+        Schema toSchema = toCatalog.getSchema(schema);
+        SortedMap<String, Table> fromTables = fromSchema.getTables();
+        SortedMap<String, Table> toTables = toSchema.getTables();
+        assert fromTables.keySet().equals(toTables.keySet()) : "This should have been caught by the meta data checks";
+        for (String tableName : fromTables.keySet()) {
+          Table fromTable = fromTables.get(tableName);
+          String tableType = fromTable.getTableType();
+          if (
+              !excludeTables.contains(schema + '.' + tableName)
+                  && tableTypes.contains(tableType)
+          ) {
+            if ("TABLE".equals(tableType)) {
+              sampleTableData(resource, reporter, fromConn, toConn, fromTable, toTables.get(tableName), noWarnTables, outputTable, stepOutput, stepWarning);
+            } else {
+              throw new SQLException("Unimplemented table type: " + tableType);
+            }
+          }
+        }
+      }
+    } finally {
+      try {
+        // Insert the table before any other output
+        String currentOut = stepOutput.toString();
+        stepOutput.setLength(0);
+        stepOutput.append(RESOURCES.getMessage("sampleSchemasData.summary", resource.getSamplePercent(), resource.getSampleRows())).append('\n');
+        SQLUtility.printTable(
+            new String[]{
+                RESOURCES.getMessage("testSchemasData.column.schema"),
+                RESOURCES.getMessage("testSchemasData.column.table"),
+                RESOURCES.getMessage("sampleSchemasData.column.sampled"),
+                RESOURCES.getMessage("testSchemasData.column.modified"),
+                RESOURCES.getMessage("testSchemasData.column.missing"),
+                RESOURCES.getMessage("testSchemasData.column.extra"),
+                RESOURCES.getMessage("sampleSchemasData.column.rate"),
+                RESOURCES.getMessage("sampleSchemasData.column.interval")
+            },
+            outputTable.toArray(),
+            stepOutput,
+            true,
+            new boolean[]{
+                false,
+                false,
+                true,
+                true,
+                true,
+                true,
+                true,
+                true
+            }
+        );
+        stepOutput.append(currentOut);
+      } catch (IOException exc) {
+        throw new AssertionError(exc);
+      }
+    }
+  }
+
+  /**
+   * The maximum number of consecutive rows read from each side by each seek of a sampled test.
+   */
+  private static final int SAMPLE_SEEK_ROWS = 10;
+
+  /**
+   * Selects the primary keys from which the seeks of a sampled test start, chosen at random from a sample of the
+   * rows of the master.
+   *
+   * @param  percent  the percentage of rows sampled by the database
+   * @param  maxKeys  the maximum number of keys, chosen at random when more rows are sampled
+   *
+   * @return  the primary keys, as rows with only the primary key columns set, in primary key order
+   *
+   * @see  TablePlan#getSampleKeysSql()
+   */
+  private static List<Row> selectSampleKeys(Connection conn, TablePlan plan, double percent, int maxKeys) throws SQLException {
+    List<Row> keys = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(plan.getSampleKeysSql())) {
+      try {
+        pstmt.setDouble(1, percent);
+        try (ResultSet results = pstmt.executeQuery()) {
+          int pkCount = plan.getPrimaryKeyIndexes().length;
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          long count = 0;
+          while (results.next()) {
+            count++;
+            // Reservoir sampling, so every sampled row is equally likely to be kept
+            int index = keys.size() < maxKeys ? keys.size() : (int) Math.min(maxKeys, random.nextLong(count));
+            if (index < maxKeys) {
+              List<Object> key = new ArrayList<>(pkCount);
+              for (int i = 1; i <= pkCount; i++) {
+                key.add(results.getObject(i));
+              }
+              Row keyRow = newKeyRow(plan, key);
+              if (index == keys.size()) {
+                keys.add(keyRow);
+              } else {
+                keys.set(index, keyRow);
+              }
+            }
+          }
         }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
       }
-      previousRow = nextRow;
-      nextRow = newNextRow;
-      return newNextRow;
     }
+    Collections.sort(keys);
+    return keys;
   }
 
   /**
-   * Gets the SQL query used to select the entire table (except with binary data changed to md5 hashes) in primary key order.
+   * Seeks a range of consecutive rows for a sampled test, in primary key order.
+   *
+   * @param  start  the primary key to start at, or {@code null} to start at the beginning of the table
+   *
+   * @see  TablePlan#getSampleSql()
    */
-  private static String getSelectSql(Table table) throws SQLException {
-    StringBuilder sql = new StringBuilder();
-    sql.append("SELECT ");
-    boolean didOne = false;
-    for (Column column : table.getColumns()) {
-      if (didOne) {
-        sql.append(", ");
-      } else {
-        didOne = true;
-      }
-      switch (column.getDataType()) {
-        // These will be verified using md5
-        case Types.BINARY:
-        case Types.BLOB:
-        case Types.LONGVARBINARY:
-        case Types.VARBINARY:
-          sql.append(" md5(\"").append(column.getName()).append("\")");
-          break;
-        // All others are fully compared
-        default:
-          sql.append('"').append(column.getName()).append('"');
+  private static List<Row> selectSample(Connection conn, TablePlan plan, Row start, int maxRows) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(start == null ? plan.getSelectFirstPageSql() : plan.getSampleSql())) {
+      try {
+        int pos = 1;
+        if (start != null) {
+          for (int index : plan.getPrimaryKeyIndexes()) {
+            pstmt.setObject(pos++, start.getValue(index));
+          }
+        }
+        pstmt.setInt(pos, maxRows);
+        try (ResultSet results = pstmt.executeQuery()) {
+          List<Row> rows = new ArrayList<>();
+          while (results.next()) {
+            rows.add(readRow(plan, results));
+          }
+          return rows;
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
       }
     }
-    sql.append(" FROM \"").append(table.getSchema().getName()).append("\".\"").append(table.getName()).append("\" ORDER BY ");
-    didOne = false;
-    for (Column column : table.getPrimaryKey().getColumns()) {
-      if (didOne) {
-        sql.append(", ");
-      } else {
-        didOne = true;
-      }
-      switch (column.getDataType()) {
-        // These will be verified using md5
-        case Types.BINARY:
-        case Types.BLOB:
-        case Types.LONGVARBINARY:
-        case Types.VARBINARY:
-          throw new SQLException("Type not supported in primary key: " + column.getDataType());
-        // These will be converted to UTF8 bytea for collator-neutral ordering (not dependent on PostgreSQL lc_collate setting)
-        case Types.CHAR:
-        case Types.VARCHAR:
-          sql.append("convert_to(\"").append(column.getName()).append("\", 'UTF8')");
-          break;
-        // All others are compared directly
-        default:
-          sql.append('"').append(column.getName()).append('"');
+  }
+
+  /**
+   * Selects the row with the same primary key as the given row.
+   *
+   * @param  selectByPrimaryKey  the prepared {@link TablePlan#getSelectByPrimaryKeySql()}
+   *
+   * @return  the row or {@code null} when not found
+   */
+  private static Row selectByPrimaryKey(TablePlan plan, PreparedStatement selectByPrimaryKey, Row row) throws SQLException {
+    try {
+      int pos = 1;
+      for (int index : plan.getPrimaryKeyIndexes()) {
+        selectByPrimaryKey.setObject(
+            pos++,
+            row.getValue(index)
+        );
+      }
+      try (ResultSet results = selectByPrimaryKey.executeQuery()) {
+        if (!results.next()) {
+          return null;
+        }
+        Row found = readRow(plan, results);
+        if (results.next()) {
+          throw new ExtraRowException(results);
+        }
+        return found;
       }
+    } catch (Error | RuntimeException | SQLException e) {
+      ErrorPrinter.addSql(e, selectByPrimaryKey);
+      throw e;
     }
-    return sql.toString();
   }
 
   /**
-   * Queries both from and to tables, sorted by each column of the primary key in ascending order.
-   * All differences are found in a single pass through the tables, with no buffering and only a single query of each result.
+   * Compares a sample of the primary keys of a table.  Random start keys are chosen from a sample of the pages of the
+   * master, then the same range of consecutive keys is read from each side by an indexed seek from each start key, so
+   * neither side is scanned in full.  Only the keys read from both sides are compared, up to the maximum number of keys,
+   * with each key counted once whether it is on the master, the slave, or both.  When no start key is sampled, such as
+   * for a small table, the keys are read from the beginning of the table.  The rate of differing keys over all sampled
+   * keys is reported with its 95% confidence interval.
+   *
+   * @see  JdbcResource#getSampleSchedule()
    */
-  private static void testTableData(
+  private static void sampleTableData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
       Connection fromConn,
       Connection toConn,
-      int timeout,
       Table fromTable,
       Table toTable,
       Set<String> noWarnTables,
@@ -1117,140 +3213,372 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
     assert fromTable.equals(toTable);
     final String schema = fromTable.getSchema().getName();
     final StringBuilder stepResults = noWarnTables.contains(schema + '.' + fromTable.getName()) ? stepOutput : stepWarning;
-    final List<Column> columns = fromTable.getColumns();
-    final Index primaryKey = fromTable.getPrimaryKey();
-    final String sql = getSelectSql(fromTable);
-    String currentFromSql = null;
-    try (Statement fromStmt = fromConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-      fromStmt.setFetchDirection(ResultSet.FETCH_FORWARD);
-      fromStmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
-      String currentToSql = null;
-      try (Statement toStmt = toConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-        toStmt.setFetchDirection(ResultSet.FETCH_FORWARD);
-        toStmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
-        try (
-            ResultSet fromResults = fromStmt.executeQuery(currentFromSql = sql);
-            ResultSet toResults = toStmt.executeQuery(currentToSql = sql)
-            ) {
-          long matches = 0;
-          long modified = 0;
-          long missing = 0;
-          long extra = 0;
-          RowIterator fromIter = new RowIterator(columns, primaryKey, fromResults);
-          RowIterator toIter = new RowIterator(columns, primaryKey, toResults);
-          while (true) {
-            Row fromRow = fromIter.peek();
-            Row toRow = toIter.peek();
-            if (fromRow != null) {
-              if (toRow != null) {
-                int primaryKeyDiff = fromRow.compareTo(toRow);
-                if (primaryKeyDiff == 0) {
-                  // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
-                  if (fromRow.equalsNonPrimaryKey(toRow)) {
-                    // Exact match, remove both
-                    matches++;
-                  } else {
-                    // Modified
-                    stepResults.append(
-                        RESOURCES.getMessage(
-                            "testTableData.modified",
-                            schema,
-                            fromTable,
-                            fromRow.getPrimaryKeyValues()
-                        )
-                    ).append('\n');
-                    modified++;
-                  }
-                  fromIter.remove();
-                  toIter.remove();
-                } else if (primaryKeyDiff < 0) {
-                  // Missing
-                  stepResults.append(
-                      RESOURCES.getMessage(
-                          "testTableData.missing",
-                          schema,
-                          fromTable,
-                          fromRow.getPrimaryKeyValues()
-                      )
-                  ).append('\n');
-                  missing++;
-                  fromIter.remove();
-                } else {
-                  assert primaryKeyDiff > 0;
-                  // Extra
-                  stepResults.append(
-                      RESOURCES.getMessage(
-                          "testTableData.extra",
-                          schema,
-                          toTable,
-                          toRow.getPrimaryKeyValues()
-                      )
-                  ).append('\n');
-                  extra++;
-                  toIter.remove();
-                }
-              } else {
-                // Missing
-                stepResults.append(
-                    RESOURCES.getMessage(
-                        "testTableData.missing",
-                        schema,
-                        fromTable,
-                        fromRow.getPrimaryKeyValues()
-                    )
-                ).append('\n');
-                missing++;
-                fromIter.remove();
-              }
-            } else {
-              if (toRow != null) {
-                // Extra
-                stepResults.append(
-                    RESOURCES.getMessage(
-                        "testTableData.extra",
-                        schema,
-                        toTable,
-                        toRow.getPrimaryKeyValues()
-                    )
-                ).append('\n');
-                extra++;
-                toIter.remove();
-              } else {
-                // All rows done
-                break;
-              }
-            }
+    final TablePlan plan = resource.getTablePlan(fromTable);
+    final int maxRows = resource.getSampleRows();
+    final DifferenceReporter.TableReport report = reporter.forTable(plan, stepResults);
+    report.started();
+    long matches = 0;
+    long modified = 0;
+    long missing = 0;
+    long extra = 0;
+    long sampled = 0;
+    List<Row> starts = selectSampleKeys(fromConn, plan, resource.getSamplePercent(), (maxRows + SAMPLE_SEEK_ROWS - 1) / SAMPLE_SEEK_ROWS);
+    if (starts.isEmpty()) {
+      starts.add(null);
+    }
+    // The last key compared, so overlapping seeks do not compare the same keys again
+    Row last = null;
+    for (Row start : starts) {
+      if (sampled >= maxRows) {
+        break;
+      }
+      if (last != null && start.compareTo(last) <= 0) {
+        continue;
+      }
+      List<Row> fromSample = selectSample(fromConn, plan, start, SAMPLE_SEEK_ROWS);
+      List<Row> toSample = selectSample(toConn, plan, start, SAMPLE_SEEK_ROWS);
+      // A side that filled its seek has not been read past its last key, so only keys up to the lowest such key are on both
+      Row end = null;
+      if (fromSample.size() == SAMPLE_SEEK_ROWS) {
+        end = fromSample.get(SAMPLE_SEEK_ROWS - 1);
+      }
+      if (toSample.size() == SAMPLE_SEEK_ROWS) {
+        Row toEnd = toSample.get(SAMPLE_SEEK_ROWS - 1);
+        if (end == null || toEnd.compareTo(end) < 0) {
+          end = toEnd;
+        }
+      }
+      int fromIndex = 0;
+      int toIndex = 0;
+      while (sampled < maxRows && (fromIndex < fromSample.size() || toIndex < toSample.size())) {
+        int diff;
+        if (fromIndex == fromSample.size()) {
+          diff = 1;
+        } else if (toIndex == toSample.size()) {
+          diff = -1;
+        } else {
+          diff = fromSample.get(fromIndex).compareTo(toSample.get(toIndex));
+        }
+        Row key = diff <= 0 ? fromSample.get(fromIndex) : toSample.get(toIndex);
+        if (end != null && key.compareTo(end) > 0) {
+          break;
+        }
+        if (diff == 0) {
+          Row fromRow = fromSample.get(fromIndex++);
+          Row toRow = toSample.get(toIndex++);
+          if (fromRow.equalsNonPrimaryKey(toRow)) {
+            matches++;
+          } else {
+            report.modified("sampleTableData.modified", fromRow);
+            modified++;
           }
-          outputTable.add(schema);
-          outputTable.add(fromTable.getName());
-          outputTable.add(matches);
-          outputTable.add(modified == 0 ? null : modified);
-          outputTable.add(missing == 0 ? null : missing);
-          outputTable.add(extra == 0 ? null : extra);
+        } else if (diff < 0) {
+          report.missing("sampleTableData.missing", fromSample.get(fromIndex++));
+          missing++;
+        } else {
+          report.extra("sampleTableData.extra", toSample.get(toIndex++));
+          extra++;
         }
-      } catch (Error | RuntimeException | SQLException e) {
-        ErrorPrinter.addSql(e, currentToSql);
-        throw e;
+        last = key;
+        sampled++;
       }
-    } catch (Error | RuntimeException | SQLException e) {
-      ErrorPrinter.addSql(e, currentFromSql);
-      throw e;
+    }
+    report.finish(matches, modified, missing, extra);
+    long differences = modified + missing + extra;
+    outputTable.add(schema);
+    outputTable.add(fromTable.getName());
+    outputTable.add(sampled);
+    outputTable.add(modified == 0 ? null : modified);
+    outputTable.add(missing == 0 ? null : missing);
+    outputTable.add(extra == 0 ? null : extra);
+    if (sampled == 0) {
+      outputTable.add(null);
+      outputTable.add(null);
+    } else {
+      double[] interval = getConfidenceInterval(differences, sampled);
+      outputTable.add(RESOURCES.getMessage("sampleSchemasData.rate", (double) differences / sampled));
+      outputTable.add(RESOURCES.getMessage("sampleSchemasData.interval", interval[0], interval[1]));
     }
   }
 
+  /**
+   * Synchronizes the data of the given tables.  The change sources of the tables skipped by a
+   * {@linkplain JdbcResource#getPartialCommit() partial commit} are removed, so they are not advanced past.
+   *
+   * @param  journal       the journal of a {@linkplain JdbcResource#getResumable() resumable} synchronization, which
+   *                       is committed as each table completes each pass, or {@code null} to perform the
+   *                       synchronization in a single transaction
+   * @param  statsEntries  the statistics of the tables synchronized are added here, to be appended once committed
+   *
+   * @return  the number of rows changed on the slave
+   */
   @SuppressWarnings("deprecation")
-  private static void synchronizeData(
+  private static long synchronizeData(
+      JdbcResource resource,
+      DifferenceReporter reporter,
       Connection fromConn,
+      Connection readConn,
       Connection toConn,
+      Throttle.Meter meter,
       int synchronizeTimeout,
       Catalog catalog,
-      Set<String> schemas,
+      Set<Table> tables,
       Set<String> tableTypes,
-      Set<String> excludeTables,
-      StringBuilder stepOutput
-  ) throws SQLException {
-    // Find the set of tables that will be synchronized
-    Set<Table> tables = new LinkedHashSet<>();
+      boolean fullSynchronize,
+      Map<String, ChangeSource> changeSources,
+      Set<String> fullTables,
+      RunJournal journal,
+      List<SyncStats.Entry> statsEntries,
+      long startTime,
+      StringBuilder stepOutput,
+      StringBuilder stepWarning
+  ) throws SQLException, IOException {
+    Map<Table, List<Row>> changedKeys = readChangedKeys(resource, fromConn, tables, fullSynchronize, changeSources, fullTables);
+    if (readConn != null) {
+      readCandidateKeys(resource, readConn, toConn, meter, tables, changedKeys);
+    }
+    final int chunkSize = resource.getChunkSize();
+    Map<Table, Long> matches = new HashMap<>();
+    Map<Table, Long> updates = new HashMap<>();
+    Map<Table, Long> inserts = new HashMap<>();
+    Map<Table, Long> deletes = new HashMap<>();
+    TableSavepoints savepoints = new TableSavepoints(resource, toConn, tables, updates, inserts, deletes, meter);
+    try {
+      if (resource.getDeferConstraints()) {
+        assert journal == null : "resumable with deferConstraints is rejected by the JdbcResource constructor";
+        // Constraints are only checked on commit, so each table is synchronized in a single pass in any order
+        deferConstraints(resource, toConn);
+        for (Table table : tables) {
+          TablePlan plan = resource.getTablePlan(table);
+          List<Row> keys = changedKeys.get(table);
+          savepoints.apply(table, false, () -> {
+            if (keys != null) {
+              final DifferenceReporter.TableReport report = reporter.forTable(plan, stepOutput);
+              report.started();
+              List<Row> rows = deleteChangedRows(fromConn, toConn, table, plan, keys, report, stepOutput, deletes);
+              synchronizeChangedRows(fromConn, toConn, table, plan, rows, report, matches, updates, inserts);
+              finish(table, report, matches, updates, inserts, deletes);
+            } else {
+              synchronizeTableRows(fromConn, toConn, meter, chunkSize, table, plan, reporter, stepOutput, matches, updates, inserts, deletes);
+            }
+          });
+        }
+      } else {
+        // Topological sort based on foreign key dependencies
+        List<Table> sortedTables = sortTables(catalog, tableTypes, tables);
+        // stepOutput.append("sortedTables=").append(sortedTables).append('\n');
+
+        // Keep counts from the delete pass to help avoid unnecessary second scans
+        Map<Table, Long> modifieds = new HashMap<>();
+        Map<Table, Long> missings = new HashMap<>();
+
+        // The tables deleted by the interrupted run, which are rescanned since the master may have changed since
+        Set<Table> resumed = new HashSet<>();
+
+        // Each table is reported once, from the start of the backward pass to the end of the forward pass
+        Map<Table, DifferenceReporter.TableReport> reports = new HashMap<>();
+
+        // The current master rows of the changed keys that still exist
+        Map<Table, List<Row>> changedRows = new HashMap<>();
+
+        // Delete extra rows from each table backwards
+        for (int i = sortedTables.size() - 1; i >= 0; i--) {
+          Table table = sortedTables.get(i);
+          List<Row> keys = changedKeys.get(table);
+          if (keys == null && journal != null && journal.isDeleted(table)) {
+            // Completed by the interrupted run
+            resumed.add(table);
+            continue;
+          }
+          boolean applied = savepoints.apply(table, true, () -> {
+            TablePlan plan = resource.getTablePlan(table);
+            final DifferenceReporter.TableReport report = reporter.forTable(plan, stepOutput);
+            report.started();
+            reports.put(table, report);
+            if (keys != null) {
+              changedRows.put(
+                  table,
+                  deleteChangedRows(fromConn, toConn, table, plan, keys, report, stepOutput, deletes)
+              );
+            } else {
+              deleteExtraRows(fromConn, toConn, meter, chunkSize, synchronizeTimeout, table, plan, report, matches, modifieds, missings, deletes);
+            }
+          });
+          if (journal != null) {
+            // Extra rows are deleted from the referencing tables first, so each commit is consistent
+            toConn.commit();
+            disableChangeCapture(toConn, changeSources);
+            if (applied && keys == null) {
+              journal.deleted(table);
+            }
+          }
+        }
+
+        // A table completed by the interrupted run is missing the rows added to the master since, so is scanned again
+        // when any table referencing it is not yet completed, which may insert rows referencing them
+        Set<Table> rescanned = new HashSet<>();
+        if (journal != null && journal.isResumed()) {
+          for (int i = sortedTables.size() - 1; i >= 0; i--) {
+            Table table = sortedTables.get(i);
+            if (changedRows.get(table) == null && journal.isCompleted(table)) {
+              for (Table referencing : table.getExportedTables()) {
+                if (
+                    !referencing.equals(table)
+                        && tables.contains(referencing)
+                        && (changedRows.get(referencing) != null || !journal.isCompleted(referencing) || rescanned.contains(referencing))
+                ) {
+                  rescanned.add(table);
+                  break;
+                }
+              }
+            }
+          }
+        }
+
+        // Update/insert forwards
+        for (Table table : sortedTables) {
+          List<Row> rows = changedRows.get(table);
+          if (rows == null && journal != null && journal.isCompleted(table) && !rescanned.contains(table)) {
+            // Completed by the interrupted run
+            continue;
+          }
+          boolean applied = savepoints.apply(table, false, () -> {
+            TablePlan plan = resource.getTablePlan(table);
+            final DifferenceReporter.TableReport report;
+            if (resumed.contains(table)) {
+              report = reporter.forTable(plan, stepOutput);
+              report.started();
+              // Rows may have been added, changed, or deleted on the master since the interrupted run
+              updateAndInsertRows(fromConn, toConn, meter, chunkSize, false, table, plan, report, matches, modifieds, missings, updates, inserts);
+            } else {
+              report = reports.get(table);
+              if (rows != null) {
+                synchronizeChangedRows(fromConn, toConn, table, plan, rows, report, matches, updates, inserts);
+              } else if (modifieds.get(table) > 0 || missings.get(table) > 0) {
+                updateAndInsertRows(fromConn, toConn, meter, chunkSize, chunkSize == 0, table, plan, report, matches, modifieds, missings, updates, inserts);
+              }
+            }
+            finish(table, report, matches, updates, inserts, deletes);
+          });
+          if (journal != null) {
+            // Rows are inserted into the referenced tables first, so each commit is consistent
+            toConn.commit();
+            disableChangeCapture(toConn, changeSources);
+            if (applied && rows == null) {
+              journal.completed(table);
+            }
+          }
+        }
+      }
+    } finally {
+      printSynchronizeTable(tables, matches, updates, inserts, deletes, stepOutput);
+    }
+    savepoints.report(stepWarning);
+    // The changes of skipped tables are found again by the next run
+    changeSources.keySet().removeAll(savepoints.getSkippedTables());
+    addStats(statsEntries, startTime, tables, matches, updates, inserts, deletes, savepoints, null, null);
+    return countChanges(updates, inserts, deletes);
+  }
+
+  /**
+   * Finishes the report of a table once both passes have been applied, with the rows updated, inserted, and deleted
+   * by either pass.
+   */
+  private static void finish(
+      Table table,
+      DifferenceReporter.TableReport report,
+      Map<Table, Long> matches,
+      Map<Table, Long> updates,
+      Map<Table, Long> inserts,
+      Map<Table, Long> deletes
+  ) {
+    report.finish(
+        matches.getOrDefault(table, 0L),
+        updates.getOrDefault(table, 0L),
+        inserts.getOrDefault(table, 0L),
+        deletes.getOrDefault(table, 0L)
+    );
+  }
+
+  /**
+   * Adds the statistics of the tables synchronized, to be appended once committed.  Tables that were skipped are not
+   * recorded.
+   *
+   * @param  entries    the statistics of each table are added here
+   * @param  scanNanos  the nanoseconds spent scanning each table before it was applied, or {@code null} when scanned
+   *                    while applied
+   * @param  scanBytes  the bytes scanned from each table before it was applied, or {@code null} when scanned while
+   *                    applied
+   */
+  private static void addStats(
+      List<SyncStats.Entry> entries,
+      long startTime,
+      Set<Table> tables,
+      Map<Table, Long> matches,
+      Map<Table, Long> updates,
+      Map<Table, Long> inserts,
+      Map<Table, Long> deletes,
+      TableSavepoints savepoints,
+      Map<Table, Long> scanNanos,
+      Map<Table, Long> scanBytes
+  ) {
+    Set<String> skippedTables = savepoints.getSkippedTables();
+    for (Table table : tables) {
+      String schemaTable = table.getSchema().getName() + '.' + table.getName();
+      Long match = matches.get(table);
+      Long update = updates.get(table);
+      Long insert = inserts.get(table);
+      Long delete = deletes.get(table);
+      if (
+          !skippedTables.contains(schemaTable)
+              && (match != null || update != null || insert != null || delete != null)
+      ) {
+        long matchCount = match == null ? 0 : match;
+        long updateCount = update == null ? 0 : update;
+        long insertCount = insert == null ? 0 : insert;
+        Long scanNano = scanNanos == null ? null : scanNanos.get(table);
+        Long scanByte = scanBytes == null ? null : scanBytes.get(table);
+        entries.add(
+            new SyncStats.Entry(
+                startTime,
+                schemaTable,
+                matchCount + updateCount + insertCount,
+                matchCount,
+                updateCount,
+                insertCount,
+                delete == null ? 0 : delete,
+                savepoints.getMillis(table) + (scanNano == null ? 0 : TimeUnit.NANOSECONDS.toMillis(scanNano)),
+                savepoints.getBytes(table) + (scanByte == null ? 0 : scanByte)
+            )
+        );
+      }
+    }
+  }
+
+  /**
+   * Counts the rows changed on the slave.
+   */
+  private static long countChanges(Map<Table, Long> updates, Map<Table, Long> inserts, Map<Table, Long> deletes) {
+    long changes = 0;
+    for (Long update : updates.values()) {
+      changes += update;
+    }
+    for (Long insert : inserts.values()) {
+      changes += insert;
+    }
+    for (Long delete : deletes.values()) {
+      changes += delete;
+    }
+    return changes;
+  }
+
+  /**
+   * Finds the set of tables that will be synchronized, in descending order of priority.
+   *
+   * @see  JdbcTableConfiguration#getPriority()
+   */
+  private static Set<Table> getSynchronizeTables(JdbcResource resource, Catalog catalog, Set<String> schemas, Set<String> tableTypes, Set<String> excludeTables) throws SQLException {
+    List<Table> tables = new ArrayList<>();
     for (String schemaName : schemas) {
       Schema schema = catalog.getSchema(schemaName);
       for (Table table : schema.getTables().values()) {
@@ -1262,74 +3590,261 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
         }
       }
     }
+    // Stable sort, so tables of the same priority remain in name order
+    tables.sort((t1, t2) -> Integer.compare(
+        resource.getPriority(t2.getSchema().getName() + '.' + t2.getName()),
+        resource.getPriority(t1.getSchema().getName() + '.' + t1.getName())
+    ));
+    return new LinkedHashSet<>(tables);
+  }
 
-    Map<Table, Long> matches = new HashMap<>();
-    Map<Table, Long> updates = new HashMap<>();
-    Map<Table, Long> inserts = new HashMap<>();
-    Map<Table, Long> deletes = new HashMap<>();
-    try {
-      // Topological sort based on foreign key dependencies
-      List<Table> sortedTables = new ArrayList<>(new TopologicalSorter<>(catalog.getForeignKeyGraph(tableTypes), true).sortGraph());
-      // stepOutput.append("sortedTables=").append(sortedTables).append('\n');
-      sortedTables.retainAll(tables);
-      // stepOutput.append("sortedTables=").append(sortedTables).append('\n');
-
-      // Keep counts from the delete pass to help avoid unnecessary second scans
-      Map<Table, Long> modifieds = new HashMap<>();
-      Map<Table, Long> missings = new HashMap<>();
-
-      // Delete extra rows from each table backwards
-      for (int i = sortedTables.size() - 1; i >= 0; i--) {
-        deleteExtraRows(fromConn, toConn, synchronizeTimeout, sortedTables.get(i), stepOutput, matches, modifieds, missings, deletes);
+  /**
+   * Sorts the tables so each table follows the tables it references by foreign key, with tables that do not depend on
+   * each other kept in descending order of priority.
+   *
+   * @param  tables  the tables synchronized, in descending order of priority
+   *
+   * @return  the tables synchronized, in the order rows are inserted
+   */
+  private static List<Table> sortTables(Catalog catalog, Set<String> tableTypes, Set<Table> tables) throws SQLException {
+    // All tables of the graph, so dependencies through tables that are not synchronized are kept
+    List<Table> graphTables = new TopologicalSorter<>(catalog.getForeignKeyGraph(tableTypes), true).sortGraph();
+    Set<Table> allTables = new HashSet<>(graphTables);
+    Map<Table, Integer> unsortedReferences = new HashMap<>();
+    Map<Table, List<Table>> referencingTables = new HashMap<>();
+    for (Table table : graphTables) {
+      int references = 0;
+      for (Table referenced : table.getImportedTables()) {
+        if (!referenced.equals(table) && allTables.contains(referenced)) {
+          referencingTables.computeIfAbsent(referenced, k -> new ArrayList<>()).add(table);
+          references++;
+        }
+      }
+      unsortedReferences.put(table, references);
+    }
+    // Tables that are not synchronized are sorted first, then the others by priority
+    Map<Table, Integer> ranks = new HashMap<>();
+    for (Table table : tables) {
+      ranks.put(table, ranks.size());
+    }
+    PriorityQueue<Table> ready = new PriorityQueue<>(Comparator.comparingInt(table -> ranks.getOrDefault(table, -1)));
+    for (Table table : graphTables) {
+      if (unsortedReferences.get(table) == 0) {
+        ready.add(table);
+      }
+    }
+    List<Table> sortedTables = new ArrayList<>(tables.size());
+    while (!ready.isEmpty()) {
+      Table table = ready.remove();
+      if (tables.contains(table)) {
+        sortedTables.add(table);
+      }
+      for (Table referencing : referencingTables.getOrDefault(table, Collections.emptyList())) {
+        if (unsortedReferences.merge(referencing, -1, Integer::sum) == 0) {
+          ready.add(referencing);
+        }
       }
+    }
+    return sortedTables;
+  }
 
-      // Update/insert forwards
-      for (Table table : sortedTables) {
-        if (modifieds.get(table) > 0 || missings.get(table) > 0) {
-          updateAndInsertRows(fromConn, toConn, synchronizeTimeout, table, stepOutput, matches, modifieds, missings, updates, inserts);
+  /**
+   * Gets the tables to be synchronized by a synchronization starting now.  A table with its own schedule is only
+   * synchronized when its schedule matches, while the other tables are only synchronized when the synchronize schedule
+   * matches.  When neither matches, such as a synchronization requested by hand, or for a full synchronization, every
+   * table is synchronized.
+   *
+   * <p>The tables referenced by the foreign keys of a scheduled table are also synchronized, so the rows inserted into
+   * the scheduled table have their referenced rows.</p>
+   *
+   * @param  tables  the tables in the order synchronized, which is maintained
+   *
+   * @see  JdbcTableConfiguration#getSchedule()
+   */
+  private Set<Table> getScheduledTables(Set<Table> tables, boolean fullSynchronize, StringBuilder stepOutput) throws SQLException {
+    if (fullSynchronize || tableSchedules.isEmpty()) {
+      return tables;
+    }
+    Calendar cal = new GregorianCalendar();
+    boolean synchronizeScheduled = isScheduled(synchronizeSchedule, cal);
+    Set<Table> scheduled = new HashSet<>();
+    List<Table> unreferenced = new ArrayList<>();
+    for (Table table : tables) {
+      Schedule tableSchedule = tableSchedules.get(table.getSchema().getName() + '.' + table.getName());
+      if (tableSchedule == null ? synchronizeScheduled : isScheduled(tableSchedule, cal)) {
+        scheduled.add(table);
+        unreferenced.add(table);
+      }
+    }
+    if (scheduled.isEmpty()) {
+      return tables;
+    }
+    int referenced = 0;
+    while (!unreferenced.isEmpty()) {
+      for (Table referencedTable : unreferenced.remove(unreferenced.size() - 1).getImportedTables()) {
+        if (tables.contains(referencedTable) && scheduled.add(referencedTable)) {
+          unreferenced.add(referencedTable);
+          referenced++;
         }
       }
-    } finally {
-      List<Object> outputTable = new ArrayList<>();
-      for (Table table : tables) {
-        Long update = updates.get(table);
-        Long insert = inserts.get(table);
-        Long delete = deletes.get(table);
-        outputTable.add(table.getSchema().getName());
-        outputTable.add(table.getName());
-        outputTable.add(matches.get(table));
-        outputTable.add(update == null || update == 0 ? null : update);
-        outputTable.add(insert == null || insert == 0 ? null : insert);
-        outputTable.add(delete == null || delete == 0 ? null : delete);
+    }
+    Set<Table> scheduledTables = new LinkedHashSet<>();
+    for (Table table : tables) {
+      if (scheduled.contains(table)) {
+        scheduledTables.add(table);
       }
-      try {
-        // Insert the table before any other output
-        String currentOut = stepOutput.toString();
-        stepOutput.setLength(0);
-        SQLUtility.printTable(
-            new String[]{
-                RESOURCES.getMessage("synchronizeData.column.schema"),
-                RESOURCES.getMessage("synchronizeData.column.table"),
-                RESOURCES.getMessage("synchronizeData.column.matches"),
-                RESOURCES.getMessage("synchronizeData.column.update"),
-                RESOURCES.getMessage("synchronizeData.column.insert"),
-                RESOURCES.getMessage("synchronizeData.column.delete"),
-            },
-            outputTable.toArray(),
-            stepOutput,
-            true,
-            new boolean[]{
-                false,
-                false,
-                true,
-                true,
-                true,
-                true
+    }
+    if (referenced > 0) {
+      stepOutput.append(RESOURCES.getMessage("getScheduledTables.referenced", referenced)).append('\n');
+    }
+    if (scheduledTables.size() < tables.size()) {
+      stepOutput.append(RESOURCES.getMessage("getScheduledTables.notScheduled", tables.size() - scheduledTables.size())).append('\n');
+    }
+    return scheduledTables;
+  }
+
+  /**
+   * Reads the changed keys of each table synchronized incrementally.
+   *
+   * @return  the changed keys, as rows with only the primary key columns set, of the tables that are not fully
+   *          synchronized
+   */
+  private static Map<Table, List<Row>> readChangedKeys(
+      JdbcResource resource,
+      Connection fromConn,
+      Set<Table> tables,
+      boolean fullSynchronize,
+      Map<String, ChangeSource> changeSources,
+      Set<String> fullTables
+  ) throws SQLException, IOException {
+    Map<Table, List<Row>> changedKeys = new HashMap<>();
+    for (Table table : tables) {
+      String schemaTable = table.getSchema().getName() + '.' + table.getName();
+      ChangeSource changeSource = changeSources.get(schemaTable);
+      if (changeSource != null) {
+        boolean fullTable = fullSynchronize || fullTables.contains(schemaTable);
+        Collection<List<Object>> keys = changeSource.readChanges(fromConn, table, fullTable);
+        if (keys != null && !fullTable) {
+          TablePlan plan = resource.getTablePlan(table);
+          List<Row> keyRows = new ArrayList<>(keys.size());
+          for (List<Object> key : keys) {
+            keyRows.add(newKeyRow(plan, key));
+          }
+          changedKeys.put(table, keyRows);
+        }
+      }
+    }
+    return changedKeys;
+  }
+
+  /**
+   * Finds the rows that differ between the read replica and the slave, scanning each table not synchronized
+   * incrementally.  The differing keys are then synchronized like changed keys, reading their rows from the master.
+   *
+   * @param  changedKeys  the differing keys of each scanned table are added here
+   *
+   * @see  JdbcResourceNode#getReadDataSource()
+   */
+  private static void readCandidateKeys(
+      JdbcResource resource,
+      Connection readConn,
+      Connection toConn,
+      Throttle.Meter meter,
+      Set<Table> tables,
+      Map<Table, List<Row>> changedKeys
+  ) throws SQLException {
+    final int chunkSize = resource.getChunkSize();
+    for (Table table : tables) {
+      if (!changedKeys.containsKey(table)) {
+        TablePlan plan = resource.getTablePlan(table);
+        try (PreparedStatement readStmt = prepareFromSelect(readConn, plan, null, chunkSize)) {
+          try (
+              ResultSet readResults = readStmt == null ? null : readStmt.executeQuery();
+              TableDiff diff = new TableDiff(toConn, plan)
+              ) {
+            RowIterator readIter = newFromIterator(readConn, plan, readResults, null, chunkSize, meter);
+            Row readRow;
+            while ((readRow = readIter.peek()) != null) {
+              diff.accept(readRow);
+              readIter.remove();
             }
-        );
-        stepOutput.append(currentOut);
-      } catch (IOException exc) {
-        throw new AssertionError(exc);
+            diff.finish();
+            changedKeys.put(table, diff.getKeys());
+          } catch (Error | RuntimeException | SQLException e) {
+            if (readStmt != null) {
+              ErrorPrinter.addSql(e, readStmt);
+            }
+            throw e;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Inserts the table of synchronization counts before any other output.
+   */
+  private static void printSynchronizeTable(
+      Set<Table> tables,
+      Map<Table, Long> matches,
+      Map<Table, Long> updates,
+      Map<Table, Long> inserts,
+      Map<Table, Long> deletes,
+      StringBuilder stepOutput
+  ) {
+    List<Object> outputTable = new ArrayList<>();
+    for (Table table : tables) {
+      Long update = updates.get(table);
+      Long insert = inserts.get(table);
+      Long delete = deletes.get(table);
+      outputTable.add(table.getSchema().getName());
+      outputTable.add(table.getName());
+      outputTable.add(matches.get(table));
+      outputTable.add(update == null || update == 0 ? null : update);
+      outputTable.add(insert == null || insert == 0 ? null : insert);
+      outputTable.add(delete == null || delete == 0 ? null : delete);
+    }
+    try {
+      // Insert the table before any other output
+      String currentOut = stepOutput.toString();
+      stepOutput.setLength(0);
+      SQLUtility.printTable(
+          new String[]{
+              RESOURCES.getMessage("synchronizeData.column.schema"),
+              RESOURCES.getMessage("synchronizeData.column.table"),
+              RESOURCES.getMessage("synchronizeData.column.matches"),
+              RESOURCES.getMessage("synchronizeData.column.update"),
+              RESOURCES.getMessage("synchronizeData.column.insert"),
+              RESOURCES.getMessage("synchronizeData.column.delete"),
+          },
+          outputTable.toArray(),
+          stepOutput,
+          true,
+          new boolean[]{
+              false,
+              false,
+              true,
+              true,
+              true,
+              true
+          }
+      );
+      stepOutput.append(currentOut);
+    } catch (IOException exc) {
+      throw new AssertionError(exc);
+    }
+  }
+
+  /**
+   * Verifies the update counts of a batch, where each statement in the batch must affect exactly one row.
+   */
+  private static void checkBatchCounts(TablePlan plan, String action, int batchSize, int[] counts) throws SQLException {
+    if (counts.length != batchSize) {
+      throw new SQLException("Unexpected batch size for " + plan + ": Expected " + batchSize + ", got " + counts.length);
+    }
+    for (int count : counts) {
+      if (count != 1) {
+        throw new SQLException("Unexpected " + action + " count for " + plan + ": Expected 1, got " + count);
       }
     }
   }
@@ -1337,442 +3852,622 @@ public class JdbcResourceSynchronizer extends CronResourceSynchronizer<JdbcResou
   /**
    * Deletes the extra rows for this table.
    * Also sets the number of matching, missing, and modified rows to help avoid unnecessary second scans.
+   *
+   * @param  report  the report of the table, which is finished after the second pass
    */
-  private static void deleteExtraRows(
+  static void deleteExtraRows(
       Connection fromConn,
       Connection toConn,
+      Throttle.Meter meter,
+      int chunkSize,
       int timeout,
       Table table,
-      StringBuilder stepOutput,
+      TablePlan plan,
+      DifferenceReporter.TableReport report,
       Map<Table, Long> matchesMap,
       Map<Table, Long> modifiedsMap,
       Map<Table, Long> missingsMap,
       Map<Table, Long> deletesMap
   ) throws SQLException {
-    final String schema = table.getSchema().getName();
-    final List<Column> columns = table.getColumns();
-    final Index primaryKey = table.getPrimaryKey();
     // Find rows to delete
     List<Row> deleteRows = new ArrayList<>();
-    String selectSql = getSelectSql(table);
-    String currentFromSql = null;
-    try (Statement fromStmt = fromConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-      fromStmt.setFetchDirection(ResultSet.FETCH_FORWARD);
-      fromStmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
-      String currentToSql = null;
-      try (Statement toStmt = toConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-        toStmt.setFetchDirection(ResultSet.FETCH_FORWARD);
-        toStmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
-        try (
-            ResultSet fromResults = fromStmt.executeQuery(currentFromSql = selectSql);
-            ResultSet toResults = toStmt.executeQuery(currentToSql = selectSql)
-            ) {
-          long matches = 0;
-          long modified = 0;
-          long missing = 0;
-          RowIterator fromIter = new RowIterator(columns, primaryKey, fromResults);
-          RowIterator toIter = new RowIterator(columns, primaryKey, toResults);
-          while (true) {
-            Row fromRow = fromIter.peek();
-            Row toRow = toIter.peek();
-            if (fromRow != null) {
-              if (toRow != null) {
-                int primaryKeyDiff = fromRow.compareTo(toRow);
-                if (primaryKeyDiff == 0) {
-                  // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
-                  if (fromRow.equalsNonPrimaryKey(toRow)) {
-                    // Exact match, remove both
-                    matches++;
+    try (PreparedStatement fromStmt = prepareFromSelect(fromConn, plan, null, chunkSize)) {
+      try {
+        try (PreparedStatement toStmt = prepareSelect(toConn, plan)) {
+          try (
+              ResultSet fromResults = fromStmt == null ? null : fromStmt.executeQuery();
+              ResultSet toResults = toStmt.executeQuery()
+              ) {
+            long matches = 0;
+            long modified = 0;
+            long missing = 0;
+            RowIterator fromIter = newFromIterator(fromConn, plan, fromResults, null, chunkSize, meter);
+            RowIterator toIter = new RowIterator(plan, toResults);
+            while (true) {
+              Row fromRow = fromIter.peek();
+              Row toRow = toIter.peek();
+              if (fromRow != null) {
+                if (toRow != null) {
+                  int primaryKeyDiff = fromRow.compareTo(toRow);
+                  if (primaryKeyDiff == 0) {
+                    // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
+                    if (fromRow.equalsNonPrimaryKey(toRow)) {
+                      // Exact match, remove both
+                      matches++;
+                    } else {
+                      modified++;
+                    }
+                    fromIter.remove();
+                    toIter.remove();
+                  } else if (primaryKeyDiff < 0) {
+                    // Missing
+                    missing++;
+                    fromIter.remove();
                   } else {
-                    modified++;
+                    assert primaryKeyDiff > 0;
+                    // Extra
+                    deleteRows.add(toRow);
+                    toIter.remove();
                   }
-                  fromIter.remove();
-                  toIter.remove();
-                } else if (primaryKeyDiff < 0) {
+                } else {
                   // Missing
                   missing++;
                   fromIter.remove();
-                } else {
-                  assert primaryKeyDiff > 0;
+                }
+              } else {
+                if (toRow != null) {
                   // Extra
                   deleteRows.add(toRow);
                   toIter.remove();
+                } else {
+                  // All rows done
+                  break;
                 }
-              } else {
-                // Missing
-                missing++;
-                fromIter.remove();
-              }
-            } else {
-              if (toRow != null) {
-                // Extra
-                deleteRows.add(toRow);
-                toIter.remove();
-              } else {
-                // All rows done
-                break;
               }
             }
+            matchesMap.put(table, matches);
+            modifiedsMap.put(table, modified);
+            missingsMap.put(table, missing);
           }
-          matchesMap.put(table, matches);
-          modifiedsMap.put(table, modified);
-          missingsMap.put(table, missing);
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, plan.getSelectSql());
+          throw e;
         }
       } catch (Error | RuntimeException | SQLException e) {
-        ErrorPrinter.addSql(e, currentToSql);
+        if (fromStmt != null) {
+          ErrorPrinter.addSql(e, fromStmt);
+        }
         throw e;
       }
-    } catch (Error | RuntimeException | SQLException e) {
-      ErrorPrinter.addSql(e, currentFromSql);
-      throw e;
     }
 
-    if (!deleteRows.isEmpty()) {
-      List<Column> pkColumns = primaryKey.getColumns();
-      // Delete the rows in one big prepared statement, logging output
-      StringBuilder deleteSql = new StringBuilder();
-      deleteSql.append("DELETE FROM\n"
-          + "  \"").append(schema).append("\".\"").append(table.getName()).append("\"\n"
-          + "WHERE\n");
-      boolean didOneRow = false;
-      for (Row deleteRow : deleteRows) {
-        if (didOneRow) {
-          deleteSql.append("  OR (");
-        } else {
-          deleteSql.append("  (");
-          didOneRow = true;
-        }
-        boolean didOneColumn = false;
-        for (Column pkColumn : pkColumns) {
-          if (didOneColumn) {
-            deleteSql.append(" AND ");
-          } else {
-            didOneColumn = true;
+    applyDeletes(toConn, plan, report, deleteRows);
+    deletesMap.put(table, (long) deleteRows.size());
+  }
+
+  /**
+   * Deletes rows from the slave in chunks of {@link TablePlan#DELETE_CHUNK_ROWS} rows by a single statement each, then
+   * the remaining rows in a batch.
+   */
+  private static void applyDeletes(
+      Connection toConn,
+      TablePlan plan,
+      DifferenceReporter.TableReport report,
+      List<Row> deleteRows
+  ) throws SQLException {
+    int deleted = 0;
+    if (deleteRows.size() >= TablePlan.DELETE_CHUNK_ROWS) {
+      // Deletes whole chunks of rows by a single statement each, logging output
+      try (PreparedStatement pstmt = toConn.prepareStatement(plan.getDeleteChunkSql())) {
+        try {
+          while (deleteRows.size() - deleted >= TablePlan.DELETE_CHUNK_ROWS) {
+            int pos = 1;
+            for (Row deleteRow : deleteRows.subList(deleted, deleted + TablePlan.DELETE_CHUNK_ROWS)) {
+              report.extra("deleteExtraRows.delete", deleteRow);
+              for (int index : plan.getPrimaryKeyIndexes()) {
+                pstmt.setObject(
+                    pos++,
+                    deleteRow.getValue(index)
+                );
+              }
+            }
+            int count = pstmt.executeUpdate();
+            if (count != TablePlan.DELETE_CHUNK_ROWS) {
+              throw new SQLException("Unexpected delete count for " + plan + ": Expected " + TablePlan.DELETE_CHUNK_ROWS + ", got " + count);
+            }
+            deleted += TablePlan.DELETE_CHUNK_ROWS;
+            report.batchApplied(JdbcSynchronizationListener.BatchType.DELETE, TablePlan.DELETE_CHUNK_ROWS);
           }
-          deleteSql.append('"').append(pkColumn.getName()).append("\"=?");
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, pstmt);
+          throw e;
         }
-        deleteSql.append(")\n");
-        stepOutput.append(
-            RESOURCES.getMessage(
-                "deleteExtraRows.delete",
-                schema,
-                table,
-                deleteRow.getPrimaryKeyValues()
-            )
-        ).append('\n');
       }
-      try (PreparedStatement pstmt = toConn.prepareStatement(deleteSql.toString())) {
+    }
+    if (deleted < deleteRows.size()) {
+      // Deletes the remaining rows in a batched prepared statement, logging output
+      List<Row> remaining = deleteRows.subList(deleted, deleteRows.size());
+      try (PreparedStatement pstmt = toConn.prepareStatement(plan.getDeleteSql())) {
         try {
-          int pos = 1;
-          for (Row deleteRow : deleteRows) {
-            for (Column pkColumn : pkColumns) {
+          for (Row deleteRow : remaining) {
+            report.extra("deleteExtraRows.delete", deleteRow);
+            int pos = 1;
+            for (int index : plan.getPrimaryKeyIndexes()) {
               pstmt.setObject(
                   pos++,
-                  deleteRow.values[pkColumn.getOrdinalPosition() - 1]
+                  deleteRow.getValue(index)
               );
             }
+            pstmt.addBatch();
           }
-          int numDeleted = pstmt.executeUpdate();
-          if (numDeleted != deleteRows.size()) {
-            throw new SQLException("Unexpected number of rows deleted for " + schema + "." + table.getName() + ": Expected " + deleteRows.size() + ", got " + numDeleted);
-          }
+          checkBatchCounts(plan, "delete", remaining.size(), pstmt.executeBatch());
+          report.batchApplied(JdbcSynchronizationListener.BatchType.DELETE, remaining.size());
         } catch (Error | RuntimeException | SQLException e) {
           ErrorPrinter.addSql(e, pstmt);
           throw e;
         }
       }
     }
-    deletesMap.put(table, (long) deleteRows.size());
   }
 
   /**
-   * Gets the real value for a row and column, using the propery byte[] instead of md5 hash.
-   */
-  private static Object getRealValue(Connection fromConn, Row row, Column column) throws SQLException {
-    switch (column.getDataType()) {
-      // These were verified using md5, lookup the actual value
-      case Types.BINARY:
-      case Types.BLOB:
-      case Types.LONGVARBINARY:
-      case Types.VARBINARY:
-        {
-          Table table = column.getTable();
-          StringBuilder sql = new StringBuilder();
-          sql.append("SELECT \"").append(column.getName()).append("\" FROM \"").append(table.getSchema().getName()).append("\".\"").append(table.getName()).append("\" WHERE ");
-          boolean didOne = false;
-          for (Column pkColumn : table.getPrimaryKey().getColumns()) {
-            if (didOne) {
-              sql.append(" AND ");
-            } else {
-              didOne = true;
-            }
-            sql.append('"').append(pkColumn.getName()).append("\"=?");
+   * Gets the real values for a row, using the proper values instead of hashes.
+   * All hashed columns are retrieved in a single query.
+   *
+   * @param  selectHashed  the prepared {@link TablePlan#getSelectHashedSql()} or {@code null} when there are no hashed
+   *                       columns
+   */
+  private static Object[] getRealValues(TablePlan plan, PreparedStatement selectHashed, Row row) throws SQLException {
+    Object[] realValues = row.values;
+    if (selectHashed != null) {
+      realValues = realValues.clone();
+      try {
+        int pos = 1;
+        for (int index : plan.getPrimaryKeyIndexes()) {
+          selectHashed.setObject(
+              pos++,
+              realValues[index]
+          );
+        }
+        try (ResultSet results = selectHashed.executeQuery()) {
+          if (!results.next()) {
+            throw new NoRowException();
           }
-          try (PreparedStatement pstmt = fromConn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-            try {
-              int pos = 1;
-              for (Column pkColumn : table.getPrimaryKey().getColumns()) {
-                pstmt.setObject(
-                    pos++,
-                    row.values[pkColumn.getOrdinalPosition() - 1]
-                );
-              }
-              try (ResultSet results = pstmt.executeQuery()) {
-                if (!results.next()) {
-                  throw new NoRowException();
-                }
-                Object realValue = results.getObject(1);
-                if (results.next()) {
-                  throw new ExtraRowException(results);
-                }
-                return realValue;
-              }
-            } catch (Error | RuntimeException | SQLException e) {
-              ErrorPrinter.addSql(e, pstmt);
-              throw e;
-            }
+          int column = 1;
+          for (int index : plan.getHashedIndexes()) {
+            realValues[index] = results.getObject(column++);
+          }
+          if (results.next()) {
+            throw new ExtraRowException(results);
           }
         }
-      // All others are already fully loaded
-      default:
-        return row.values[column.getOrdinalPosition() - 1];
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, selectHashed);
+        throw e;
+      }
     }
+    return realValues;
   }
 
   /**
    * Updates and inserts rows.
+   *
+   * @param  sameSnapshot  when the master is read from the same snapshot as the first pass, which must then find
+   *                       exactly the same differences.  Otherwise, the master may have changed since the first
+   *                       pass and rows deleted from the master since are left for the next run.
+   * @param  report        the report of the table, started by the first pass
    */
-  private static void updateAndInsertRows(
+  static void updateAndInsertRows(
       Connection fromConn,
       Connection toConn,
-      int synchronizeTimeout,
+      Throttle.Meter meter,
+      int chunkSize,
+      boolean sameSnapshot,
       Table table,
-      StringBuilder stepOutput,
+      TablePlan plan,
+      DifferenceReporter.TableReport report,
       Map<Table, Long> matchesMap,
       Map<Table, Long> modifiedsMap,
       Map<Table, Long> missingsMap,
       Map<Table, Long> updatesMap,
       Map<Table, Long> insertsMap
   ) throws SQLException {
-    final String schema = table.getSchema().getName();
-    final List<Column> columns = table.getColumns();
-    final Index primaryKey = table.getPrimaryKey();
     // Find rows to update and insert
     List<Row> updateRows = new ArrayList<>();
     List<Row> insertRows = new ArrayList<>();
-    String selectSql = getSelectSql(table);
-    String currentFromSql = null;
-    try (Statement fromStmt = fromConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-      fromStmt.setFetchDirection(ResultSet.FETCH_FORWARD);
-      fromStmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
-      String currentToSql = null;
-      try (Statement toStmt = toConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-        toStmt.setFetchDirection(ResultSet.FETCH_FORWARD);
-        toStmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
-        try (
-            ResultSet fromResults = fromStmt.executeQuery(currentFromSql = selectSql);
-            ResultSet toResults = toStmt.executeQuery(currentToSql = selectSql)
-            ) {
-          long matches = 0;
-          RowIterator fromIter = new RowIterator(columns, primaryKey, fromResults);
-          RowIterator toIter = new RowIterator(columns, primaryKey, toResults);
-          while (true) {
-            Row fromRow = fromIter.peek();
-            Row toRow = toIter.peek();
-            if (fromRow != null) {
-              if (toRow != null) {
-                int primaryKeyDiff = fromRow.compareTo(toRow);
-                if (primaryKeyDiff == 0) {
-                  // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
-                  if (fromRow.equalsNonPrimaryKey(toRow)) {
-                    // Exact match, remove both
-                    matches++;
+    try (PreparedStatement fromStmt = prepareFromSelect(fromConn, plan, null, chunkSize)) {
+      try {
+        try (PreparedStatement toStmt = prepareSelect(toConn, plan)) {
+          try (
+              ResultSet fromResults = fromStmt == null ? null : fromStmt.executeQuery();
+              ResultSet toResults = toStmt.executeQuery()
+              ) {
+            long matches = 0;
+            RowIterator fromIter = newFromIterator(fromConn, plan, fromResults, null, chunkSize, meter);
+            RowIterator toIter = new RowIterator(plan, toResults);
+            while (true) {
+              Row fromRow = fromIter.peek();
+              Row toRow = toIter.peek();
+              if (fromRow != null) {
+                if (toRow != null) {
+                  int primaryKeyDiff = fromRow.compareTo(toRow);
+                  if (primaryKeyDiff == 0) {
+                    // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
+                    if (fromRow.equalsNonPrimaryKey(toRow)) {
+                      // Exact match, remove both
+                      matches++;
+                    } else {
+                      updateRows.add(fromRow);
+                    }
+                    fromIter.remove();
+                    toIter.remove();
+                  } else if (primaryKeyDiff < 0) {
+                    // Missing
+                    insertRows.add(fromRow);
+                    fromIter.remove();
                   } else {
-                    updateRows.add(fromRow);
+                    assert primaryKeyDiff > 0;
+                    // Extra
+                    if (sameSnapshot) {
+                      throw new SQLException("Should already have been deleted from " + plan + ": " + toRow.getPrimaryKeyValues());
+                    }
+                    // Deleted from the master since the first pass, left for the next run
+                    toIter.remove();
                   }
-                  fromIter.remove();
-                  toIter.remove();
-                } else if (primaryKeyDiff < 0) {
+                } else {
                   // Missing
                   insertRows.add(fromRow);
                   fromIter.remove();
-                } else {
-                  assert primaryKeyDiff > 0;
-                  // Extra
-                  throw new SQLException("Should already have been deleted from " + schema + "." + table.getName() + ": " + toRow.getPrimaryKeyValues());
-                  // toIter.remove();
                 }
               } else {
-                // Missing
-                insertRows.add(fromRow);
-                fromIter.remove();
-              }
-            } else {
-              if (toRow != null) {
-                // Extra
-                throw new SQLException("Should already have been deleted from " + schema + "." + table.getName() + ": " + toRow.getPrimaryKeyValues());
-                // toIter.remove();
-              } else {
-                // All rows done
-                break;
+                if (toRow != null) {
+                  // Extra
+                  if (sameSnapshot) {
+                    throw new SQLException("Should already have been deleted from " + plan + ": " + toRow.getPrimaryKeyValues());
+                  }
+                  // Deleted from the master since the first pass, left for the next run
+                  toIter.remove();
+                } else {
+                  // All rows done
+                  break;
+                }
               }
             }
+            if (!sameSnapshot) {
+              // The master may have changed since the first pass
+              matchesMap.put(table, matches);
+            } else if (matches != matchesMap.get(table)) {
+              throw new SQLException("Unexpected number of matches on second pass of " + plan + ": Expected " + matchesMap.get(table) + ", got " + matches);
+            }
+            if (sameSnapshot && updateRows.size() != modifiedsMap.get(table)) {
+              throw new SQLException("Unexpected number of modifieds on second pass of " + plan + ": Expected " + modifiedsMap.get(table) + ", got " + updateRows.size());
+            }
+            if (sameSnapshot && insertRows.size() != missingsMap.get(table)) {
+              throw new SQLException("Unexpected number of missings on second pass of " + plan + ": Expected " + missingsMap.get(table) + ", got " + insertRows.size());
+            }
           }
-          if (matches != matchesMap.get(table)) {
-            throw new SQLException("Unexpected number of matches on second pass of " + schema + "." + table.getName() + ": Expected " + matchesMap.get(table) + ", got " + matches);
-          }
-          if (updateRows.size() != modifiedsMap.get(table)) {
-            throw new SQLException("Unexpected number of modifieds on second pass of " + schema + "." + table.getName() + ": Expected " + modifiedsMap.get(table) + ", got " + updateRows.size());
-          }
-          if (insertRows.size() != missingsMap.get(table)) {
-            throw new SQLException("Unexpected number of missings on second pass of " + schema + "." + table.getName() + ": Expected " + missingsMap.get(table) + ", got " + insertRows.size());
-          }
+        } catch (Error | RuntimeException | SQLException e) {
+          ErrorPrinter.addSql(e, plan.getSelectSql());
+          throw e;
         }
       } catch (Error | RuntimeException | SQLException e) {
-        ErrorPrinter.addSql(e, currentToSql);
+        if (fromStmt != null) {
+          ErrorPrinter.addSql(e, fromStmt);
+        }
         throw e;
       }
+    }
+
+    applyUpdatesAndInserts(fromConn, toConn, plan, report, updateRows, insertRows);
+    updatesMap.put(table, (long) updateRows.size());
+    insertsMap.put(table, (long) insertRows.size());
+  }
+
+  /**
+   * Defers the checking of all deferrable constraints until commit.
+   *
+   * @see  JdbcResource#getDeferConstraints()
+   */
+  private static void deferConstraints(JdbcResource resource, Connection toConn) throws SQLException {
+    String sql = resource.getDialect().getDeferConstraintsSql();
+    try (Statement stmt = toConn.createStatement()) {
+      stmt.executeUpdate(sql);
     } catch (Error | RuntimeException | SQLException e) {
-      ErrorPrinter.addSql(e, currentFromSql);
+      ErrorPrinter.addSql(e, sql);
       throw e;
     }
+  }
 
-    List<Column> pkColumns = primaryKey.getColumns();
-    if (!updateRows.isEmpty()) {
-      // Updates the rows in a batched prepared statement, logging output
-      StringBuilder updateSql = new StringBuilder();
-      updateSql.append("UPDATE\n"
-          + "  \"").append(schema).append("\".\"").append(table.getName()).append("\"\n"
-          + "SET");
-      boolean didOneColumn = false;
-      for (Column column : getNonPrimaryKeyColumns(columns, pkColumns)) {
-        if (didOneColumn) {
-          updateSql.append(",\n  \"");
-        } else {
-          updateSql.append("\n  \"");
-          didOneColumn = true;
-        }
-        updateSql.append(column.getName()).append("\"=?");
-      }
-      updateSql.append("\n"
-          + "WHERE\n");
-      didOneColumn = false;
-      for (Column pkColumn : pkColumns) {
-        if (didOneColumn) {
-          updateSql.append("  AND ");
-        } else {
-          updateSql.append("  ");
-          didOneColumn = true;
-        }
-        updateSql.append('"').append(pkColumn.getName()).append("\"=?\n");
-      }
-      try (PreparedStatement pstmt = toConn.prepareStatement(updateSql.toString())) {
-        try {
-          for (Row updateRow : updateRows) {
-            stepOutput.append(
-                RESOURCES.getMessage(
-                    "updateAndInsertRows.update",
-                    schema,
-                    table,
-                    updateRow.getPrimaryKeyValues()
-                )
-            ).append('\n');
-            int pos = 1;
-            for (Column column : getNonPrimaryKeyColumns(columns, pkColumns)) {
-              pstmt.setObject(
-                  pos++,
-                  getRealValue(fromConn, updateRow, column)
-              );
-            }
-            for (Column pkColumn : pkColumns) {
-              pstmt.setObject(
-                  pos++,
-                  updateRow.values[pkColumn.getOrdinalPosition() - 1]
-              );
-            }
-            pstmt.addBatch();
-          }
-          int[] counts = pstmt.executeBatch();
-          if (counts.length != updateRows.size()) {
-            throw new SQLException("Unexpected batch size for " + schema + "." + table.getName() + ": Expected " + updateRows.size() + ", got " + counts.length);
-          }
-          for (int c = 0; c < counts.length; c++) {
-            if (counts[c] != 1) {
-              throw new SQLException("Unexpected update count for " + schema + "." + table.getName() + ": Expected 1, got " + counts[c]);
+  /**
+   * Synchronizes a table in a single pass, deleting the extra rows then updating and inserting in the same scan.
+   * This is only used once constraints are deferred, since the rows of other tables may not yet be synchronized.
+   *
+   * @see  JdbcResource#getDeferConstraints()
+   */
+  private static void synchronizeTableRows(
+      Connection fromConn,
+      Connection toConn,
+      Throttle.Meter meter,
+      int chunkSize,
+      Table table,
+      TablePlan plan,
+      DifferenceReporter reporter,
+      StringBuilder stepOutput,
+      Map<Table, Long> matchesMap,
+      Map<Table, Long> updatesMap,
+      Map<Table, Long> insertsMap,
+      Map<Table, Long> deletesMap
+  ) throws SQLException {
+    final DifferenceReporter.TableReport report = reporter.forTable(plan, stepOutput);
+    report.started();
+    long matches = 0;
+    List<Row> deleteRows = new ArrayList<>();
+    List<Row> updateRows = new ArrayList<>();
+    List<Row> insertRows = new ArrayList<>();
+    try (PreparedStatement fromStmt = prepareFromSelect(fromConn, plan, null, chunkSize)) {
+      try {
+        try (PreparedStatement toStmt = prepareSelect(toConn, plan)) {
+          try (
+              ResultSet fromResults = fromStmt == null ? null : fromStmt.executeQuery();
+              ResultSet toResults = toStmt.executeQuery()
+              ) {
+            RowIterator fromIter = newFromIterator(fromConn, plan, fromResults, null, chunkSize, meter);
+            RowIterator toIter = new RowIterator(plan, toResults);
+            while (true) {
+              Row fromRow = fromIter.peek();
+              Row toRow = toIter.peek();
+              if (fromRow != null) {
+                if (toRow != null) {
+                  int primaryKeyDiff = fromRow.compareTo(toRow);
+                  if (primaryKeyDiff == 0) {
+                    // Primary keys have already been compared and are known to be equal, only need to compare the remaining columns
+                    if (fromRow.equalsNonPrimaryKey(toRow)) {
+                      // Exact match, remove both
+                      matches++;
+                    } else {
+                      updateRows.add(fromRow);
+                    }
+                    fromIter.remove();
+                    toIter.remove();
+                  } else if (primaryKeyDiff < 0) {
+                    // Missing
+                    insertRows.add(fromRow);
+                    fromIter.remove();
+                  } else {
+                    assert primaryKeyDiff > 0;
+                    // Extra
+                    deleteRows.add(toRow);
+                    toIter.remove();
+                  }
+                } else {
+                  // Missing
+                  insertRows.add(fromRow);
+                  fromIter.remove();
+                }
+              } else {
+                if (toRow != null) {
+                  // Extra
+                  deleteRows.add(toRow);
+                  toIter.remove();
+                } else {
+                  // All rows done
+                  break;
+                }
+              }
             }
           }
         } catch (Error | RuntimeException | SQLException e) {
-          ErrorPrinter.addSql(e, pstmt);
+          ErrorPrinter.addSql(e, plan.getSelectSql());
           throw e;
         }
+      } catch (Error | RuntimeException | SQLException e) {
+        if (fromStmt != null) {
+          ErrorPrinter.addSql(e, fromStmt);
+        }
+        throw e;
       }
     }
+
+    // Deleted first, so a row inserted with the same unique values as a deleted row does not conflict
+    applyDeletes(toConn, plan, report, deleteRows);
+    applyUpdatesAndInserts(fromConn, toConn, plan, report, updateRows, insertRows);
+    report.finish(matches, updateRows.size(), insertRows.size(), deleteRows.size());
+    matchesMap.put(table, matches);
     updatesMap.put(table, (long) updateRows.size());
+    insertsMap.put(table, (long) insertRows.size());
+    deletesMap.put(table, (long) deleteRows.size());
+  }
 
-    if (!insertRows.isEmpty()) {
-      // Updates the rows in a batched prepared statement, logging output
-      StringBuilder insertSql = new StringBuilder();
-      insertSql.append("INSERT INTO\n"
-          + "  \"").append(schema).append("\".\"").append(table.getName()).append("\"\n"
-          + "(");
-      boolean didOneColumn = false;
-      for (Column column : columns) {
-        if (didOneColumn) {
-          insertSql.append(",\n  \"");
-        } else {
-          insertSql.append("\n  \"");
-          didOneColumn = true;
+  /**
+   * Creates a row with only the primary key columns set.
+   *
+   * @param  key  the primary key values, in primary key column order
+   */
+  private static Row newKeyRow(TablePlan plan, List<Object> key) throws SQLException {
+    int[] pkIndexes = plan.getPrimaryKeyIndexes();
+    if (key.size() != pkIndexes.length) {
+      throw new SQLException("Unexpected primary key size for " + plan + ": Expected " + pkIndexes.length + ", got " + key.size());
+    }
+    Object[] values = new Object[plan.getColumnCount()];
+    for (int i = 0; i < pkIndexes.length; i++) {
+      values[pkIndexes[i]] = key.get(i);
+    }
+    return new Row(plan, values);
+  }
+
+  /**
+   * Creates a row with only the primary key columns of the given row set.
+   */
+  private static Row newKeyRow(Row row) {
+    Object[] values = new Object[row.values.length];
+    for (int index : row.plan.getPrimaryKeyIndexes()) {
+      values[index] = row.values[index];
+    }
+    return new Row(row.plan, values);
+  }
+
+  /**
+   * Looks-up the current master row of each changed primary key, deleting the slave row of any key no longer on the
+   * master.
+   *
+   * @param  report  the report of the table, which is finished after the forward pass
+   *
+   * @return  the master rows that still exist, to be inserted or updated in the forward pass
+   *
+   * @see  ChangeSource
+   */
+  private static List<Row> deleteChangedRows(
+      Connection fromConn,
+      Connection toConn,
+      Table table,
+      TablePlan plan,
+      List<Row> keys,
+      DifferenceReporter.TableReport report,
+      StringBuilder stepOutput,
+      Map<Table, Long> deletesMap
+  ) throws SQLException {
+    stepOutput.append(RESOURCES.getMessage("deleteChangedRows.keys", plan.getSchema(), plan.getName(), keys.size())).append('\n');
+    List<Row> fromRows = new ArrayList<>();
+    List<Row> deleteRows = new ArrayList<>();
+    if (!keys.isEmpty()) {
+      try (
+          PreparedStatement fromStmt = fromConn.prepareStatement(plan.getSelectByPrimaryKeySql());
+          PreparedStatement toStmt = toConn.prepareStatement(plan.getSelectByPrimaryKeySql())
+          ) {
+        for (Row key : keys) {
+          Row fromRow = selectByPrimaryKey(plan, fromStmt, key);
+          if (fromRow != null) {
+            fromRows.add(fromRow);
+          } else {
+            Row toRow = selectByPrimaryKey(plan, toStmt, key);
+            if (toRow != null) {
+              deleteRows.add(toRow);
+            }
+          }
         }
-        insertSql.append(column.getName()).append('"');
       }
-      insertSql.append("\n"
-          + ") VALUES (");
-      didOneColumn = false;
-      for (Column column : columns) {
-        if (didOneColumn) {
-          insertSql.append(",\n  ?");
-        } else {
-          insertSql.append("\n  ?");
-          didOneColumn = true;
+    }
+    applyDeletes(toConn, plan, report, deleteRows);
+    deletesMap.put(table, (long) deleteRows.size());
+    return fromRows;
+  }
+
+  /**
+   * Looks-up each changed master row on the slave by primary key, then inserts or updates as needed.
+   *
+   * @param  report  the report of the table, started by the backward pass
+   *
+   * @see  ChangeSource
+   */
+  private static void synchronizeChangedRows(
+      Connection fromConn,
+      Connection toConn,
+      Table table,
+      TablePlan plan,
+      List<Row> fromRows,
+      DifferenceReporter.TableReport report,
+      Map<Table, Long> matchesMap,
+      Map<Table, Long> updatesMap,
+      Map<Table, Long> insertsMap
+  ) throws SQLException {
+    long matches = 0;
+    List<Row> updateRows = new ArrayList<>();
+    List<Row> insertRows = new ArrayList<>();
+    if (!fromRows.isEmpty()) {
+      try (PreparedStatement toStmt = toConn.prepareStatement(plan.getSelectByPrimaryKeySql())) {
+        for (Row fromRow : fromRows) {
+          Row toRow = selectByPrimaryKey(plan, toStmt, fromRow);
+          if (toRow == null) {
+            insertRows.add(fromRow);
+          } else if (fromRow.equalsNonPrimaryKey(toRow)) {
+            matches++;
+          } else {
+            updateRows.add(fromRow);
+          }
         }
       }
-      insertSql.append("\n"
-          + ")");
-      try (PreparedStatement pstmt = toConn.prepareStatement(insertSql.toString())) {
-        try {
-          for (Row insertRow : insertRows) {
-            stepOutput.append(
-                RESOURCES.getMessage(
-                    "updateAndInsertRows.insert",
-                    schema,
-                    table,
-                    insertRow.getPrimaryKeyValues()
-                )
-            ).append('\n');
-            int pos = 1;
-            for (Column column : columns) {
-              pstmt.setObject(
-                  pos++,
-                  getRealValue(fromConn, insertRow, column)
-              );
+    }
+    applyUpdatesAndInserts(fromConn, toConn, plan, report, updateRows, insertRows);
+    matchesMap.put(table, matches);
+    updatesMap.put(table, (long) updateRows.size());
+    insertsMap.put(table, (long) insertRows.size());
+  }
+
+  /**
+   * Updates and inserts rows on the slave in batches, using the real values of any hashed columns from the master.
+   */
+  private static void applyUpdatesAndInserts(
+      Connection fromConn,
+      Connection toConn,
+      TablePlan plan,
+      DifferenceReporter.TableReport report,
+      List<Row> updateRows,
+      List<Row> insertRows
+  ) throws SQLException {
+    if (!updateRows.isEmpty() || !insertRows.isEmpty()) {
+      // The real values of hashed columns are looked-up with a single statement reused for every row
+      String selectHashedSql = plan.getSelectHashedSql();
+      try (
+          PreparedStatement selectHashed = selectHashedSql == null ? null
+              : fromConn.prepareStatement(selectHashedSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT)
+          ) {
+        final int[] pkIndexes = plan.getPrimaryKeyIndexes();
+        final int[] nonPkIndexes = plan.getNonPrimaryKeyIndexes();
+        if (!updateRows.isEmpty()) {
+          // Updates the rows in a batched prepared statement, logging output
+          try (PreparedStatement pstmt = toConn.prepareStatement(plan.getUpdateSql())) {
+            try {
+              for (Row updateRow : updateRows) {
+                report.modified("updateAndInsertRows.update", updateRow);
+                Object[] realValues = getRealValues(plan, selectHashed, updateRow);
+                int pos = 1;
+                for (int index : nonPkIndexes) {
+                  pstmt.setObject(
+                      pos++,
+                      realValues[index]
+                  );
+                }
+                for (int index : pkIndexes) {
+                  pstmt.setObject(
+                      pos++,
+                      realValues[index]
+                  );
+                }
+                pstmt.addBatch();
+              }
+              checkBatchCounts(plan, "update", updateRows.size(), pstmt.executeBatch());
+              report.batchApplied(JdbcSynchronizationListener.BatchType.UPDATE, updateRows.size());
+            } catch (Error | RuntimeException | SQLException e) {
+              ErrorPrinter.addSql(e, pstmt);
+              throw e;
             }
-            pstmt.addBatch();
-          }
-          int[] counts = pstmt.executeBatch();
-          if (counts.length != insertRows.size()) {
-            throw new SQLException("Unexpected batch size for " + schema + "." + table.getName() + ": Expected " + insertRows.size() + ", got " + counts.length);
           }
-          for (int c = 0; c < counts.length; c++) {
-            if (counts[c] != 1) {
-              throw new SQLException("Unexpected insert count for " + schema + "." + table.getName() + ": Expected 1, got " + counts[c]);
+        }
+
+        if (!insertRows.isEmpty()) {
+          // Inserts the rows in a batched prepared statement, logging output
+          try (PreparedStatement pstmt = toConn.prepareStatement(plan.getInsertSql())) {
+            try {
+              for (Row insertRow : insertRows) {
+                report.missing("updateAndInsertRows.insert", insertRow);
+                Object[] realValues = getRealValues(plan, selectHashed, insertRow);
+                for (int index = 0; index < realValues.length; index++) {
+                  pstmt.setObject(
+                      index + 1,
+                      realValues[index]
+                  );
+                }
+                pstmt.addBatch();
+              }
+              checkBatchCounts(plan, "insert", insertRows.size(), pstmt.executeBatch());
+              report.batchApplied(JdbcSynchronizationListener.BatchType.INSERT, insertRows.size());
+            } catch (Error | RuntimeException | SQLException e) {
+              ErrorPrinter.addSql(e, pstmt);
+              throw e;
             }
           }
-        } catch (Error | RuntimeException | SQLException e) {
-          ErrorPrinter.addSql(e, pstmt);
-          throw e;
         }
       }
     }
-    insertsMap.put(table, (long) insertRows.size());
   }
 }
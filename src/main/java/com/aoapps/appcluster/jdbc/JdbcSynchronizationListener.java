@@ -0,0 +1,122 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.appcluster.ResourceSynchronizationMode;
+import java.util.List;
+
+/**
+ * Receives the differences found by a {@link JdbcResourceSynchronizer} as they happen.
+ * Listeners are registered per resource with {@link JdbcResource#addSynchronizationListener(JdbcSynchronizationListener)}.
+ *
+ * <p>Events are delivered synchronously on the synchronization thread, with no buffering, so implementations should
+ * return quickly.  Any {@link RuntimeException} thrown by a listener is logged and does not interrupt the
+ * synchronization.  All methods default to doing nothing.</p>
+ *
+ * <p>Each table is reported once per run, bracketed by
+ * {@link #tableStarted(JdbcResourceSynchronizer, ResourceSynchronizationMode, String, String)} and
+ * {@link #tableFinished(JdbcResourceSynchronizer, ResourceSynchronizationMode, String, String, long, long, long, long)}.
+ * During {@link ResourceSynchronizationMode#SYNCHRONIZE}, extra rows are found and deleted in a first pass, then
+ * modified and missing rows are found, updated, and inserted in a second pass, unless
+ * {@linkplain JdbcResource#getDeferConstraints() constraints are deferred}.  The table is finished after the second
+ * pass, with the rows of both passes.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public interface JdbcSynchronizationListener {
+
+  /**
+   * The types of changes applied to a slave.
+   */
+  enum BatchType {
+    DELETE,
+    UPDATE,
+    INSERT
+  }
+
+  /**
+   * Called when the scan of a table begins.
+   */
+  default void tableStarted(JdbcResourceSynchronizer synchronizer, ResourceSynchronizationMode mode, String schema, String table) {
+    // Do nothing
+  }
+
+  /**
+   * Called when the scan of a table completes successfully.
+   *
+   * @param  matches   the number of rows that are an exact match
+   * @param  modified  the number of rows with differing values
+   * @param  missing   the number of rows on the master that are missing from the slave
+   * @param  extra     the number of rows on the slave that are not on the master
+   */
+  default void tableFinished(
+      JdbcResourceSynchronizer synchronizer,
+      ResourceSynchronizationMode mode,
+      String schema,
+      String table,
+      long matches,
+      long modified,
+      long missing,
+      long extra
+  ) {
+    // Do nothing
+  }
+
+  /**
+   * Called when a row exists on both the master and slave, but with differing values.
+   *
+   * @param  primaryKey  the unmodifiable primary key values, in primary key order
+   */
+  default void rowModified(JdbcResourceSynchronizer synchronizer, ResourceSynchronizationMode mode, String schema, String table, List<Object> primaryKey) {
+    // Do nothing
+  }
+
+  /**
+   * Called when a row exists on the master, but is missing from the slave.
+   *
+   * @param  primaryKey  the unmodifiable primary key values, in primary key order
+   */
+  default void rowMissing(JdbcResourceSynchronizer synchronizer, ResourceSynchronizationMode mode, String schema, String table, List<Object> primaryKey) {
+    // Do nothing
+  }
+
+  /**
+   * Called when a row exists on the slave, but not on the master.
+   *
+   * @param  primaryKey  the unmodifiable primary key values, in primary key order
+   */
+  default void rowExtra(JdbcResourceSynchronizer synchronizer, ResourceSynchronizationMode mode, String schema, String table, List<Object> primaryKey) {
+    // Do nothing
+  }
+
+  /**
+   * Called after a batch of changes has been applied to the slave.
+   * The changes are not yet committed.
+   *
+   * @param  rows  the number of rows changed by the batch
+   */
+  default void batchApplied(JdbcResourceSynchronizer synchronizer, String schema, String table, BatchType type, int rows) {
+    // Do nothing
+  }
+}
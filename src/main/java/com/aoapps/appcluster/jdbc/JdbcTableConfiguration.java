@@ -0,0 +1,93 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.cron.Schedule;
+
+/**
+ * The per-table overrides of a {@link JdbcResourceConfiguration}.
+ * Any value that is {@code null} is inherited from the resource.
+ *
+ * @author  AO Industries, Inc.
+ */
+public interface JdbcTableConfiguration {
+
+  /**
+   * Gets the table name, in schema.name format.
+   */
+  String getName();
+
+  /**
+   * See {@link JdbcResource#getTestMaxDifferences()}.
+   */
+  Integer getTestMaxDifferences();
+
+  /**
+   * See {@link JdbcResource#getTestMaxDifferencePercent()}.
+   */
+  Double getTestMaxDifferencePercent();
+
+  /**
+   * Gets the monotonic change-tracking column, such as an <code>updated_at</code> timestamp or a version number, used
+   * by the {@link ChangeSource#WATERMARK} change source, or {@code null} when not used.
+   *
+   * @see  JdbcResource#getFullSynchronizeSchedule()
+   */
+  String getChangeColumn();
+
+  /**
+   * Gets how changed rows are found, never {@code null}: one of {@link ChangeSource#FULL},
+   * {@link ChangeSource#WATERMARK}, {@link ChangeSource#TRIGGER}, or the class name of a {@link ChangeSource.Factory}.
+   * Defaults to {@link ChangeSource#WATERMARK} when a {@linkplain #getChangeColumn() change column} is set, otherwise
+   * {@link ChangeSource#FULL}.
+   */
+  String getChangeSource();
+
+  /**
+   * Gets the schedule on which this table is synchronized in place of the synchronize schedule of the resource, or
+   * {@code null} to be synchronized with the other tables.  Tables related by foreign keys should share a schedule,
+   * since the tables synchronized together are only kept consistent with each other.
+   */
+  Schedule getSchedule();
+
+  /**
+   * Gets the priority of this table, or {@code null} for the default of zero.  Higher priority tables are synchronized
+   * first, where foreign keys allow.
+   */
+  Integer getPriority();
+
+  /**
+   * Gets the fixed number of rows fetched at once by the scans of this table, or {@code null} to follow the
+   * {@linkplain JdbcResource#getFetchBudget() fetch budget} of the resource.
+   */
+  Integer getFetchSize();
+
+  /**
+   * Gets the SQL condition, such as <code>tenant_id IN (1, 2)</code>, that limits the rows synchronized, or
+   * {@code null} to synchronize all rows.  The condition is applied to the rows selected on both the master and the
+   * slave, so rows not matching it are neither inserted, updated, nor deleted on the slave.  Change sources still find
+   * all changed keys, so rows that stop matching the condition on the master are deleted from the slave.
+   */
+  String getFilter();
+}
@@ -0,0 +1,119 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.appcluster.AppClusterConfigurationException;
+import com.aoapps.appcluster.AppClusterPropertiesConfiguration;
+import com.aoapps.cron.Schedule;
+
+/**
+ * The per-table overrides read from properties, in the form
+ * <code>appcluster.resource.<var>id</var>.<var>type</var>.table.<var>schema.name</var>.<var>property</var></code>.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class JdbcTablePropertiesConfiguration implements JdbcTableConfiguration {
+
+  private final String name;
+  private final Integer testMaxDifferences;
+  private final Double testMaxDifferencePercent;
+  private final String changeColumn;
+  private final String changeSource;
+  private final Schedule schedule;
+  private final Integer priority;
+  private final Integer fetchSize;
+  private final String filter;
+
+  /**
+   * Creates a new {@link JdbcTablePropertiesConfiguration}.
+   */
+  protected JdbcTablePropertiesConfiguration(AppClusterPropertiesConfiguration properties, String resourceId, String type, String name) throws AppClusterConfigurationException {
+    this.name = name;
+    String prefix = "appcluster.resource." + resourceId + "." + type + ".table." + name + ".";
+    this.testMaxDifferences = JdbcProperties.getInteger(properties, prefix + "testMaxDifferences", null, 0);
+    this.testMaxDifferencePercent = JdbcProperties.getDouble(properties, prefix + "testMaxDifferencePercent", null, 0, 100);
+    this.changeColumn = JdbcProperties.getString(properties, prefix + "changeColumn");
+    String newChangeSource = JdbcProperties.getString(properties, prefix + "changeSource");
+    if (newChangeSource == null) {
+      newChangeSource = changeColumn == null ? ChangeSource.FULL : ChangeSource.WATERMARK;
+    }
+    if (ChangeSource.WATERMARK.equals(newChangeSource)) {
+      if (changeColumn == null) {
+        throw new AppClusterConfigurationException(prefix + "changeColumn required for changeSource " + newChangeSource);
+      }
+    } else if (changeColumn != null) {
+      throw new AppClusterConfigurationException(prefix + "changeColumn only used by changeSource " + ChangeSource.WATERMARK);
+    }
+    this.changeSource = newChangeSource;
+    this.schedule = JdbcProperties.getSchedule(properties, prefix + "schedule");
+    this.priority = JdbcProperties.getInteger(properties, prefix + "priority", null, Integer.MIN_VALUE);
+    this.fetchSize = JdbcProperties.getInteger(properties, prefix + "fetchSize", null, 1);
+    this.filter = JdbcProperties.getString(properties, prefix + "filter");
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Integer getTestMaxDifferences() {
+    return testMaxDifferences;
+  }
+
+  @Override
+  public Double getTestMaxDifferencePercent() {
+    return testMaxDifferencePercent;
+  }
+
+  @Override
+  public String getChangeColumn() {
+    return changeColumn;
+  }
+
+  @Override
+  public String getChangeSource() {
+    return changeSource;
+  }
+
+  @Override
+  public Schedule getSchedule() {
+    return schedule;
+  }
+
+  @Override
+  public Integer getPriority() {
+    return priority;
+  }
+
+  @Override
+  public Integer getFetchSize() {
+    return fetchSize;
+  }
+
+  @Override
+  public String getFilter() {
+    return filter;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * The dialect of PostgreSQL.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class PostgreSqlDialect extends JdbcDialect {
+
+  /**
+   * The product name reported by the PostgreSQL driver.
+   */
+  static final String PRODUCT_NAME = "PostgreSQL";
+
+  /**
+   * The insert position is used, since a commit may be visible before its record is flushed.
+   */
+  private static final String LOG_POSITION_SQL = "SELECT CAST(pg_current_wal_insert_lsn() AS text)";
+
+  /**
+   * {@code pg_last_wal_replay_lsn()} is {@code null} when not a hot standby.
+   */
+  private static final String REPLAYED_SQL = "SELECT pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn)";
+
+  /**
+   * Character columns are converted to UTF8 bytea for collator-neutral ordering, not dependent on the
+   * <code>lc_collate</code> setting.
+   */
+  private static boolean isConverted(int dataType) {
+    return dataType == Types.CHAR || dataType == Types.VARCHAR;
+  }
+
+  @Override
+  public String getOrderExpression(String column, int dataType) {
+    return isConverted(dataType) ? "convert_to(" + column + ", 'UTF8')" : column;
+  }
+
+  @Override
+  public String getOrderParameter(int dataType) {
+    return isConverted(dataType) ? "convert_to(?, 'UTF8')" : "?";
+  }
+
+  @Override
+  public String hash(HashFunction function, String column, boolean binary) {
+    switch (function) {
+      case MD5:
+        return binary ? "md5(" + column + ")" : "md5(" + column + "::text)";
+      case SHA256:
+        return binary
+            ? "encode(sha256(" + column + "), 'hex')"
+            : "encode(sha256(convert_to(" + column + "::text, 'UTF8')), 'hex')";
+      case HASHTEXTEXTENDED:
+        // Binary values are hashed from their text representation
+        return "hashtextextended(" + column + "::text, 0)";
+      default:
+        throw new AssertionError("Unexpected hash function: " + function);
+    }
+  }
+
+  /**
+   * Hashes the text of a row of the columns, in which nulls are distinct from empty strings.
+   */
+  @Override
+  public String hashCombined(HashFunction function, List<String> columns, boolean[] binary) {
+    return hash(function, "ROW(" + String.join(", ", columns) + ")", false);
+  }
+
+  @Override
+  public String limit(String sql) {
+    return sql + " LIMIT ?";
+  }
+
+  @Override
+  public String getLogPositionSql() {
+    return LOG_POSITION_SQL;
+  }
+
+  @Override
+  public String getReplayedSql() {
+    return REPLAYED_SQL;
+  }
+}
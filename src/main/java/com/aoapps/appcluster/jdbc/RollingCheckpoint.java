@@ -0,0 +1,184 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The position reached by rolling verification, persisted in a local state file between runs.
+ * The position is a table and the last primary key verified within it.
+ *
+ * @see  JdbcResource#getRollingSchedule()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class RollingCheckpoint {
+
+  private static final String TABLE = "table";
+  private static final String KEY_COUNT = "key.count";
+  private static final String KEY_PREFIX = "key.";
+  private static final String CYCLE_STARTED = "cycle.started";
+  private static final String CYCLE_COMPLETED = "cycle.completed";
+
+  /**
+   * Loads a checkpoint.
+   *
+   * @return  the checkpoint or a new checkpoint at the beginning of a cycle when the file does not exist
+   */
+  static RollingCheckpoint load(Path file) throws IOException {
+    Properties props = StateFiles.load(file);
+    if (props == null) {
+      return new RollingCheckpoint(null, null, System.currentTimeMillis(), null);
+    }
+    String table = props.getProperty(TABLE);
+    String[] key = null;
+    String keyCount = props.getProperty(KEY_COUNT);
+    if (keyCount != null) {
+      key = new String[Integer.parseInt(keyCount)];
+      for (int i = 0; i < key.length; i++) {
+        key[i] = props.getProperty(KEY_PREFIX + i);
+        if (key[i] == null) {
+          throw new IOException("Missing " + KEY_PREFIX + i + " in " + file);
+        }
+      }
+    }
+    String cycleStarted = props.getProperty(CYCLE_STARTED);
+    String cycleCompleted = props.getProperty(CYCLE_COMPLETED);
+    return new RollingCheckpoint(
+        table,
+        key,
+        cycleStarted == null ? System.currentTimeMillis() : Long.parseLong(cycleStarted),
+        cycleCompleted == null ? null : Long.valueOf(cycleCompleted)
+    );
+  }
+
+  private final String table;
+  private final String[] key;
+  private final long cycleStarted;
+  private final Long cycleCompleted;
+
+  private RollingCheckpoint(String table, String[] key, long cycleStarted, Long cycleCompleted) {
+    this.table = table;
+    this.key = key;
+    this.cycleStarted = cycleStarted;
+    this.cycleCompleted = cycleCompleted;
+  }
+
+  /**
+   * Gets the table to resume at, in schema.name format, or {@code null} to start at the first table.
+   */
+  String getTable() {
+    return table;
+  }
+
+  /**
+   * Gets the last primary key verified in the table, decoded for the given plan.
+   *
+   * @return  the primary key values, in primary key order, or {@code null} to start at the beginning of the table,
+   *          including when the checkpoint does not match the current primary key of the table
+   */
+  Object[] getKey(TablePlan plan) {
+    if (key == null) {
+      return null;
+    }
+    int[] pkIndexes = plan.getPrimaryKeyIndexes();
+    if (key.length != pkIndexes.length) {
+      return null;
+    }
+    Object[] values = new Object[key.length];
+    try {
+      for (int i = 0; i < key.length; i++) {
+        values[i] = StateFiles.decode(plan.getDataType(pkIndexes[i]), key[i]);
+      }
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    return values;
+  }
+
+  /**
+   * Gets the time the current cycle started.
+   */
+  long getCycleStarted() {
+    return cycleStarted;
+  }
+
+  /**
+   * Gets the time the previous cycle completed, or {@code null} when no cycle has completed.
+   */
+  Long getCycleCompleted() {
+    return cycleCompleted;
+  }
+
+  /**
+   * Gets a new checkpoint within the current cycle.
+   *
+   * @param  table       the table to resume at, in schema.name format
+   * @param  primaryKey  the last primary key verified, in primary key order, or {@code null} to start at the beginning
+   *                     of the table
+   */
+  RollingCheckpoint resumeAt(TablePlan plan, String table, List<Object> primaryKey) {
+    String[] newKey = null;
+    if (primaryKey != null) {
+      int[] pkIndexes = plan.getPrimaryKeyIndexes();
+      newKey = new String[pkIndexes.length];
+      for (int i = 0; i < newKey.length; i++) {
+        newKey[i] = StateFiles.encode(plan.getDataType(pkIndexes[i]), primaryKey.get(i));
+      }
+    }
+    return new RollingCheckpoint(table, newKey, cycleStarted, cycleCompleted);
+  }
+
+  /**
+   * Gets a new checkpoint at the beginning of the next cycle.
+   */
+  RollingCheckpoint completeCycle() {
+    long now = System.currentTimeMillis();
+    return new RollingCheckpoint(null, null, now, now);
+  }
+
+  /**
+   * Saves this checkpoint, atomically replacing any previous checkpoint.
+   */
+  void save(Path file) throws IOException {
+    Properties props = new Properties();
+    if (table != null) {
+      props.setProperty(TABLE, table);
+    }
+    if (key != null) {
+      props.setProperty(KEY_COUNT, Integer.toString(key.length));
+      for (int i = 0; i < key.length; i++) {
+        props.setProperty(KEY_PREFIX + i, key[i]);
+      }
+    }
+    props.setProperty(CYCLE_STARTED, Long.toString(cycleStarted));
+    if (cycleCompleted != null) {
+      props.setProperty(CYCLE_COMPLETED, cycleCompleted.toString());
+    }
+    StateFiles.store(props, file, "Rolling verification checkpoint");
+  }
+}
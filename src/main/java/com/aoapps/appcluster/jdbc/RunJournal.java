@@ -0,0 +1,216 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.meta.Table;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The tables completed by a resumable synchronization, persisted in a local state file as each table is committed.
+ * A synchronization interrupted by a crash or timeout is resumed by the next run, which skips the tables already
+ * completed.  The journal is only resumed when the next run synchronizes the same tables with the same columns, within
+ * the maximum age of the journal, otherwise a new journal is started.
+ *
+ * <p>Only the tables that are fully scanned are journaled.  The tables synchronized from their changed keys are
+ * cheap to repeat, and must be repeated since their change sources are only advanced once the run completes.</p>
+ *
+ * @see  JdbcResource#getResumable()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class RunJournal {
+
+  private static final String STARTED = "started";
+  private static final String FULL = "full";
+  private static final String TABLES = "tables";
+  private static final String COLUMNS_PREFIX = "columns.";
+  private static final String DELETED = "deleted";
+  private static final String COMPLETED = "completed";
+
+  /**
+   * Gets the names of the tables of the given plans, in schema.name format and the same order.
+   */
+  private static String getNames(List<TablePlan> plans) {
+    StringBuilder names = new StringBuilder();
+    for (TablePlan plan : plans) {
+      if (names.length() > 0) {
+        names.append(',');
+      }
+      names.append(plan.getSchema()).append('.').append(plan.getName());
+    }
+    return names.toString();
+  }
+
+  /**
+   * Gets the columns of a table as a string that changes when the plan of the table changes.
+   */
+  private static String getColumns(TablePlan plan) {
+    StringBuilder columns = new StringBuilder();
+    for (int i = 0; i < plan.getColumnCount(); i++) {
+      if (i > 0) {
+        columns.append(',');
+      }
+      columns.append(plan.getColumnName(i)).append(':').append(plan.getDataType(i));
+    }
+    return columns.toString();
+  }
+
+  private static Set<String> split(String value) {
+    Set<String> set = new LinkedHashSet<>();
+    if (value != null && !value.isEmpty()) {
+      set.addAll(Arrays.asList(value.split(",")));
+    }
+    return set;
+  }
+
+  private static String join(Set<String> set) {
+    return String.join(",", set);
+  }
+
+  /**
+   * Opens the journal for a synchronization of the given tables, resuming the previous synchronization when its
+   * journal matches the tables and their columns.
+   *
+   * @param  plans            the plans of the tables to synchronize, in the order synchronized
+   * @param  fullSynchronize  a journal is only resumed by a synchronization of the same kind
+   * @param  maxAge           the maximum milliseconds since the previous synchronization started for it to be resumed,
+   *                          or {@code 0} for no limit
+   */
+  static RunJournal open(Path file, List<TablePlan> plans, boolean fullSynchronize, long maxAge) throws IOException {
+    String names = getNames(plans);
+    Properties props = new Properties();
+    props.setProperty(TABLES, names);
+    props.setProperty(FULL, Boolean.toString(fullSynchronize));
+    for (TablePlan plan : plans) {
+      props.setProperty(COLUMNS_PREFIX + plan.getSchema() + '.' + plan.getName(), getColumns(plan));
+    }
+    Properties previous = StateFiles.load(file);
+    String previousStarted = previous == null ? null : previous.getProperty(STARTED);
+    if (
+        previousStarted != null
+            && (maxAge == 0 || System.currentTimeMillis() - Long.parseLong(previousStarted) <= maxAge)
+    ) {
+      boolean matches = true;
+      for (String key : props.stringPropertyNames()) {
+        if (!props.getProperty(key).equals(previous.getProperty(key))) {
+          matches = false;
+          break;
+        }
+      }
+      if (matches) {
+        return new RunJournal(file, previous, true);
+      }
+    }
+    props.setProperty(STARTED, Long.toString(System.currentTimeMillis()));
+    return new RunJournal(file, props, false);
+  }
+
+  private final Path file;
+  private final Properties props;
+  private final boolean resumed;
+  private final Set<String> deleted;
+  private final Set<String> completed;
+
+  private RunJournal(Path file, Properties props, boolean resumed) {
+    this.file = file;
+    this.props = props;
+    this.resumed = resumed;
+    this.deleted = split(props.getProperty(DELETED));
+    this.completed = split(props.getProperty(COMPLETED));
+  }
+
+  /**
+   * Checks if this journal continues an interrupted synchronization.
+   */
+  boolean isResumed() {
+    return resumed;
+  }
+
+  /**
+   * Gets the time the synchronization of this journal started.
+   */
+  long getStarted() {
+    return Long.parseLong(props.getProperty(STARTED));
+  }
+
+  /**
+   * Gets the number of tables completed in either pass.
+   */
+  int getCompletedCount() {
+    Set<String> tables = new LinkedHashSet<>(deleted);
+    tables.addAll(completed);
+    return tables.size();
+  }
+
+  /**
+   * Checks if the extra rows of a table have been deleted, with the backward pass committed.
+   */
+  boolean isDeleted(Table table) {
+    return deleted.contains(table.getSchema().getName() + '.' + table.getName());
+  }
+
+  /**
+   * Checks if a table has been completed, with both passes committed.
+   */
+  boolean isCompleted(Table table) {
+    return completed.contains(table.getSchema().getName() + '.' + table.getName());
+  }
+
+  /**
+   * Records that the backward pass of a table has been committed.  The forward pass of the table is repeated in full
+   * when resumed, since the master may have changed since.
+   */
+  void deleted(Table table) throws IOException {
+    deleted.add(table.getSchema().getName() + '.' + table.getName());
+    props.setProperty(DELETED, join(deleted));
+    save();
+  }
+
+  /**
+   * Records that a table has been completed, with both passes committed.
+   */
+  void completed(Table table) throws IOException {
+    completed.add(table.getSchema().getName() + '.' + table.getName());
+    props.setProperty(COMPLETED, join(completed));
+    save();
+  }
+
+  private void save() throws IOException {
+    StateFiles.store(props, file, "Resumable synchronization journal");
+  }
+
+  /**
+   * Removes the journal once the synchronization has completed.
+   */
+  void delete() throws IOException {
+    Files.deleteIfExists(file);
+  }
+}
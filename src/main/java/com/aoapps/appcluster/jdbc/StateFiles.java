@@ -0,0 +1,140 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Properties;
+
+/**
+ * Reads and writes the files used to persist state between runs.
+ *
+ * @see  JdbcResource#getStateDirectory()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class StateFiles {
+
+  /** Make no instances. */
+  private StateFiles() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Encodes a value for storage in a state file.
+   * Supports the same types as {@link JdbcResourceSynchronizer.Row#compareTo(JdbcResourceSynchronizer.Row)}.
+   */
+  static String encode(int dataType, Object value) {
+    switch (dataType) {
+      case Types.BIGINT:
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.DATE:
+      case Types.DECIMAL:
+      case Types.NUMERIC:
+      case Types.DOUBLE:
+      case Types.FLOAT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.TIME:
+      case Types.TIMESTAMP:
+        return value.toString();
+      default:
+        throw new UnsupportedOperationException("Type encoding not implemented: " + dataType);
+    }
+  }
+
+  /**
+   * Decodes a value encoded by {@link #encode(int, java.lang.Object)}.
+   */
+  static Object decode(int dataType, String value) {
+    switch (dataType) {
+      case Types.BIGINT:
+        return Long.valueOf(value);
+      case Types.CHAR:
+      case Types.VARCHAR:
+        return value;
+      case Types.DATE:
+        return Date.valueOf(value);
+      case Types.DECIMAL:
+      case Types.NUMERIC:
+        return new BigDecimal(value);
+      case Types.DOUBLE:
+        return Double.valueOf(value);
+      case Types.FLOAT:
+        return Float.valueOf(value);
+      case Types.SMALLINT:
+      case Types.INTEGER:
+        return Integer.valueOf(value);
+      case Types.TIME:
+        return Time.valueOf(value);
+      case Types.TIMESTAMP:
+        return Timestamp.valueOf(value);
+      default:
+        throw new UnsupportedOperationException("Type decoding not implemented: " + dataType);
+    }
+  }
+
+  /**
+   * Loads a state file.
+   *
+   * @return  the properties or {@code null} when the file does not exist
+   */
+  static Properties load(Path file) throws IOException {
+    Properties props = new Properties();
+    try (InputStream in = Files.newInputStream(file)) {
+      props.load(in);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+    return props;
+  }
+
+  /**
+   * Stores a state file, atomically replacing any previous file.
+   */
+  static void store(Properties props, Path file, String comments) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        props.store(out, comments);
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statistics of each synchronization of each table, appended to a tab-separated file per synchronizer.
+ *
+ * @see  JdbcResource#getStatsDirectory()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class SyncStats {
+
+  /**
+   * The number of tab-separated columns of each line.
+   */
+  private static final int COLUMNS = 9;
+
+  /**
+   * The statistics of one table in one synchronization.
+   */
+  static final class Entry {
+
+    private final long time;
+    private final String table;
+    private final long rows;
+    private final long matches;
+    private final long updates;
+    private final long inserts;
+    private final long deletes;
+    private final long millis;
+    private final long bytes;
+
+    /**
+     * @param  time   the time the synchronization started
+     * @param  table  the table name in schema.name format
+     * @param  rows   the number of rows compared
+     */
+    Entry(long time, String table, long rows, long matches, long updates, long inserts, long deletes, long millis, long bytes) {
+      this.time = time;
+      this.table = table;
+      this.rows = rows;
+      this.matches = matches;
+      this.updates = updates;
+      this.inserts = inserts;
+      this.deletes = deletes;
+      this.millis = millis;
+      this.bytes = bytes;
+    }
+
+    /**
+     * Gets the time the synchronization started.
+     */
+    long getTime() {
+      return time;
+    }
+
+    /**
+     * Gets the table name in schema.name format.
+     */
+    String getTable() {
+      return table;
+    }
+
+    /**
+     * Gets the number of rows compared.
+     */
+    long getRows() {
+      return rows;
+    }
+
+    long getMatches() {
+      return matches;
+    }
+
+    long getUpdates() {
+      return updates;
+    }
+
+    long getInserts() {
+      return inserts;
+    }
+
+    long getDeletes() {
+      return deletes;
+    }
+
+    /**
+     * Gets the milliseconds spent on the table.
+     */
+    long getMillis() {
+      return millis;
+    }
+
+    /**
+     * Gets the approximate bytes scanned from the master.
+     */
+    long getBytes() {
+      return bytes;
+    }
+
+    private void append(Appendable out) throws IOException {
+      out.append(Long.toString(time)).append('\t')
+          .append(table).append('\t')
+          .append(Long.toString(rows)).append('\t')
+          .append(Long.toString(matches)).append('\t')
+          .append(Long.toString(updates)).append('\t')
+          .append(Long.toString(inserts)).append('\t')
+          .append(Long.toString(deletes)).append('\t')
+          .append(Long.toString(millis)).append('\t')
+          .append(Long.toString(bytes)).append('\n');
+    }
+
+    /**
+     * Parses a line written by {@link #append(java.lang.Appendable)}.
+     *
+     * @return  the entry or {@code null} when the line is not complete, such as the last line of a file being written
+     */
+    private static Entry parse(String line) {
+      String[] values = line.split("\t", -1);
+      if (values.length != COLUMNS) {
+        return null;
+      }
+      try {
+        return new Entry(
+            Long.parseLong(values[0]),
+            values[1],
+            Long.parseLong(values[2]),
+            Long.parseLong(values[3]),
+            Long.parseLong(values[4]),
+            Long.parseLong(values[5]),
+            Long.parseLong(values[6]),
+            Long.parseLong(values[7]),
+            Long.parseLong(values[8])
+        );
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+  }
+
+  private final Path file;
+
+  SyncStats(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Appends the statistics of one synchronization, creating the file as needed.
+   */
+  void append(List<Entry> entries) throws IOException {
+    if (!entries.isEmpty()) {
+      StringBuilder lines = new StringBuilder();
+      for (Entry entry : entries) {
+        entry.append(lines);
+      }
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      // Written at once, so concurrent readers see whole lines
+      try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        out.write(lines.toString());
+      }
+    }
+  }
+
+  /**
+   * Reads the most recent statistics of each table.
+   *
+   * @return  the entries keyed by table name in schema.name format, empty when there is no history
+   */
+  Map<String, Entry> readLatest() throws IOException {
+    Map<String, Entry> latest = new HashMap<>();
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        Entry entry = Entry.parse(line);
+        if (entry != null) {
+          latest.put(entry.getTable(), entry);
+        }
+      }
+    } catch (NoSuchFileException e) {
+      // No history
+    }
+    return latest;
+  }
+}
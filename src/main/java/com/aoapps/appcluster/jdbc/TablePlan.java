@@ -0,0 +1,763 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.meta.Column;
+import com.aoapps.dbc.meta.Table;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The precomputed SQL and column layout used to compare and synchronize a single table.
+ * A plan is built once from the table meta data and is cached by {@link JdbcResource} for as long as the
+ * meta data remains unchanged, so the per-row loops perform no SQL building or column list scanning.
+ *
+ * <p>Only names and data types are retained, not the meta data objects themselves, so a cached plan does not hold
+ * onto the catalog of a previous pass.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TablePlan {
+
+  /**
+   * Checks if a data type is binary.  Binary columns are always compared by hash instead of by value.
+   */
+  private static boolean isBinary(int dataType) {
+    switch (dataType) {
+      case Types.BINARY:
+      case Types.BLOB:
+      case Types.LONGVARBINARY:
+      case Types.VARBINARY:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Checks if a data type is character data.
+   */
+  private static boolean isCharacter(int dataType) {
+    switch (dataType) {
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+      case Types.CLOB:
+      case Types.NCLOB:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Checks if a column is compared by hash instead of by value.
+   *
+   * @param  hashTypes  the database type names of the columns that are hashed in addition to binary columns
+   * @param  hashTextSize  the size above which character columns are hashed, or {@code 0} to not hash by size
+   *
+   * @see  #isHashed(int)
+   */
+  private static boolean isHashed(Column column, int dataType, Set<String> hashTypes, int hashTextSize) {
+    if (isBinary(dataType) || hashTypes.contains(column.getTypeName())) {
+      return true;
+    }
+    if (hashTextSize > 0 && isCharacter(dataType)) {
+      Integer columnSize = column.getColumnSize();
+      return columnSize == null || columnSize > hashTextSize;
+    }
+    return false;
+  }
+
+  /**
+   * The width used for character columns of unknown or larger sizes when estimating the width of a row.
+   */
+  private static final int MAX_ESTIMATED_COLUMN_WIDTH = 1024;
+
+  /**
+   * The number of rows deleted by each statement of {@link #getDeleteChunkSql()}.
+   */
+  static final int DELETE_CHUNK_ROWS = 100;
+
+  /**
+   * Estimates the width of a column, as measured by {@link JdbcResourceSynchronizer.Row#getSize()}.
+   */
+  private static int estimateWidth(Column column, int dataType) {
+    if (isCharacter(dataType)) {
+      Integer columnSize = column.getColumnSize();
+      return columnSize == null || columnSize > MAX_ESTIMATED_COLUMN_WIDTH ? MAX_ESTIMATED_COLUMN_WIDTH : columnSize;
+    }
+    return Long.BYTES;
+  }
+
+  /**
+   * Gets the columns of a table that are synchronized, in table order.
+   */
+  private static List<Column> getColumns(Table table, Set<String> excludeColumns) throws SQLException {
+    List<Column> columns = table.getColumns();
+    if (excludeColumns.isEmpty()) {
+      return columns;
+    }
+    List<Column> included = new ArrayList<>(columns.size());
+    for (Column column : columns) {
+      if (!excludeColumns.contains(column.getName())) {
+        included.add(column);
+      }
+    }
+    return included;
+  }
+
+  private final String schema;
+  private final String name;
+  private final Set<String> excludeColumns;
+  private final String filter;
+  private final String[] columnNames;
+  private final String[] quotedNames;
+  private final String from;
+  private final int[] dataTypes;
+  private final boolean[] hashed;
+  private final HashFunction hashFunction;
+  private final boolean combinedHash;
+  private final int[] primaryKeyIndexes;
+  private final int[] nonPrimaryKeyIndexes;
+  private final int[] hashedIndexes;
+  private final int estimatedRowWidth;
+  private final FetchSize fetchSize;
+  private final String selectColumnsSql;
+  private final String selectSql;
+  private final String selectAfterSql;
+  private final String selectFirstPageSql;
+  private final String selectPageSql;
+  private final String sampleKeysSql;
+  private final String sampleSql;
+  private final String selectByPrimaryKeySql;
+  private final String selectHashedSql;
+  private final String deleteSql;
+  private final String deleteChunkSql;
+  private final String updateSql;
+  private final String insertSql;
+
+  /**
+   * @param  dialect  the dialect of the databases
+   * @param  excludeColumns  the names of the columns left out of the plan, which may not include any primary key column
+   * @param  filter  the SQL condition limiting the rows selected, or {@code null} for all rows
+   * @param  hashTypes  the database type names of the columns that are hashed in addition to binary columns
+   * @param  hashTextSize  the size above which character columns are hashed, or {@code 0} to not hash by size
+   * @param  hashFunction  the function used to hash the hashed columns
+   * @param  combineHashes  when {@code true}, all hashed columns are compared by a single combined hash
+   * @param  fetchSize  the fetch size of the table, which is kept when the plan is rebuilt
+   */
+  TablePlan(
+      JdbcDialect dialect,
+      Table table,
+      Set<String> excludeColumns,
+      String filter,
+      Set<String> hashTypes,
+      int hashTextSize,
+      HashFunction hashFunction,
+      boolean combineHashes,
+      FetchSize fetchSize
+  ) throws SQLException {
+    this.schema = table.getSchema().getName();
+    this.name = table.getName();
+    this.excludeColumns = excludeColumns;
+    this.filter = filter;
+    this.hashFunction = hashFunction;
+    List<Column> columns = getColumns(table, excludeColumns);
+    List<Column> pkColumns = table.getPrimaryKey().getColumns();
+    int numColumns = columns.size();
+    columnNames = new String[numColumns];
+    quotedNames = new String[numColumns];
+    dataTypes = new int[numColumns];
+    hashed = new boolean[numColumns];
+    boolean[] isPrimaryKey = new boolean[numColumns];
+    for (int i = 0; i < numColumns; i++) {
+      Column column = columns.get(i);
+      columnNames[i] = column.getName();
+      quotedNames[i] = dialect.quoteIdentifier(column.getName());
+      dataTypes[i] = column.getDataType();
+    }
+    this.fetchSize = fetchSize;
+    primaryKeyIndexes = new int[pkColumns.size()];
+    for (int i = 0; i < primaryKeyIndexes.length; i++) {
+      int index = columns.indexOf(pkColumns.get(i));
+      if (index == -1 && excludeColumns.contains(pkColumns.get(i).getName())) {
+        throw new SQLException("Primary key column may not be excluded from " + schema + "." + name + ": " + pkColumns.get(i).getName());
+      }
+      if (index == -1) {
+        throw new SQLException("Primary key column not found in " + schema + "." + name + ": " + pkColumns.get(i).getName());
+      }
+      if (isBinary(dataTypes[index])) {
+        throw new SQLException("Type not supported in primary key: " + dataTypes[index]);
+      }
+      primaryKeyIndexes[i] = index;
+      isPrimaryKey[index] = true;
+    }
+    // Primary key columns are never hashed, since they are compared by value to match rows
+    int numHashed = 0;
+    int newEstimatedRowWidth = 0;
+    for (int i = 0; i < numColumns; i++) {
+      Column column = columns.get(i);
+      if (!isPrimaryKey[i] && isHashed(column, dataTypes[i], hashTypes, hashTextSize)) {
+        hashed[i] = true;
+        numHashed++;
+      } else {
+        newEstimatedRowWidth += estimateWidth(column, dataTypes[i]);
+      }
+    }
+    combinedHash = combineHashes && numHashed > 1;
+    if (combinedHash) {
+      // One hash followed by nulls
+      newEstimatedRowWidth += hashFunction.getWidth() + numHashed - 1;
+    } else {
+      newEstimatedRowWidth += numHashed * hashFunction.getWidth();
+    }
+    estimatedRowWidth = newEstimatedRowWidth;
+    nonPrimaryKeyIndexes = new int[numColumns - primaryKeyIndexes.length];
+    hashedIndexes = new int[numHashed];
+    int nonPkPos = 0;
+    int hashedPos = 0;
+    for (int i = 0; i < numColumns; i++) {
+      if (!isPrimaryKey[i]) {
+        nonPrimaryKeyIndexes[nonPkPos++] = i;
+      }
+      if (hashed[i]) {
+        hashedIndexes[hashedPos++] = i;
+      }
+    }
+    if (nonPkPos != nonPrimaryKeyIndexes.length) {
+      throw new AssertionError();
+    }
+    from = dialect.getTableName(schema, name);
+    String selectList = buildSelectListSql(dialect);
+    String selectColumns = selectList + " FROM " + from;
+    selectColumnsSql = selectColumns;
+    selectSql = buildSelectSql(dialect, selectColumns);
+    selectAfterSql = buildSelectAfterSql(dialect, selectColumns);
+    selectFirstPageSql = dialect.limit(selectSql);
+    selectPageSql = dialect.limit(selectAfterSql);
+    sampleKeysSql = buildSampleKeysSql(dialect);
+    sampleSql = buildSampleSql(dialect, selectColumns);
+    selectByPrimaryKeySql = buildSelectByPrimaryKeySql(selectColumns);
+    selectHashedSql = hashedIndexes.length == 0 ? null : buildSelectHashedSql();
+    deleteSql = buildDeleteSql();
+    List<String> pkNames = new ArrayList<>(primaryKeyIndexes.length);
+    for (int index : primaryKeyIndexes) {
+      pkNames.add(quotedNames[index]);
+    }
+    deleteChunkSql = dialect.deleteRows(from, pkNames, DELETE_CHUNK_ROWS);
+    updateSql = nonPrimaryKeyIndexes.length == 0 ? null : buildUpdateSql();
+    insertSql = buildInsertSql();
+  }
+
+  /**
+   * Appends the <code>WHERE</code> conditions that select a single row by primary key.
+   */
+  private void appendPrimaryKeyWhere(StringBuilder sql, String separator) {
+    boolean didOne = false;
+    for (int index : primaryKeyIndexes) {
+      if (didOne) {
+        sql.append(separator);
+      } else {
+        didOne = true;
+      }
+      sql.append(quotedNames[index]).append("=?");
+    }
+  }
+
+  /**
+   * Builds the <code>SELECT</code> clause shared by all queries that compare rows, with hashed columns changed to
+   * hashes.  When hashes are combined, the first hashed column is selected as the hash of all hashed columns and the
+   * others are selected as <code>NULL</code>.
+   */
+  private String buildSelectListSql(JdbcDialect dialect) {
+    String combined = null;
+    if (combinedHash) {
+      List<String> hashedColumns = new ArrayList<>(hashedIndexes.length);
+      boolean[] binary = new boolean[hashedIndexes.length];
+      for (int i = 0; i < hashedIndexes.length; i++) {
+        hashedColumns.add(quotedNames[hashedIndexes[i]]);
+        binary[i] = isBinary(dataTypes[hashedIndexes[i]]);
+      }
+      combined = dialect.hashCombined(hashFunction, hashedColumns, binary);
+    }
+    StringBuilder sql = new StringBuilder();
+    sql.append("SELECT ");
+    for (int i = 0; i < columnNames.length; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      if (hashed[i]) {
+        // These will be verified by hash
+        if (combined == null) {
+          sql.append(dialect.hash(hashFunction, quotedNames[i], isBinary(dataTypes[i])));
+        } else if (i == hashedIndexes[0]) {
+          sql.append(combined);
+        } else {
+          sql.append("NULL");
+        }
+      } else {
+        // All others are fully compared
+        sql.append(quotedNames[i]);
+      }
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Appends the primary key columns in the order used by all sorted queries, or the matching parameters.
+   *
+   * @param  parameters  when {@code true}, appends parameters in place of the columns
+   */
+  private void appendPrimaryKeyOrder(JdbcDialect dialect, StringBuilder sql, boolean parameters) {
+    boolean didOne = false;
+    for (int index : primaryKeyIndexes) {
+      if (didOne) {
+        sql.append(", ");
+      } else {
+        didOne = true;
+      }
+      if (parameters) {
+        sql.append(dialect.getOrderParameter(dataTypes[index]));
+      } else {
+        sql.append(dialect.getOrderExpression(quotedNames[index], dataTypes[index]));
+      }
+    }
+  }
+
+  /**
+   * Builds the SQL query used to select the entire table (except with hashed columns changed to hashes) in primary key order.
+   */
+  private String buildSelectSql(JdbcDialect dialect, String selectColumns) {
+    StringBuilder sql = new StringBuilder(selectColumns);
+    if (filter != null) {
+      sql.append(" WHERE (").append(filter).append(')');
+    }
+    sql.append(" ORDER BY ");
+    appendPrimaryKeyOrder(dialect, sql, false);
+    return sql.toString();
+  }
+
+  /**
+   * Builds the SQL query used to select all rows after a given primary key (except with hashed columns changed to
+   * hashes) in primary key order.
+   */
+  private String buildSelectAfterSql(JdbcDialect dialect, String selectColumns) {
+    StringBuilder sql = new StringBuilder(selectColumns);
+    sql.append(" WHERE (");
+    if (filter != null) {
+      sql.append(filter).append(") AND (");
+    }
+    appendPrimaryKeyOrder(dialect, sql, false);
+    sql.append(") > (");
+    appendPrimaryKeyOrder(dialect, sql, true);
+    sql.append(") ORDER BY ");
+    appendPrimaryKeyOrder(dialect, sql, false);
+    return sql.toString();
+  }
+
+  /**
+   * Builds the SQL query used to select the primary keys of a random sample of rows, from which the seeks of a sampled
+   * test start.
+   */
+  private String buildSampleKeysSql(JdbcDialect dialect) {
+    StringBuilder sql = new StringBuilder("SELECT ");
+    boolean didOne = false;
+    for (int index : primaryKeyIndexes) {
+      if (didOne) {
+        sql.append(", ");
+      } else {
+        didOne = true;
+      }
+      sql.append(quotedNames[index]);
+    }
+    sql.append(" FROM ").append(dialect.sampleTable(from));
+    if (filter != null) {
+      sql.append(" WHERE (").append(filter).append(')');
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Builds the SQL query used to select the rows starting at a given primary key (except with hashed columns changed
+   * to hashes) in primary key order, limited to a maximum number of rows.
+   */
+  private String buildSampleSql(JdbcDialect dialect, String selectColumns) {
+    StringBuilder sql = new StringBuilder(selectColumns);
+    sql.append(" WHERE (");
+    if (filter != null) {
+      sql.append(filter).append(") AND (");
+    }
+    appendPrimaryKeyOrder(dialect, sql, false);
+    sql.append(") >= (");
+    appendPrimaryKeyOrder(dialect, sql, true);
+    sql.append(") ORDER BY ");
+    appendPrimaryKeyOrder(dialect, sql, false);
+    return dialect.limit(sql.toString());
+  }
+
+  /**
+   * Builds the SQL query used to select a single row (except with hashed columns changed to hashes).
+   */
+  private String buildSelectByPrimaryKeySql(String selectColumns) {
+    StringBuilder sql = new StringBuilder(selectColumns);
+    sql.append(" WHERE ");
+    if (filter != null) {
+      sql.append('(').append(filter).append(") AND ");
+    }
+    appendPrimaryKeyWhere(sql, " AND ");
+    return sql.toString();
+  }
+
+  /**
+   * Builds the SQL query used to select the real values of all hashed columns for a single row.
+   */
+  private String buildSelectHashedSql() {
+    StringBuilder sql = new StringBuilder();
+    sql.append("SELECT ");
+    boolean didOne = false;
+    for (int index : hashedIndexes) {
+      if (didOne) {
+        sql.append(", ");
+      } else {
+        didOne = true;
+      }
+      sql.append(quotedNames[index]);
+    }
+    sql.append(" FROM ").append(from).append(" WHERE ");
+    appendPrimaryKeyWhere(sql, " AND ");
+    return sql.toString();
+  }
+
+  private String buildDeleteSql() {
+    StringBuilder sql = new StringBuilder();
+    sql.append("DELETE FROM\n"
+        + "  ").append(from).append("\n"
+        + "WHERE\n"
+        + "  ");
+    appendPrimaryKeyWhere(sql, "\n  AND ");
+    return sql.toString();
+  }
+
+  private String buildUpdateSql() {
+    StringBuilder sql = new StringBuilder();
+    sql.append("UPDATE\n"
+        + "  ").append(from).append("\n"
+        + "SET");
+    boolean didOne = false;
+    for (int index : nonPrimaryKeyIndexes) {
+      if (didOne) {
+        sql.append(",\n  ");
+      } else {
+        sql.append("\n  ");
+        didOne = true;
+      }
+      sql.append(quotedNames[index]).append("=?");
+    }
+    sql.append("\n"
+        + "WHERE\n"
+        + "  ");
+    appendPrimaryKeyWhere(sql, "\n  AND ");
+    return sql.toString();
+  }
+
+  private String buildInsertSql() {
+    StringBuilder sql = new StringBuilder();
+    sql.append("INSERT INTO\n"
+        + "  ").append(from).append("\n"
+        + "(");
+    for (int i = 0; i < columnNames.length; i++) {
+      sql.append(i == 0 ? "\n  " : ",\n  ").append(quotedNames[i]);
+    }
+    sql.append("\n"
+        + ") VALUES (");
+    for (int i = 0; i < columnNames.length; i++) {
+      sql.append(i == 0 ? "\n  ?" : ",\n  ?");
+    }
+    sql.append("\n"
+        + ")");
+    return sql.toString();
+  }
+
+  /**
+   * Checks if this plan is still valid for the given table meta data.
+   */
+  boolean matches(Table table) throws SQLException {
+    if (
+        !schema.equals(table.getSchema().getName())
+            || !name.equals(table.getName())
+    ) {
+      return false;
+    }
+    List<Column> columns = getColumns(table, excludeColumns);
+    if (columns.size() != columnNames.length) {
+      return false;
+    }
+    for (int i = 0; i < columnNames.length; i++) {
+      Column column = columns.get(i);
+      if (
+          !columnNames[i].equals(column.getName())
+              || dataTypes[i] != column.getDataType()
+      ) {
+        return false;
+      }
+    }
+    List<Column> pkColumns = table.getPrimaryKey().getColumns();
+    if (pkColumns.size() != primaryKeyIndexes.length) {
+      return false;
+    }
+    for (int i = 0; i < primaryKeyIndexes.length; i++) {
+      if (!columnNames[primaryKeyIndexes[i]].equals(pkColumns.get(i).getName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  String getSchema() {
+    return schema;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  int getColumnCount() {
+    return columnNames.length;
+  }
+
+  String getColumnName(int index) {
+    return columnNames[index];
+  }
+
+  int getDataType(int index) {
+    return dataTypes[index];
+  }
+
+  /**
+   * Gets the index of the column with the given name.
+   *
+   * @return  the index or {@code -1} when not found
+   */
+  int getColumnIndex(String columnName) {
+    for (int i = 0; i < columnNames.length; i++) {
+      if (columnNames[i].equals(columnName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the indexes of the primary key columns, in primary key order.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Only used internally, never modified
+  int[] getPrimaryKeyIndexes() {
+    return primaryKeyIndexes;
+  }
+
+  /**
+   * Gets the indexes of the non-primary key columns, in column order.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Only used internally, never modified
+  int[] getNonPrimaryKeyIndexes() {
+    return nonPrimaryKeyIndexes;
+  }
+
+  /**
+   * Gets the SQL condition limiting the rows selected, or {@code null} when all rows are selected.
+   */
+  String getFilter() {
+    return filter;
+  }
+
+  /**
+   * Checks if a column is compared by hash instead of by value.  The real value of a hashed column is only retrieved
+   * for rows that are actually inserted or updated.
+   *
+   * @param  index  the index of the column
+   */
+  boolean isHashed(int index) {
+    return hashed[index];
+  }
+
+  /**
+   * Gets the estimated width of a row, from the column meta data.
+   */
+  int getEstimatedRowWidth() {
+    return estimatedRowWidth;
+  }
+
+  /**
+   * Gets the fetch size of the scans of this table.
+   */
+  FetchSize getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Gets the indexes of the hashed columns, in column order.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Only used internally, never modified
+  int[] getHashedIndexes() {
+    return hashedIndexes;
+  }
+
+  /**
+   * Gets the SQL query used to select the entire table (except with hashed columns changed to hashes) in primary key order.
+   */
+  String getSelectSql() {
+    return selectSql;
+  }
+
+  /**
+   * Gets the SQL query used to select all rows after a given primary key (except with hashed columns changed to
+   * hashes) in primary key order, parameterized by the primary key.
+   */
+  String getSelectAfterSql() {
+    return selectAfterSql;
+  }
+
+  /**
+   * Gets the SQL query used to select the first page of rows (except with hashed columns changed to hashes) in
+   * primary key order, parameterized by the maximum number of rows.
+   */
+  String getSelectFirstPageSql() {
+    return selectFirstPageSql;
+  }
+
+  /**
+   * Gets the SQL query used to select the next page of rows after a given primary key (except with hashed columns changed
+   * to hashes) in primary key order, parameterized by the primary key followed by the maximum number of rows.
+   */
+  String getSelectPageSql() {
+    return selectPageSql;
+  }
+
+  /**
+   * Builds the SQL query used to select the primary key columns followed by the change-tracking column of the rows
+   * changed at or after a given value of the change-tracking column, parameterized by the change column value.
+   * The rows are not ordered.  This depends on configuration so is not cached.
+   *
+   * @param  changeIndex  the index of the change-tracking column
+   */
+  String getSelectChangedKeysSql(int changeIndex) {
+    StringBuilder sql = new StringBuilder("SELECT ");
+    for (int index : primaryKeyIndexes) {
+      sql.append(quotedNames[index]).append(", ");
+    }
+    sql.append(quotedNames[changeIndex]).append(" FROM ").append(from)
+        .append(" WHERE ").append(quotedNames[changeIndex]).append(" >= ?");
+    return sql.toString();
+  }
+
+  /**
+   * Builds the SQL query used to select the maximum value of a change-tracking column.
+   *
+   * @param  changeIndex  the index of the change-tracking column
+   */
+  String getSelectMaxSql(int changeIndex) {
+    return "SELECT max(" + quotedNames[changeIndex] + ") FROM " + from;
+  }
+
+  /**
+   * Gets the SQL query used to select the primary keys of a random sample of rows, in no particular order,
+   * parameterized by the percentage of rows to sample.
+   *
+   * @see  JdbcDialect#sampleTable(java.lang.String)
+   */
+  String getSampleKeysSql() {
+    return sampleKeysSql;
+  }
+
+  /**
+   * Gets the SQL query used to seek a range of rows for a sampled test (except with hashed columns changed to hashes)
+   * in primary key order, parameterized by the primary key to start at followed by the maximum number of rows.
+   */
+  String getSampleSql() {
+    return sampleSql;
+  }
+
+  /**
+   * Gets the SQL query used to select a single row (except with hashed columns changed to hashes), parameterized by
+   * the primary key.
+   */
+  String getSelectByPrimaryKeySql() {
+    return selectByPrimaryKeySql;
+  }
+
+  /**
+   * Gets the SQL query used to select the real values of the hashed columns for a single row, parameterized by the
+   * primary key.
+   *
+   * @return  the query or {@code null} when there are no hashed columns
+   */
+  String getSelectHashedSql() {
+    return selectHashedSql;
+  }
+
+  /**
+   * Gets the SQL used to delete a single row, parameterized by the primary key.
+   */
+  String getDeleteSql() {
+    return deleteSql;
+  }
+
+  /**
+   * Gets the SQL used to delete {@link #DELETE_CHUNK_ROWS} rows at once, parameterized by the primary key of each row
+   * in turn.
+   *
+   * @see  JdbcDialect#deleteRows(java.lang.String, java.util.List, int)
+   */
+  String getDeleteChunkSql() {
+    return deleteChunkSql;
+  }
+
+  /**
+   * Gets the SQL used to update a single row, parameterized by the non-primary key columns followed by the primary key.
+   *
+   * @return  the update or {@code null} when all columns are part of the primary key
+   */
+  String getUpdateSql() {
+    return updateSql;
+  }
+
+  /**
+   * Gets the SQL used to insert a single row, parameterized by all columns in column order.
+   */
+  String getInsertSql() {
+    return insertSql;
+  }
+
+  @Override
+  public String toString() {
+    return schema + '.' + name;
+  }
+}
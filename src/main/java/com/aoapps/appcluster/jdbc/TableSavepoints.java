@@ -0,0 +1,249 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.meta.Table;
+import com.aoapps.lang.i18n.Resources;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the changes of each table of one synchronization to the slave, isolating each table under its own savepoint
+ * when partial commits are enabled.  Also measures the time spent and bytes scanned by each table.
+ *
+ * @see  JdbcResource#getPartialCommit()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TableSavepoints {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, TableSavepoints.class);
+
+  /**
+   * Applies the changes of one table.
+   */
+  @FunctionalInterface
+  interface TableAction {
+    void apply() throws SQLException, IOException;
+  }
+
+  private final Connection toConn;
+  private final boolean partialCommit;
+  private final boolean deferConstraints;
+  private final Set<Table> tables;
+  private final Map<Table, Long> updates;
+  private final Map<Table, Long> inserts;
+  private final Map<Table, Long> deletes;
+  private final Throttle.Meter meter;
+
+  /**
+   * The nanoseconds spent on each table.
+   */
+  private final Map<Table, Long> nanos = new HashMap<>();
+
+  /**
+   * The bytes scanned by the first pass of each table, only counted when metered.  Each row is read again by a second
+   * pass, so only the first is counted, like the rows.
+   */
+  private final Map<Table, Long> bytes = new HashMap<>();
+
+  /**
+   * The tables that failed and have been rolled-back to their savepoint.
+   */
+  private final Map<Table, SQLException> failed = new LinkedHashMap<>();
+
+  /**
+   * The tables that have been skipped, each with the failed table it depends on.
+   */
+  private final Map<Table, Table> skipped = new LinkedHashMap<>();
+
+  /**
+   * @param  tables   the tables being synchronized
+   * @param  updates  the counts of rows updated, which are restored when a table is rolled-back
+   * @param  inserts  the counts of rows inserted, which are restored when a table is rolled-back
+   * @param  deletes  the counts of rows deleted, which are restored when a table is rolled-back
+   * @param  meter    the meter of the rows read or {@code null} when the bytes scanned are not counted
+   */
+  TableSavepoints(
+      JdbcResource resource,
+      Connection toConn,
+      Set<Table> tables,
+      Map<Table, Long> updates,
+      Map<Table, Long> inserts,
+      Map<Table, Long> deletes,
+      Throttle.Meter meter
+  ) {
+    this.toConn = toConn;
+    this.partialCommit = resource.getPartialCommit();
+    this.deferConstraints = resource.getDeferConstraints();
+    this.tables = tables;
+    this.updates = updates;
+    this.inserts = inserts;
+    this.deletes = deletes;
+    this.meter = meter;
+  }
+
+  /**
+   * Applies the changes of one table.  When partial commits are disabled, any exception is thrown.  Otherwise, the
+   * table is skipped when it depends on a table that has already failed, and a table that fails is rolled-back to its
+   * savepoint, unless the other tables may already depend on it.
+   *
+   * @param  backward  {@code true} for the backward pass, which depends on the tables referencing this table, or
+   *                   {@code false} for the forward pass, and the single pass when constraints are deferred, which
+   *                   depends on the tables referenced by this table
+   *
+   * @return  {@code true} when applied or {@code false} when skipped or rolled-back
+   */
+  boolean apply(Table table, boolean backward, TableAction action) throws SQLException, IOException {
+    if (!partialCommit) {
+      measure(table, action);
+      return true;
+    }
+    if (failed.containsKey(table) || skipped.containsKey(table)) {
+      return false;
+    }
+    for (Table dependency : backward ? table.getExportedTables() : table.getImportedTables()) {
+      if (failed.containsKey(dependency) || skipped.containsKey(dependency)) {
+        skipped.put(table, dependency);
+        return false;
+      }
+    }
+    Long update = updates.get(table);
+    Long insert = inserts.get(table);
+    Long delete = deletes.get(table);
+    Savepoint savepoint = toConn.setSavepoint();
+    try {
+      measure(table, action);
+    } catch (SQLException e) {
+      if (deferConstraints && hasForeignKeys(table)) {
+        // Other tables may already reference its rows, which will only be checked on commit
+        throw e;
+      }
+      toConn.rollback(savepoint);
+      restore(updates, table, update);
+      restore(inserts, table, insert);
+      restore(deletes, table, delete);
+      failed.put(table, e);
+      return false;
+    }
+    toConn.releaseSavepoint(savepoint);
+    return true;
+  }
+
+  /**
+   * Performs an action, adding its time to the table.  The bytes scanned are only recorded by the first action of the
+   * table.
+   */
+  private void measure(Table table, TableAction action) throws SQLException, IOException {
+    long startNanos = System.nanoTime();
+    long startBytes = meter == null ? 0 : meter.getBytesRead();
+    try {
+      action.apply();
+    } finally {
+      nanos.merge(table, System.nanoTime() - startNanos, Long::sum);
+      if (meter != null) {
+        bytes.putIfAbsent(table, meter.getBytesRead() - startBytes);
+      }
+    }
+  }
+
+  /**
+   * Gets the milliseconds spent on a table.
+   */
+  long getMillis(Table table) {
+    Long value = nanos.get(table);
+    return value == null ? 0 : TimeUnit.NANOSECONDS.toMillis(value);
+  }
+
+  /**
+   * Gets the approximate bytes scanned by a table, or {@code 0} when not counted.
+   */
+  long getBytes(Table table) {
+    Long value = bytes.get(table);
+    return value == null ? 0 : value;
+  }
+
+  /**
+   * Checks if a table has any foreign key to or from the other tables being synchronized.
+   */
+  private boolean hasForeignKeys(Table table) throws SQLException {
+    for (Table other : table.getImportedTables()) {
+      if (!other.equals(table) && tables.contains(other)) {
+        return true;
+      }
+    }
+    for (Table other : table.getExportedTables()) {
+      if (!other.equals(table) && tables.contains(other)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void restore(Map<Table, Long> counts, Table table, Long count) {
+    if (count == null) {
+      counts.remove(table);
+    } else {
+      counts.put(table, count);
+    }
+  }
+
+  /**
+   * Gets the names of the tables failed or skipped, in schema.name format.
+   */
+  Set<String> getSkippedTables() {
+    Set<String> names = new HashSet<>();
+    for (Table table : failed.keySet()) {
+      names.add(table.getSchema().getName() + '.' + table.getName());
+    }
+    for (Table table : skipped.keySet()) {
+      names.add(table.getSchema().getName() + '.' + table.getName());
+    }
+    return names;
+  }
+
+  /**
+   * Reports the tables failed or skipped.
+   */
+  void report(StringBuilder stepWarning) {
+    for (Map.Entry<Table, SQLException> entry : failed.entrySet()) {
+      Table table = entry.getKey();
+      stepWarning.append(RESOURCES.getMessage("failed", table.getSchema(), table, entry.getValue().toString())).append('\n');
+    }
+    for (Map.Entry<Table, Table> entry : skipped.entrySet()) {
+      Table table = entry.getKey();
+      Table dependency = entry.getValue();
+      stepWarning.append(RESOURCES.getMessage("skipped", table.getSchema(), table, dependency.getSchema(), dependency)).append('\n');
+    }
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.NoRowException;
+import com.aoapps.lang.util.ErrorPrinter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Limits the load the scans of a resource put on the master, shared by all synchronizers of the resource.
+ *
+ * @see  JdbcResource#getMaxRowsPerSecond()
+ * @see  JdbcResource#getMaxBytesPerSecond()
+ * @see  JdbcResource#getMaxConcurrentScans()
+ * @see  JdbcResource#getThrottleProbe()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Throttle {
+
+  private final int maxRowsPerSecond;
+  private final int maxBytesPerSecond;
+  private final Semaphore scans;
+  private final String probe;
+  private final double probeThreshold;
+  private final long probeIntervalNanos;
+  private final long probeMaxPauseNanos;
+
+  private static class PaceLock {
+    // Empty lock class to help heap profile
+  }
+
+  private final PaceLock paceLock = new PaceLock();
+
+  /**
+   * The {@link System#nanoTime()} when the next row may be read.
+   */
+  private long nextRead;
+
+  private static class ProbeLock {
+    // Empty lock class to help heap profile
+  }
+
+  private final ProbeLock probeLock = new ProbeLock();
+
+  /**
+   * The {@link System#nanoTime()} when the probe is next run.
+   */
+  private long nextProbe;
+
+  Throttle(JdbcResource resource) {
+    this.maxRowsPerSecond = resource.getMaxRowsPerSecond();
+    this.maxBytesPerSecond = resource.getMaxBytesPerSecond();
+    int maxConcurrentScans = resource.getMaxConcurrentScans();
+    this.scans = maxConcurrentScans == 0 ? null : new Semaphore(maxConcurrentScans, true);
+    this.probe = resource.getThrottleProbe();
+    Double threshold = resource.getThrottleProbeThreshold();
+    this.probeThreshold = threshold == null ? 0 : threshold;
+    this.probeIntervalNanos = TimeUnit.SECONDS.toNanos(resource.getThrottleProbeInterval());
+    this.probeMaxPauseNanos = TimeUnit.SECONDS.toNanos(resource.getThrottleProbeMaxPause());
+    this.nextRead = System.nanoTime();
+    this.nextProbe = nextRead;
+  }
+
+  /**
+   * Waits until another scan of the master is allowed.
+   * Each call must be followed by a call to {@link #releaseScan()}.
+   */
+  void acquireScan() throws InterruptedException {
+    if (scans != null) {
+      scans.acquire();
+    }
+  }
+
+  /**
+   * Ends a scan started by {@link #acquireScan()}.
+   */
+  void releaseScan() {
+    if (scans != null) {
+      scans.release();
+    }
+  }
+
+  /**
+   * Creates a meter of the rows read from the given master.
+   *
+   * @param  counted  when {@code true}, a meter is created to count the bytes read even when not limited
+   *
+   * @return  the meter or {@code null} when the rows read are neither limited nor counted
+   */
+  Meter newMeter(DataSource master, boolean counted) {
+    if (!counted && maxRowsPerSecond == 0 && maxBytesPerSecond == 0 && probe == null) {
+      return null;
+    }
+    return new Meter(master);
+  }
+
+  /**
+   * Slows the rows read from one master to the limits of the resource.
+   */
+  final class Meter {
+
+    private final DataSource master;
+
+    /**
+     * The total approximate bytes read.
+     */
+    private long bytesRead;
+
+    private Meter(DataSource master) {
+      this.master = master;
+    }
+
+    /**
+     * Gets the total approximate bytes read through this meter.
+     */
+    long getBytesRead() {
+      return bytesRead;
+    }
+
+    /**
+     * Called for each row read, waiting as needed to stay within the limits.
+     *
+     * @param  bytes  the approximate size of the row
+     */
+    void read(long bytes) throws SQLException {
+      bytesRead += bytes;
+      try {
+        if (probe != null) {
+          probe(master);
+        }
+        if (maxRowsPerSecond != 0 || maxBytesPerSecond != 0) {
+          pace(bytes);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Interrupted while throttled", e);
+      }
+    }
+  }
+
+  /**
+   * Reserves the time to read a row, sleeping until the previous reservations are done.
+   * Waits of less than a millisecond accumulate until long enough to sleep.
+   */
+  private void pace(long bytes) throws InterruptedException {
+    long wait;
+    synchronized (paceLock) {
+      long now = System.nanoTime();
+      if (nextRead - now < 0) {
+        // Idle time is not saved up for a later burst
+        nextRead = now;
+      }
+      wait = nextRead - now;
+      long cost = 0;
+      if (maxRowsPerSecond != 0) {
+        cost = TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond;
+      }
+      if (maxBytesPerSecond != 0) {
+        cost = Math.max(cost, bytes * TimeUnit.SECONDS.toNanos(1) / maxBytesPerSecond);
+      }
+      nextRead += cost;
+    }
+    if (wait >= TimeUnit.MILLISECONDS.toNanos(1)) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+  }
+
+  /**
+   * Runs the probe once each interval, pausing every scan until the probe is back within its threshold.
+   *
+   * @throws  SQLException  when paused longer than the maximum pause, including the time waiting for the pause of
+   *                        other scans
+   */
+  private void probe(DataSource master) throws SQLException, InterruptedException {
+    final long pauseStart = System.nanoTime();
+    synchronized (probeLock) {
+      if (System.nanoTime() - nextProbe >= 0) {
+        double value;
+        while ((value = runProbe(master)) > probeThreshold) {
+          if (probeMaxPauseNanos != 0 && System.nanoTime() - pauseStart >= probeMaxPauseNanos) {
+            throw new SQLException(
+                "Throttle probe still above threshold after pausing " + TimeUnit.NANOSECONDS.toSeconds(probeMaxPauseNanos)
+                    + " seconds: " + value + " > " + probeThreshold
+            );
+          }
+          // Paused while still holding the lock, so all scans of the resource wait
+          TimeUnit.NANOSECONDS.sleep(probeIntervalNanos);
+        }
+        nextProbe = System.nanoTime() + probeIntervalNanos;
+      }
+    }
+  }
+
+  /**
+   * Runs the probe in its own connection, so the probe sees the current state of the master instead of the snapshot of
+   * the scan.
+   */
+  private double runProbe(DataSource master) throws SQLException {
+    try (
+        Connection conn = master.getConnection();
+        Statement stmt = conn.createStatement()
+        ) {
+      conn.setReadOnly(true);
+      try (ResultSet results = stmt.executeQuery(probe)) {
+        if (!results.next()) {
+          throw new NoRowException();
+        }
+        return results.getDouble(1);
+      }
+    } catch (Error | RuntimeException | SQLException e) {
+      ErrorPrinter.addSql(e, probe);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.meta.Table;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Replays the keys logged by trigger on the master.
+ *
+ * @see  ChangeSource#TRIGGER
+ * @see  JdbcResource#getCaptureSchema()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TriggerChangeSource implements ChangeSource {
+
+  private final JdbcResource resource;
+  private final String consumer;
+  private final String schema;
+  private final String name;
+
+  /**
+   * The ids of the log entries read, consumed once committed.
+   */
+  private final List<Long> ids = new ArrayList<>();
+
+  TriggerChangeSource(JdbcResourceSynchronizer synchronizer, String schema, String name) {
+    this.resource = synchronizer.getJdbcResource();
+    this.consumer = synchronizer.getSynchronizerId();
+    this.schema = schema;
+    this.name = name;
+  }
+
+  @Override
+  public boolean prepare(DataSource master) throws SQLException {
+    try (Connection conn = master.getConnection()) {
+      return ChangeCapture.install(conn, resource.getCaptureSchema(), consumer, schema, name);
+    }
+  }
+
+  /**
+   * Reads the log entries, which are consumed even when fully synchronized.
+   */
+  @Override
+  public Collection<List<Object>> readChanges(Connection conn, Table table, boolean fullSynchronize) throws SQLException {
+    Collection<List<Object>> keys = ChangeCapture.read(conn, resource.getCaptureSchema(), consumer, resource.getTablePlan(table), ids);
+    return fullSynchronize ? null : keys;
+  }
+
+  @Override
+  public void committed(DataSource master) throws SQLException {
+    if (!ids.isEmpty()) {
+      try (Connection conn = master.getConnection()) {
+        ChangeCapture.consume(conn, resource.getCaptureSchema(), ids);
+      }
+    }
+  }
+}
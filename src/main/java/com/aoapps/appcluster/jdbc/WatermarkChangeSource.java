@@ -0,0 +1,180 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import com.aoapps.dbc.DatabaseConnection;
+import com.aoapps.dbc.ExtraRowException;
+import com.aoapps.dbc.NoRowException;
+import com.aoapps.dbc.meta.Table;
+import com.aoapps.lang.util.ErrorPrinter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import javax.sql.DataSource;
+
+/**
+ * Selects the keys of the rows with a change-tracking column value at or after the watermark persisted by the previous
+ * run.  Rows at the watermark itself are selected again, so a row changed in the same instant as the previous run is
+ * not missed.  Deleted rows are not found, nor are rows committed with an earlier change column value than already
+ * seen, such as from clock skew; these are caught by full synchronizations.
+ *
+ * @see  ChangeSource#WATERMARK
+ * @see  JdbcResource#getFullSynchronizeSchedule()
+ *
+ * @author  AO Industries, Inc.
+ */
+final class WatermarkChangeSource implements ChangeSource {
+
+  private final JdbcResource resource;
+  private final String schemaTable;
+  private final Path watermarksFile;
+
+  private boolean read;
+  private int dataType;
+  private Object newWatermark;
+
+  WatermarkChangeSource(JdbcResourceSynchronizer synchronizer, String schema, String name) {
+    this.resource = synchronizer.getJdbcResource();
+    this.schemaTable = schema + '.' + name;
+    this.watermarksFile = synchronizer.getStateFile(resource, ".watermarks.properties");
+    if (watermarksFile == null) {
+      throw new IllegalStateException("stateDirectory required for change column of " + schemaTable);
+    }
+  }
+
+  /**
+   * Selects the maximum value of a change-tracking column.
+   *
+   * @return  the maximum value or {@code null} when the table is empty
+   */
+  private static Object selectMax(Connection conn, TablePlan plan, int changeIndex) throws SQLException {
+    String sql = plan.getSelectMaxSql(changeIndex);
+    try (Statement stmt = conn.createStatement(); ResultSet results = stmt.executeQuery(sql)) {
+      if (!results.next()) {
+        throw new NoRowException();
+      }
+      Object max = results.getObject(1);
+      if (results.next()) {
+        throw new ExtraRowException(results);
+      }
+      return max;
+    } catch (Error | RuntimeException | SQLException e) {
+      ErrorPrinter.addSql(e, sql);
+      throw e;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Collection<List<Object>> readChanges(Connection conn, Table table, boolean fullSynchronize) throws SQLException, IOException {
+    TablePlan plan = resource.getTablePlan(table);
+    String changeColumn = resource.getChangeColumn(schemaTable);
+    int changeIndex = plan.getColumnIndex(changeColumn);
+    if (changeIndex == -1) {
+      throw new SQLException("Change column not found in " + plan + ": " + changeColumn);
+    }
+    dataType = plan.getDataType(changeIndex);
+    read = true;
+    Object watermark = null;
+    if (!fullSynchronize) {
+      Properties watermarks = StateFiles.load(watermarksFile);
+      String value = watermarks == null ? null : watermarks.getProperty(schemaTable);
+      if (value != null) {
+        try {
+          watermark = StateFiles.decode(dataType, value);
+        } catch (IllegalArgumentException e) {
+          // Column type changed, fully synchronize and set a new watermark
+        }
+      }
+    }
+    if (watermark == null) {
+      // Selected before the scan, so any row changed during the scan is synchronized again by the next run
+      newWatermark = selectMax(conn, plan, changeIndex);
+      return null;
+    }
+    newWatermark = watermark;
+    final int numPkColumns = plan.getPrimaryKeyIndexes().length;
+    List<List<Object>> keys = new ArrayList<>();
+    try (
+        PreparedStatement pstmt = conn.prepareStatement(
+            plan.getSelectChangedKeysSql(changeIndex),
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.CLOSE_CURSORS_AT_COMMIT
+        )
+        ) {
+      try {
+        pstmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+        pstmt.setFetchSize(DatabaseConnection.FETCH_SIZE);
+        pstmt.setObject(1, watermark);
+        try (ResultSet results = pstmt.executeQuery()) {
+          while (results.next()) {
+            Object[] key = new Object[numPkColumns];
+            for (int i = 0; i < numPkColumns; i++) {
+              key[i] = results.getObject(i + 1);
+            }
+            keys.add(Collections.unmodifiableList(Arrays.asList(key)));
+            Object changed = results.getObject(numPkColumns + 1);
+            if (changed != null && ((Comparable<Object>) changed).compareTo(newWatermark) > 0) {
+              newWatermark = changed;
+            }
+          }
+        }
+      } catch (Error | RuntimeException | SQLException e) {
+        ErrorPrinter.addSql(e, pstmt);
+        throw e;
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Persists the new watermark.
+   */
+  @Override
+  public void committed(DataSource master) throws IOException {
+    if (read) {
+      Properties watermarks = StateFiles.load(watermarksFile);
+      if (watermarks == null) {
+        watermarks = new Properties();
+      }
+      if (newWatermark == null) {
+        watermarks.remove(schemaTable);
+      } else {
+        watermarks.setProperty(schemaTable, StateFiles.encode(dataType, newWatermark));
+      }
+      StateFiles.store(watermarks, watermarksFile, "Change column watermarks");
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.aoapps.dbc.meta.DatabaseMetaData;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Replays a change log in an embedded database, with the log entries written directly in place of the PostgreSQL
+ * trigger of {@link ChangeCapture}.
+ */
+public class ChangeCaptureLogTest {
+
+  private static final String CAPTURE_SCHEMA = "appcluster";
+
+  private Connection conn;
+  private TablePlan plan;
+
+  private static void execute(Connection conn, String ... sqls) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      for (String sql : sqls) {
+        stmt.executeUpdate(sql);
+      }
+    }
+  }
+
+  @Before
+  public void setUp() throws SQLException {
+    conn = DriverManager.getConnection("jdbc:h2:mem:");
+    execute(
+        conn,
+        "CREATE TABLE \"item\" (\"id\" INTEGER, \"at\" TIMESTAMP, \"value\" VARCHAR(20), PRIMARY KEY (\"id\", \"at\"))",
+        "CREATE SCHEMA \"" + CAPTURE_SCHEMA + "\"",
+        // The same columns as installed by the trigger function
+        "CREATE TABLE \"" + CAPTURE_SCHEMA + "\".change_log (\n"
+            + "  id bigserial PRIMARY KEY,\n"
+            + "  consumer VARCHAR NOT NULL,\n"
+            + "  table_name VARCHAR NOT NULL,\n"
+            + "  primary_key VARCHAR ARRAY NOT NULL\n"
+            + ")"
+    );
+    plan = new TablePlan(
+        new H2Dialect(),
+        new DatabaseMetaData(conn).getCatalog(conn.getCatalog()).getSchema("PUBLIC").getTable("item"),
+        Collections.emptySet(),
+        null,
+        Collections.emptySet(),
+        0,
+        HashFunction.MD5,
+        false,
+        new FetchSize(null, 0)
+    );
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    conn.close();
+  }
+
+  /**
+   * Logs a change, as the trigger does, with timestamps formatted through <code>jsonb</code>.
+   */
+  private void log(String consumer, int id, String at) throws SQLException {
+    execute(
+        conn,
+        "INSERT INTO \"" + CAPTURE_SCHEMA + "\".change_log (consumer, table_name, primary_key)"
+            + " VALUES ('" + consumer + "', 'PUBLIC.item', ARRAY['" + id + "', '" + at + "'])"
+    );
+  }
+
+  private Collection<List<Object>> read(String consumer, List<Long> ids) throws SQLException {
+    return ChangeCapture.read(conn, CAPTURE_SCHEMA, consumer, plan, ids);
+  }
+
+  private static List<Object> key(int id, String at) {
+    return Arrays.asList(id, Timestamp.valueOf(at));
+  }
+
+  @Test
+  public void testRead() throws SQLException {
+    log("a", 2, "2026-01-02T03:04:05");
+    log("a", 1, "2026-01-02T03:04:05.5");
+    log("b", 3, "2026-01-02T03:04:05");
+    log("a", 2, "2026-01-02T03:04:05");
+    List<Long> ids = new ArrayList<>();
+    // Distinct keys in the order first changed, decoded by the type of each primary key column
+    assertEquals(
+        Arrays.asList(key(2, "2026-01-02 03:04:05"), key(1, "2026-01-02 03:04:05.5")),
+        new ArrayList<>(read("a", ids))
+    );
+    assertEquals(Arrays.asList(1L, 2L, 4L), ids);
+  }
+
+  @Test
+  public void testConsume() throws SQLException {
+    log("a", 1, "2026-01-02T03:04:05");
+    log("b", 1, "2026-01-02T03:04:05");
+    List<Long> ids = new ArrayList<>();
+    assertEquals(1, read("a", ids).size());
+    // Logged after the log was read, so not consumed
+    log("a", 2, "2026-01-02T03:04:05");
+    ChangeCapture.consume(conn, CAPTURE_SCHEMA, ids);
+    assertEquals(Collections.singletonList(key(2, "2026-01-02 03:04:05")), new ArrayList<>(read("a", new ArrayList<>())));
+    // Each consumer has its own copy of the log
+    assertEquals(1, read("b", new ArrayList<>()).size());
+  }
+
+  @Test
+  public void testPrimaryKeyChanged() throws SQLException {
+    execute(
+        conn,
+        "INSERT INTO \"" + CAPTURE_SCHEMA + "\".change_log (consumer, table_name, primary_key) VALUES ('a', 'PUBLIC.item', ARRAY['1'])"
+    );
+    try {
+      read("a", new ArrayList<>());
+      fail("A logged key of a different size must not be replayed");
+    } catch (SQLException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("drop the trigger to reinstall"));
+    }
+  }
+}
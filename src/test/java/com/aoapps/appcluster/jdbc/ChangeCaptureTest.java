@@ -0,0 +1,197 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.aoapps.dbc.meta.DatabaseMetaData;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Captures changes by trigger in a PostgreSQL container.  Skipped when Docker is not available, while the replay of
+ * the change log is also covered by {@link ChangeCaptureLogTest} in an embedded database.
+ */
+public class ChangeCaptureTest {
+
+  private static final String CAPTURE_SCHEMA = "appcluster_capture";
+
+  private static PostgreSQLContainer<?> postgres;
+
+  private Connection conn;
+  private TablePlan plan;
+
+  @BeforeClass
+  public static void setUpClass() {
+    boolean dockerAvailable = DockerClientFactory.instance().isDockerAvailable();
+    if (!dockerAvailable) {
+      System.err.println(ChangeCaptureTest.class.getName() + ": Docker is not available, skipping the PostgreSQL trigger tests");
+    }
+    assumeTrue("Docker is not available", dockerAvailable);
+    postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+    postgres.start();
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    if (postgres != null) {
+      postgres.stop();
+    }
+  }
+
+  private static void execute(Connection conn, String ... sqls) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      for (String sql : sqls) {
+        stmt.executeUpdate(sql);
+      }
+    }
+  }
+
+  @Before
+  public void setUp() throws SQLException {
+    conn = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    execute(
+        conn,
+        "DROP SCHEMA IF EXISTS \"" + CAPTURE_SCHEMA + "\" CASCADE",
+        "DROP TABLE IF EXISTS item",
+        "CREATE TABLE item (id integer PRIMARY KEY, value text)"
+    );
+    plan = new TablePlan(
+        new PostgreSqlDialect(),
+        new DatabaseMetaData(conn).getCatalog(conn.getCatalog()).getSchema("public").getTable("item"),
+        Collections.emptySet(),
+        null,
+        Collections.emptySet(),
+        0,
+        HashFunction.MD5,
+        false,
+        new FetchSize(null, 0)
+    );
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    if (conn != null) {
+      conn.close();
+    }
+  }
+
+  private boolean install(String consumer) throws SQLException {
+    return ChangeCapture.install(conn, CAPTURE_SCHEMA, consumer, "public", "item");
+  }
+
+  private Collection<List<Object>> read(String consumer, List<Long> ids) throws SQLException {
+    return ChangeCapture.read(conn, CAPTURE_SCHEMA, consumer, plan, ids);
+  }
+
+  private static List<List<Object>> keys(int ... ids) {
+    List<List<Object>> keys = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      keys.add(Collections.singletonList(id));
+    }
+    return keys;
+  }
+
+  @Test
+  public void testInstall() throws SQLException {
+    execute(conn, "INSERT INTO item VALUES (1, 'one')");
+    assertTrue("trigger installed", install("a"));
+    assertFalse("already installed", install("a"));
+    assertTrue("new consumer registered", install("b"));
+    // Only changes after installation are captured
+    assertEquals(keys(), new ArrayList<>(read("a", new ArrayList<>())));
+    execute(
+        conn,
+        "INSERT INTO item VALUES (2, 'two')",
+        "UPDATE item SET value = 'uno' WHERE id = 1",
+        "UPDATE item SET id = 3 WHERE id = 2",
+        "UPDATE item SET value = 'eins' WHERE id = 1",
+        "DELETE FROM item WHERE id = 3"
+    );
+    List<Long> ids = new ArrayList<>();
+    // Distinct keys in the order first changed, with both the old and new keys of a changed key
+    assertEquals(keys(2, 1, 3), new ArrayList<>(read("a", ids)));
+    assertEquals(6, ids.size());
+  }
+
+  @Test
+  public void testDisable() throws SQLException {
+    install("a");
+    conn.setAutoCommit(false);
+    ChangeCapture.disable(conn);
+    execute(conn, "INSERT INTO item VALUES (1, 'one')");
+    conn.commit();
+    assertEquals(keys(), new ArrayList<>(read("a", new ArrayList<>())));
+    // The setting ends with the transaction
+    execute(conn, "INSERT INTO item VALUES (2, 'two')");
+    conn.commit();
+    assertEquals(keys(2), new ArrayList<>(read("a", new ArrayList<>())));
+    conn.setAutoCommit(true);
+  }
+
+  @Test
+  public void testConsume() throws SQLException {
+    install("a");
+    install("b");
+    execute(conn, "INSERT INTO item VALUES (1, 'one'), (2, 'two')");
+    List<Long> ids = new ArrayList<>();
+    assertEquals(keys(1, 2), new ArrayList<>(read("a", ids)));
+    // Changed after the log was read, so not consumed
+    execute(conn, "INSERT INTO item VALUES (3, 'three')");
+    ChangeCapture.consume(conn, CAPTURE_SCHEMA, ids);
+    assertEquals(keys(3), new ArrayList<>(read("a", new ArrayList<>())));
+    // Each consumer has its own copy of the log
+    assertEquals(keys(1, 2, 3), new ArrayList<>(read("b", new ArrayList<>())));
+  }
+
+  @Test
+  public void testNotConsumed() throws SQLException {
+    install("a");
+    execute(conn, "INSERT INTO item VALUES (1, 'one')");
+    List<Long> ids = new ArrayList<>();
+    assertEquals(keys(1), new ArrayList<>(read("a", ids)));
+    // A failed synchronization does not consume, so the next presents the same changes again
+    List<Long> retryIds = new ArrayList<>();
+    assertEquals(keys(1), new ArrayList<>(read("a", retryIds)));
+    assertEquals(ids, retryIds);
+    ChangeCapture.consume(conn, CAPTURE_SCHEMA, retryIds);
+    assertEquals(keys(), new ArrayList<>(read("a", new ArrayList<>())));
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.junit.Test;
+
+/**
+ * Adjusts the fetch size of a scan from the time of the fetches alone.
+ */
+public class FetchSizeTest {
+
+  /**
+   * A result set of the given number of rows, where each fetch of a new batch takes the given time.
+   */
+  private static final class Results {
+
+    private final int total;
+    private final long fetchMillis;
+    private int fetchSize = 10;
+    private int row;
+    private int batchEnd;
+
+    private Results(int total, long fetchMillis) {
+      this.total = total;
+      this.fetchMillis = fetchMillis;
+      this.batchEnd = fetchSize;
+    }
+
+    private ResultSet newResultSet() {
+      return (ResultSet) Proxy.newProxyInstance(
+          ResultSet.class.getClassLoader(),
+          new Class<?>[]{ResultSet.class},
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "getFetchSize":
+                return fetchSize;
+              case "setFetchSize":
+                fetchSize = (Integer) args[0];
+                return null;
+              case "next":
+                if (row == total) {
+                  return false;
+                }
+                if (row == batchEnd) {
+                  Thread.sleep(fetchMillis);
+                  batchEnd += fetchSize;
+                }
+                row++;
+                return true;
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          }
+      );
+    }
+  }
+
+  private static void scan(Results results, ResultSet resultSet, long processMillis) throws InterruptedException, SQLException {
+    FetchSize.Tracker tracker = new FetchSize(null, 1000000).track(resultSet);
+    for (int i = 0; i < results.total; i++) {
+      assertTrue(tracker.next());
+      tracker.read(100);
+      Thread.sleep(processMillis);
+    }
+    assertFalse(tracker.next());
+  }
+
+  @Test
+  public void testSlowProcessing() throws InterruptedException, SQLException {
+    Results results = new Results(40, 0);
+    // Slow to process each batch, but fast to fetch
+    scan(results, results.newResultSet(), 15);
+    assertEquals(40, results.fetchSize);
+  }
+
+  @Test
+  public void testSlowFetch() throws InterruptedException, SQLException {
+    Results results = new Results(40, 150);
+    scan(results, results.newResultSet(), 0);
+    assertEquals(10, results.fetchSize);
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.aoapps.dbc.meta.DatabaseMetaData;
+import com.aoapps.dbc.meta.Table;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the SQL of {@link H2Dialect} against an embedded database.
+ */
+public class H2DialectTest {
+
+  private final H2Dialect dialect = new H2Dialect();
+
+  private Connection conn;
+
+  @Before
+  public void setUp() throws SQLException {
+    conn = DriverManager.getConnection("jdbc:h2:mem:");
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE \"item\" (\"id\" VARCHAR(20) PRIMARY KEY, \"a\" VARCHAR(20), \"b\" VARBINARY(20))");
+      stmt.executeUpdate(
+          "INSERT INTO \"item\" VALUES"
+              + " ('z', 'hello', X'00ff'),"
+              + " ('é', NULL, NULL),"
+              + " ('A', '', X''),"
+              + " ('a', 'x', NULL),"
+              + " ('b', NULL, X'78')"
+      );
+    }
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    conn.close();
+  }
+
+  private static String hex(String algorithm, byte[] value) throws NoSuchAlgorithmException {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : MessageDigest.getInstance(algorithm).digest(value)) {
+      hex.append(String.format("%02x", b & 0xff));
+    }
+    return hex.toString();
+  }
+
+  private List<Object> query(String sql, Object ... params) throws SQLException {
+    List<Object> values = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      for (int i = 0; i < params.length; i++) {
+        pstmt.setObject(i + 1, params[i]);
+      }
+      try (ResultSet results = pstmt.executeQuery()) {
+        while (results.next()) {
+          values.add(results.getObject(1));
+        }
+      }
+    }
+    return values;
+  }
+
+  @Test
+  public void testDetect() throws SQLException {
+    assertTrue(JdbcDialect.detect(conn) instanceof H2Dialect);
+  }
+
+  @Test
+  public void testOrderIsUnsignedUtf8() throws SQLException {
+    String id = dialect.quoteIdentifier("id");
+    List<Object> expected = Arrays.asList("A", "a", "b", "z", "é");
+    assertEquals(
+        expected,
+        query("SELECT " + id + " FROM \"item\" ORDER BY " + dialect.getOrderExpression(id, Types.VARCHAR))
+    );
+    assertEquals(
+        expected.subList(3, 5),
+        query(
+            "SELECT " + id + " FROM \"item\" WHERE " + dialect.getOrderExpression(id, Types.VARCHAR) + " > "
+                + dialect.getOrderParameter(Types.VARCHAR) + " ORDER BY " + dialect.getOrderExpression(id, Types.VARCHAR),
+            "b"
+        )
+    );
+  }
+
+  @Test
+  public void testHashMatchesDigest() throws SQLException, NoSuchAlgorithmException {
+    String a = dialect.quoteIdentifier("a");
+    String b = dialect.quoteIdentifier("b");
+    String where = " FROM \"item\" WHERE \"id\" = 'z'";
+    assertEquals(
+        Collections.singletonList(hex("MD5", "hello".getBytes(StandardCharsets.UTF_8))),
+        query("SELECT " + dialect.hash(HashFunction.MD5, a, false) + where)
+    );
+    assertEquals(
+        Collections.singletonList(hex("SHA-256", "hello".getBytes(StandardCharsets.UTF_8))),
+        query("SELECT " + dialect.hash(HashFunction.SHA256, a, false) + where)
+    );
+    assertEquals(
+        Collections.singletonList(hex("MD5", new byte[]{0, (byte) 0xff})),
+        query("SELECT " + dialect.hash(HashFunction.MD5, b, true) + where)
+    );
+    Object extended = query("SELECT " + dialect.hash(HashFunction.HASHTEXTEXTENDED, a, false) + where).get(0);
+    assertTrue(extended instanceof Long);
+    for (HashFunction function : HashFunction.values()) {
+      assertNull(query("SELECT " + dialect.hash(function, a, false) + " FROM \"item\" WHERE \"id\" = 'é'").get(0));
+    }
+  }
+
+  @Test
+  public void testHashCombinedKeepsNullsDistinct() throws SQLException {
+    String sql = "SELECT " + dialect.hashCombined(
+        HashFunction.SHA256,
+        Arrays.asList(dialect.quoteIdentifier("a"), dialect.quoteIdentifier("b")),
+        new boolean[]{false, true}
+    ) + " FROM \"item\" ORDER BY \"id\"";
+    List<Object> hashes = query(sql);
+    assertEquals(5, hashes.size());
+    assertEquals(5, hashes.stream().distinct().count());
+    // ('x', NULL) and (NULL, 'x') in hexadecimal are distinct
+    assertNotEquals(hashes.get(1), hashes.get(2));
+    assertEquals(hashes, query(sql));
+  }
+
+  @Test
+  public void testLimit() throws SQLException {
+    assertEquals(
+        Arrays.asList("A", "a"),
+        query(dialect.limit("SELECT \"id\" FROM \"item\" ORDER BY \"id\""), 2)
+    );
+  }
+
+  private TablePlan newPlan() throws SQLException {
+    Table table = new DatabaseMetaData(conn).getCatalog(conn.getCatalog()).getSchema("PUBLIC").getTable("item");
+    return new TablePlan(
+        dialect,
+        table,
+        Collections.emptySet(),
+        null,
+        Collections.emptySet(),
+        10,
+        HashFunction.MD5,
+        true,
+        new FetchSize(null, 0)
+    );
+  }
+
+  @Test
+  public void testTablePlan() throws SQLException {
+    TablePlan plan = newPlan();
+    assertTrue(plan.isHashed(plan.getColumnIndex("a")));
+    assertTrue(plan.isHashed(plan.getColumnIndex("b")));
+    assertFalse(plan.isHashed(plan.getColumnIndex("id")));
+    List<Object> ids = new ArrayList<>();
+    try (
+        Statement stmt = conn.createStatement();
+        ResultSet results = stmt.executeQuery(plan.getSelectSql())
+        ) {
+      while (results.next()) {
+        ids.add(results.getObject(plan.getColumnIndex("id") + 1));
+        // Combined into the first hashed column
+        assertNull(results.getObject(plan.getColumnIndex("b") + 1));
+      }
+    }
+    assertEquals(Arrays.asList("A", "a", "b", "z", "é"), ids);
+  }
+
+  private List<Object> sampleKeys(TablePlan plan, double percent) throws SQLException {
+    List<Object> ids = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(plan.getSampleKeysSql())) {
+      pstmt.setDouble(1, percent);
+      try (ResultSet results = pstmt.executeQuery()) {
+        while (results.next()) {
+          ids.add(results.getObject(1));
+        }
+      }
+    }
+    Collections.sort(ids, (id1, id2) -> ((String) id1).compareTo((String) id2));
+    return ids;
+  }
+
+  private List<Object> sample(TablePlan plan, String start, int maxRows) throws SQLException {
+    List<Object> ids = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(plan.getSampleSql())) {
+      pstmt.setString(1, start);
+      pstmt.setInt(2, maxRows);
+      try (ResultSet results = pstmt.executeQuery()) {
+        while (results.next()) {
+          ids.add(results.getObject(plan.getColumnIndex("id") + 1));
+        }
+      }
+    }
+    return ids;
+  }
+
+  @Test
+  public void testSampleKeys() throws SQLException {
+    TablePlan plan = newPlan();
+    assertEquals(Arrays.asList("A", "a", "b", "z", "é"), sampleKeys(plan, 100));
+    assertTrue(sampleKeys(plan, 0).isEmpty());
+  }
+
+  @Test
+  public void testSampleSeek() throws SQLException {
+    TablePlan plan = newPlan();
+    // Starts at the given key, in the same order as the merge
+    assertEquals(Arrays.asList("a", "b"), sample(plan, "a", 2));
+    assertEquals(Arrays.asList("b", "z", "é"), sample(plan, "az", 10));
+    assertTrue(sample(plan, "ê", 10).isEmpty());
+  }
+
+  @Test
+  public void testDeleteRows() throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(dialect.deleteRows("\"item\"", Collections.singletonList("\"id\""), 2))) {
+      pstmt.setString(1, "a");
+      pstmt.setString(2, "z");
+      assertEquals(2, pstmt.executeUpdate());
+    }
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE \"pair\" (\"x\" INTEGER, \"y\" INTEGER, PRIMARY KEY (\"x\", \"y\"))");
+      stmt.executeUpdate("INSERT INTO \"pair\" VALUES (1, 1), (1, 2), (2, 1)");
+    }
+    try (PreparedStatement pstmt = conn.prepareStatement(dialect.deleteRows("\"pair\"", Arrays.asList("\"x\"", "\"y\""), 2))) {
+      pstmt.setInt(1, 1);
+      pstmt.setInt(2, 2);
+      pstmt.setInt(3, 2);
+      pstmt.setInt(4, 1);
+      assertEquals(2, pstmt.executeUpdate());
+    }
+    try (
+        Statement stmt = conn.createStatement();
+        ResultSet results = stmt.executeQuery("SELECT \"x\", \"y\" FROM \"pair\"")
+        ) {
+      assertTrue(results.next());
+      assertEquals(1, results.getInt(1));
+      assertEquals(1, results.getInt(2));
+      assertFalse(results.next());
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * ao-appcluster-jdbc - Application-level clustering tools for JDBC-level database replication.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-appcluster-jdbc.
+ *
+ * ao-appcluster-jdbc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-appcluster-jdbc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-appcluster-jdbc.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.appcluster.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.aoapps.appcluster.ResourceSynchronizationMode;
+import com.aoapps.dbc.meta.DatabaseMetaData;
+import com.aoapps.dbc.meta.Table;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Interrupts a resumable synchronization between two embedded databases after its backward pass, then resumes it.
+ */
+public class RunJournalTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Connection master;
+  private Connection slave;
+  private Table table;
+  private TablePlan plan;
+  private Path file;
+
+  private static void execute(Connection conn, String ... sqls) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      for (String sql : sqls) {
+        stmt.executeUpdate(sql);
+      }
+    }
+  }
+
+  private static Map<Integer, String> getRows(Connection conn) throws SQLException {
+    Map<Integer, String> rows = new TreeMap<>();
+    try (
+        Statement stmt = conn.createStatement();
+        ResultSet results = stmt.executeQuery("SELECT \"id\", \"value\" FROM \"item\"")
+        ) {
+      while (results.next()) {
+        rows.put(results.getInt(1), results.getString(2));
+      }
+    }
+    return rows;
+  }
+
+  @Before
+  public void setUp() throws IOException, SQLException {
+    master = DriverManager.getConnection("jdbc:h2:mem:");
+    slave = DriverManager.getConnection("jdbc:h2:mem:");
+    for (Connection conn : new Connection[]{master, slave}) {
+      execute(conn, "CREATE TABLE \"item\" (\"id\" INTEGER PRIMARY KEY, \"value\" VARCHAR(20))");
+    }
+    execute(master, "INSERT INTO \"item\" VALUES (1, 'one'), (2, 'two'), (3, 'three'), (4, 'four'), (5, 'five')");
+    execute(slave, "INSERT INTO \"item\" VALUES (1, 'one'), (2, 'old'), (6, 'extra')");
+    master.setAutoCommit(false);
+    slave.setAutoCommit(false);
+    table = new DatabaseMetaData(master).getCatalog(master.getCatalog()).getSchema("PUBLIC").getTable("item");
+    plan = new TablePlan(
+        new H2Dialect(),
+        table,
+        Collections.emptySet(),
+        null,
+        Collections.emptySet(),
+        0,
+        HashFunction.MD5,
+        false,
+        new FetchSize(null, 0)
+    );
+    file = folder.getRoot().toPath().resolve("journal.properties");
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    master.close();
+    slave.close();
+  }
+
+  private DifferenceReporter.TableReport newReport(StringBuilder out) {
+    return new DifferenceReporter(null, ResourceSynchronizationMode.SYNCHRONIZE, Collections.emptyList(), null, 0, null, null)
+        .forTable(plan, out);
+  }
+
+  @Test
+  public void testResume() throws IOException, SQLException {
+    List<TablePlan> plans = Collections.singletonList(plan);
+    RunJournal journal = RunJournal.open(file, plans, true, 0);
+    assertFalse(journal.isResumed());
+    Map<Table, Long> matches = new HashMap<>();
+    Map<Table, Long> modifieds = new HashMap<>();
+    Map<Table, Long> missings = new HashMap<>();
+    Map<Table, Long> deletes = new HashMap<>();
+    StringBuilder out = new StringBuilder();
+    JdbcResourceSynchronizer.deleteExtraRows(master, slave, null, 0, 0, table, plan, newReport(out), matches, modifieds, missings, deletes);
+    slave.commit();
+    journal.deleted(table);
+    assertEquals(Long.valueOf(1), deletes.get(table));
+
+    // Interrupted before the forward pass, while the master continues to change
+    master.commit();
+    execute(master, "UPDATE \"item\" SET \"value\" = 'new' WHERE \"id\" = 1", "DELETE FROM \"item\" WHERE \"id\" = 4", "INSERT INTO \"item\" VALUES (7, 'seven')");
+    master.commit();
+
+    journal = RunJournal.open(file, plans, true, 0);
+    assertTrue(journal.isResumed());
+    assertTrue(journal.isDeleted(table));
+    assertFalse(journal.isCompleted(table));
+    assertEquals(1, journal.getCompletedCount());
+
+    // The counts of the interrupted run no longer match the master
+    Map<Table, Long> updates = new HashMap<>();
+    Map<Table, Long> inserts = new HashMap<>();
+    try {
+      JdbcResourceSynchronizer.updateAndInsertRows(master, slave, null, 0, true, table, plan, newReport(out), matches, modifieds, missings, updates, inserts);
+      fail("Second pass of the same snapshot must find the same differences");
+    } catch (SQLException e) {
+      // Expected
+    }
+    slave.rollback();
+
+    // Resumed tables are rescanned
+    JdbcResourceSynchronizer.updateAndInsertRows(master, slave, null, 0, false, table, plan, newReport(out), new HashMap<>(), new HashMap<>(), new HashMap<>(), updates, inserts);
+    slave.commit();
+    journal.completed(table);
+    assertEquals(getRows(master), getRows(slave));
+    assertEquals(Long.valueOf(2), updates.get(table));
+    assertEquals(Long.valueOf(3), inserts.get(table));
+
+    assertTrue(RunJournal.open(file, plans, true, 0).isCompleted(table));
+    journal.delete();
+    assertFalse(RunJournal.open(file, plans, true, 0).isResumed());
+  }
+
+  @Test
+  public void testNotResumedWhenChanged() throws IOException, SQLException {
+    List<TablePlan> plans = Collections.singletonList(plan);
+    RunJournal journal = RunJournal.open(file, plans, true, 0);
+    journal.deleted(table);
+    assertTrue(RunJournal.open(file, plans, true, 0).isResumed());
+    assertFalse(RunJournal.open(file, plans, false, 0).isResumed());
+    assertFalse(RunJournal.open(file, Collections.emptyList(), true, 0).isResumed());
+  }
+
+  @Test
+  public void testNotResumedWhenExpired() throws IOException, InterruptedException {
+    List<TablePlan> plans = Collections.singletonList(plan);
+    RunJournal journal = RunJournal.open(file, plans, true, 0);
+    journal.deleted(table);
+    Thread.sleep(10);
+    assertTrue(RunJournal.open(file, plans, true, 60000).isResumed());
+    assertFalse(RunJournal.open(file, plans, true, 1).isResumed());
+  }
+}